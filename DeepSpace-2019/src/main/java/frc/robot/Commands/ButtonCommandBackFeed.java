@@ -7,11 +7,10 @@
 
 package frc.robot.Commands;
 
-import edu.wpi.first.wpilibj.command.Command;
 import frc.robot.Robot;
-import frc.robot.Util.Util;
+import frc.robot.Enumeration.Tunable;
 
-public class ButtonCommandBackFeed extends Command {
+public class ButtonCommandBackFeed extends ProfiledCommand {
   public ButtonCommandBackFeed() {
     requires(Robot.SUB_PRELOADER);
     requires(Robot.SUB_LAUNCHER);
@@ -24,14 +23,14 @@ public class ButtonCommandBackFeed extends Command {
 
   // Called repeatedly when this Command is scheduled to run
   @Override
-  protected void execute() {
-    Robot.SUB_PRELOADER.eat(-1 * Util.getAndSetDouble("Eat Speed", 1));
-    Robot.SUB_LAUNCHER.spit(-1 * Util.getAndSetDouble("Spit Speed", 1));
+  protected void timedExecute() {
+    Robot.SUB_PRELOADER.eat(-1 * Robot.CONFIG.get(Tunable.EAT_SPEED));
+    Robot.SUB_LAUNCHER.spit(-1 * Robot.CONFIG.get(Tunable.SPIT_SPEED));
   }
 
   // Make this return true when this Command no longer needs to run execute()
   @Override
-  protected boolean isFinished() {
+  protected boolean timedIsFinished() {
     return false;
   }
 
@@ -7,12 +7,11 @@
 
 package frc.robot.Commands;
 
-import edu.wpi.first.wpilibj.command.Command;
 import frc.robot.Robot;
 import frc.robot.Enumeration.MastPosition;
 import frc.robot.Util.Util;
 
-public class ButtonCommandChangeMastPosition extends Command {
+public class ButtonCommandChangeMastPosition extends ProfiledCommand {
 
   Boolean isFinished;
 
@@ -34,7 +33,7 @@ public class ButtonCommandChangeMastPosition extends Command {
 
   // Called repeatedly when this Command is scheduled to run
   @Override
-  protected void execute() {
+  protected void timedExecute() {
     if (!isFinished) {
       MastPosition position = MastPosition.SOMEWHERE;
       switch (intPosition) {
@@ -64,7 +63,7 @@ public class ButtonCommandChangeMastPosition extends Command {
 
   // Make this return true when this Command no longer needs to run execute()
   @Override
-  protected boolean isFinished() {
+  protected boolean timedIsFinished() {
     return isFinished;
   }
 
@@ -7,11 +7,10 @@
 
 package frc.robot.Commands;
 
-import edu.wpi.first.wpilibj.command.Command;
 import frc.robot.Robot;
-import frc.robot.Util.Util;
+import frc.robot.Enumeration.Tunable;
 
-public class ButtonCommandEat extends Command {
+public class ButtonCommandEat extends ProfiledCommand {
   public ButtonCommandEat() {
     requires(Robot.SUB_PRELOADER);
   }
@@ -23,13 +22,13 @@ public class ButtonCommandEat extends Command {
 
   // Called repeatedly when this Command is scheduled to run
   @Override
-  protected void execute() {
-    Robot.SUB_PRELOADER.eat(Util.getAndSetDouble("Eat Speed", 1));
+  protected void timedExecute() {
+    Robot.SUB_PRELOADER.eat(Robot.CONFIG.get(Tunable.EAT_SPEED));
   }
 
   // Make this return true when this Command no longer needs to run execute()
   @Override
-  protected boolean isFinished() {
+  protected boolean timedIsFinished() {
     return false;
   }
 
@@ -7,12 +7,11 @@
 
 package frc.robot.Commands;
 
-import edu.wpi.first.wpilibj.DriverStation;
-import edu.wpi.first.wpilibj.command.Command;
 import frc.robot.Constants;
 import frc.robot.Robot;
+import frc.robot.Enumeration.EventType;
 
-public class ButtonCommandFlipCamera extends Command {
+public class ButtonCommandFlipCamera extends ProfiledCommand {
   public ButtonCommandFlipCamera() {
     // Use requires() here to declare subsystem dependencies
     // eg. requires(chassis);
@@ -22,17 +21,17 @@ public class ButtonCommandFlipCamera extends Command {
   @Override
   protected void initialize() {
     Robot.VISION.setCamID(Constants.BCAM_ID);
-    DriverStation.reportWarning("Flipping to camera B", false);
+    Robot.MAIN_EVENTS.log(EventType.CAMERA, 1);
   }
 
   // Called repeatedly when this Command is scheduled to run
   @Override
-  protected void execute() {
+  protected void timedExecute() {
   }
 
   // Make this return true when this Command no longer needs to run execute()
   @Override
-  protected boolean isFinished() {
+  protected boolean timedIsFinished() {
     return false;
   }
 
@@ -46,6 +45,6 @@ public class ButtonCommandFlipCamera extends Command {
   @Override
   protected void interrupted() {
     Robot.VISION.setCamID(Constants.ACAM_ID);
-    DriverStation.reportWarning("Flipping to camera A", false);
+    Robot.MAIN_EVENTS.log(EventType.CAMERA, 0);
   }
 }
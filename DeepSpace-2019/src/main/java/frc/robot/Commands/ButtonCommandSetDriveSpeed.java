@@ -9,14 +9,18 @@ package frc.robot.Commands;
 
 import edu.wpi.first.wpilibj.command.Command;
 import edu.wpi.first.wpilibj.command.InstantCommand;
-import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
 import frc.robot.Robot;
 import frc.robot.Enumeration.DriveScheme;
 import frc.robot.Enumeration.DriveSpeed;
+import frc.robot.Util.Dashboard;
+import frc.robot.Util.DashboardEntry;
 import frc.robot.Util.Util;
 
 public class ButtonCommandSetDriveSpeed extends InstantCommand {
 
+  private static final DashboardEntry LOW_SPEED  = Dashboard.getEntry("Low Speed");
+  private static final DashboardEntry HIGH_SPEED = Dashboard.getEntry("High Speed");
+
   private DriveSpeed speed;
 
   public ButtonCommandSetDriveSpeed(DriveSpeed speed) {
@@ -29,13 +33,13 @@ public class ButtonCommandSetDriveSpeed extends InstantCommand {
     if (Robot.controlScheme == DriveScheme.RL_HILO) {
       switch (speed) {
         case LOW:
-          SmartDashboard.putBoolean("Low Speed", true);
-          SmartDashboard.putBoolean("High Speed", false);
+          LOW_SPEED.setBoolean(true);
+          HIGH_SPEED.setBoolean(false);
           Robot.SUB_DRIVE.setDriveSpeed(DriveSpeed.LOW);
           break;
         case HIGH:
-          SmartDashboard.putBoolean("Low Speed", false);
-          SmartDashboard.putBoolean("High Speed", true);
+          LOW_SPEED.setBoolean(false);
+          HIGH_SPEED.setBoolean(true);
           Robot.SUB_DRIVE.setDriveSpeed(DriveSpeed.HIGH);
           break;
       }
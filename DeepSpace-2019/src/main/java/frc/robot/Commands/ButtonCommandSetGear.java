@@ -7,12 +7,11 @@
 
 package frc.robot.Commands;
 
-import edu.wpi.first.wpilibj.command.Command;
 import frc.robot.OI;
 import frc.robot.Robot;
 import frc.robot.Enumeration.DriveScheme;
 
-public class ButtonCommandSetGear extends Command {
+public class ButtonCommandSetGear extends ProfiledCommand {
 
   private Boolean isFinished;
   private Boolean schemeDependent;
@@ -36,7 +35,7 @@ public class ButtonCommandSetGear extends Command {
 
   // Called repeatedly when this Command is scheduled to run
   @Override
-  protected void execute() {
+  protected void timedExecute() {
     if ((Robot.controlScheme == DriveScheme.RL_GENUINE && schemeDependent) || !schemeDependent) {
       if (gear == 1) {
         Robot.SUB_SHIFTER.downShift(); } 
@@ -48,7 +47,7 @@ public class ButtonCommandSetGear extends Command {
 
   // Make this return true when this Command no longer needs to run execute()
   @Override
-  protected boolean isFinished() {
+  protected boolean timedIsFinished() {
     return isFinished;
   }
 
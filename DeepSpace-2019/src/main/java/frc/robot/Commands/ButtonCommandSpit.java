@@ -7,11 +7,10 @@
 
 package frc.robot.Commands;
 
-import edu.wpi.first.wpilibj.command.Command;
 import frc.robot.Robot;
-import frc.robot.Util.Util;
+import frc.robot.Enumeration.Tunable;
 
-public class ButtonCommandSpit extends Command {
+public class ButtonCommandSpit extends ProfiledCommand {
   public ButtonCommandSpit() {
     requires(Robot.SUB_LAUNCHER);
   }
@@ -23,13 +22,13 @@ public class ButtonCommandSpit extends Command {
 
   // Called repeatedly when this Command is scheduled to run
   @Override
-  protected void execute() {
-    Robot.SUB_LAUNCHER.spit(Util.getAndSetDouble("Spit Speed", 1));
+  protected void timedExecute() {
+    Robot.SUB_LAUNCHER.spit(Robot.CONFIG.get(Tunable.SPIT_SPEED));
   }
 
   // Make this return true when this Command no longer needs to run execute()
   @Override
-  protected boolean isFinished() {
+  protected boolean timedIsFinished() {
     return false;
   }
 
@@ -7,10 +7,9 @@
 
 package frc.robot.Commands;
 
-import edu.wpi.first.wpilibj.command.Command;
 import frc.robot.Robot;
 
-public class ButtonCommandToggleIntake extends Command {
+public class ButtonCommandToggleIntake extends ProfiledCommand {
 
   Boolean isFinished;
 
@@ -26,14 +25,14 @@ public class ButtonCommandToggleIntake extends Command {
 
   // Called repeatedly when this Command is scheduled to run
   @Override
-  protected void execute() {
+  protected void timedExecute() {
     Robot.SUB_PRELOADER.toggleExtender();
     isFinished = true;
   }
 
   // Make this return true when this Command no longer needs to run execute()
   @Override
-  protected boolean isFinished() {
+  protected boolean timedIsFinished() {
     return isFinished;
   }
 
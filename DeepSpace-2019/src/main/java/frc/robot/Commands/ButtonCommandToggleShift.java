@@ -7,11 +7,10 @@
 
 package frc.robot.Commands;
 
-import edu.wpi.first.wpilibj.command.Command;
 import frc.robot.OI;
 import frc.robot.Robot;
 
-public class ButtonCommandToggleShift extends Command {
+public class ButtonCommandToggleShift extends ProfiledCommand {
   
   private Boolean isFinished;
 
@@ -31,14 +30,14 @@ public class ButtonCommandToggleShift extends Command {
 
   // Called repeatedly when this Command is scheduled to run
   @Override
-  protected void execute() {
+  protected void timedExecute() {
     Robot.SUB_SHIFTER.toggleShift();
     isFinished = true;
   }
 
   // Make this return true when this Command no longer needs to run execute()
   @Override
-  protected boolean isFinished() {
+  protected boolean timedIsFinished() {
     return isFinished;
   }
 
@@ -7,17 +7,21 @@
 
 package frc.robot.Commands;
 
-import edu.wpi.first.wpilibj.DriverStation;
-import edu.wpi.first.wpilibj.command.Command;
-import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
 import frc.robot.Constants;
 import frc.robot.OI;
 import frc.robot.Robot;
+import frc.robot.Enumeration.Tunable;
+import frc.robot.Util.Dashboard;
+import frc.robot.Util.DashboardEntry;
 import frc.robot.Util.MiniPID;
-import frc.robot.Util.Util;
+import frc.robot.Util.TargetEstimate;
 import frc.robot.Util.Xbox;
 
-public class CyborgCommandAlign extends Command {
+public class CyborgCommandAlign extends ProfiledCommand {
+
+  private static final DashboardEntry ALIGNING = Dashboard.getEntry("Aligning");
+  private static final DashboardEntry CAN_SEE  = Dashboard.getEntry("canSee");
+  private static final DashboardEntry IN_RANGE = Dashboard.getEntry("inRange");
 
   private static MiniPID turning;
 
@@ -28,38 +32,43 @@ public class CyborgCommandAlign extends Command {
   private static double idleSpeed;
   private static double loopOutput;
 
+  private static final TargetEstimate target = new TargetEstimate(); // filled once per loop
+
   public CyborgCommandAlign() {
     requires(Robot.SUB_DRIVE);
-    SmartDashboard.putBoolean("Aligning", false);
+    ALIGNING.setBoolean(false);
   }
 
   // Called just before this Command runs the first time
   @Override
   protected void initialize() {
-    turning = new MiniPID(Util.getAndSetDouble("Docking kP", Constants.BACKUP_DOCKING_kP),
-                          Util.getAndSetDouble("Docking kI", Constants.BACKUP_DOCKING_kI),
-                          Util.getAndSetDouble("Docking kD", Constants.BACKUP_DOCKING_kD));
-    idleSpeed = Util.getAndSetDouble("Docking Speed", Constants.BACKUP_DOCKING_SPEED);
+    turning = new MiniPID(Robot.CONFIG.get(Tunable.DOCKING_KP),
+                          Robot.CONFIG.get(Tunable.DOCKING_KI),
+                          Robot.CONFIG.get(Tunable.DOCKING_KD));
+    idleSpeed = Robot.CONFIG.get(Tunable.DOCKING_SPEED);
     turning.setOutputLimits(-1 * idleSpeed, idleSpeed);
     turning.setSetpoint(0);
+    Robot.SUB_RECEIVER.resetTargetLock();
 
-    // isFinished = Robot.SUB_RECEIVER.getLastKnownData()[3] == -1;
     isFinished = false;
-    SmartDashboard.putBoolean("Aligning", true);
+    ALIGNING.setBoolean(true);
   }
 
   // Called repeatedly when this Command is scheduled to run
   @Override
-  protected void execute() {
-    loopOutput = turning.getOutput(Robot.SUB_RECEIVER.getLastKnownData()[3]);
-      if (Math.abs(Robot.SUB_RECEIVER.getLastKnownData()[3]) > 10 && Robot.SUB_RECEIVER.getLastKnownData()[2] < Constants.DOCKING_TARGET_LOCK_RANGE) { loopOutput = 0; }
+  protected void timedExecute() {
+    Robot.SUB_RECEIVER.getTracker().read(target); // read once, so everything below is from the same frame
+    // the frame is a few dozen ms old; take out however far we've turned since it was captured
+    double angle = target.getAngle() - Robot.SUB_DRIVE.getHeadingChangeSince(target.getMeasurementNanos());
+    loopOutput = turning.getOutput(angle);
+      if (Math.abs(angle) > 10 && target.getDistance() < Constants.DOCKING_TARGET_LOCK_RANGE) { loopOutput = 0; }
     inRange = Robot.SUB_RECEIVER.getWithinRange();
-    canSee = Robot.SUB_RECEIVER.getLastKnownData()[2] != -1;
-    SmartDashboard.putBoolean("canSee", canSee);
-    SmartDashboard.putBoolean("inRange", inRange);
+    canSee = target.isTracking(System.nanoTime()); // keeps steering through a dropped frame or two
+    CAN_SEE.setBoolean(canSee);
+    IN_RANGE.setBoolean(inRange);
 
     double feedForward = Xbox.RT(OI.DRIVER) - Xbox.LT(OI.DRIVER);
-    feedForward *= Util.getAndSetDouble("Align Inhibitor", .5);
+    feedForward *= Robot.CONFIG.get(Tunable.ALIGN_INHIBITOR);
     if (canSee) {
       Robot.SUB_DRIVE.driveByPercentOutputs(-1 * loopOutput + feedForward, loopOutput + feedForward);
     } else {
@@ -69,14 +78,14 @@ public class CyborgCommandAlign extends Command {
 
   // Make this return true when this Command no longer needs to run execute()
   @Override
-  protected boolean isFinished() {
+  protected boolean timedIsFinished() {
     return isFinished;
   }
 
   // Called once after isFinished returns true
   @Override
   protected void end() {
-    SmartDashboard.putBoolean("Aligning", false);
+    ALIGNING.setBoolean(false);
     Robot.SUB_DRIVE.stopMotors();
   }
 
@@ -84,7 +93,7 @@ public class CyborgCommandAlign extends Command {
   // subsystems is scheduled to run
   @Override
   protected void interrupted() {
-    SmartDashboard.putBoolean("Aligning", false);
+    ALIGNING.setBoolean(false);
     Robot.SUB_DRIVE.stopMotors();
   }
 }
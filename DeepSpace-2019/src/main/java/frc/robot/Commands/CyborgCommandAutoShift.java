@@ -7,14 +7,12 @@
 
 package frc.robot.Commands;
 
-import edu.wpi.first.wpilibj.command.Command;
-import frc.robot.Constants;
 import frc.robot.OI;
 import frc.robot.Robot;
-import frc.robot.Util.Util;
+import frc.robot.Enumeration.Tunable;
 import frc.robot.Util.Xbox;
 
-public class CyborgCommandAutoShift extends Command {
+public class CyborgCommandAutoShift extends ProfiledCommand {
 
   private CyborgCommandDisengage disengage;
 
@@ -46,18 +44,18 @@ public class CyborgCommandAutoShift extends Command {
 
   // Called repeatedly when this Command is scheduled to run
   @Override
-  protected void execute() {
+  protected void timedExecute() {
 
-    disengagementTime = Util.getAndSetDouble("Shifter Lockout", 2000);
+    disengagementTime = Robot.CONFIG.get(Tunable.SHIFTER_LOCKOUT);
 
     if (!disengaged || System.currentTimeMillis() > shiftTime + disengagementTime) {
 
     // throttles, upshift RPMs, downshift RPMs
     shiftingPoints = new double[][]{
-      {.25, Util.getAndSetDouble("25 Upshift RPM", Constants.QUARTER_UPSHIFT_RPM), Util.getAndSetDouble("25 Downshift RPM", Constants.QUARTER_DOWNSHIFT_RPM)},
-      { .5, Util.getAndSetDouble("50 Upshift RPM", Constants.HALF_UPSHIFT_RPM), Util.getAndSetDouble("50 Downshift RPM", Constants.HALF_DOWNSHIFT_RPM)},
-      {.75, Util.getAndSetDouble("75 Upshift RPM", Constants.THREE_QUARTERS_UPSHIFT_RPM), Util.getAndSetDouble("75 Downshift RPM", Constants.THREE_QUARTERS_DOWNSHIFT_RPM)},
-      {1.0, Util.getAndSetDouble("100 Upshift RPM", Constants.FULL_UPSHIFT_RPM), Util.getAndSetDouble("100 Downshift RPM", Constants.FULL_DOWNSHIFT_RPM)}};
+      {.25, Robot.CONFIG.get(Tunable.QUARTER_UPSHIFT_RPM), Robot.CONFIG.get(Tunable.QUARTER_DOWNSHIFT_RPM)},
+      { .5, Robot.CONFIG.get(Tunable.HALF_UPSHIFT_RPM), Robot.CONFIG.get(Tunable.HALF_DOWNSHIFT_RPM)},
+      {.75, Robot.CONFIG.get(Tunable.THREE_QUARTERS_UPSHIFT_RPM), Robot.CONFIG.get(Tunable.THREE_QUARTERS_DOWNSHIFT_RPM)},
+      {1.0, Robot.CONFIG.get(Tunable.FULL_UPSHIFT_RPM), Robot.CONFIG.get(Tunable.FULL_DOWNSHIFT_RPM)}};
 
     throttle = Math.abs(Xbox.RT(OI.DRIVER) - Xbox.LT(OI.DRIVER));
 
@@ -78,9 +76,11 @@ public class CyborgCommandAutoShift extends Command {
       // double upshiftRPM = Util.getAndSetDouble("Upshift RPM", Constants.UPSHIFT_RPM);
       // double downshiftRPM = Util.getAndSetDouble("Downshift RPM", Constants.DOWNSHIFT_RPM);
 
-    if (Robot.SUB_SHIFTER.isFirstGear() && Robot.SUB_DRIVE.getVelocities()[0] >= upshiftRPM && Robot.SUB_DRIVE.getVelocities()[1] >= upshiftRPM && !Robot.SUB_DRIVE.isPushing()) {
+    double leftRPM  = Robot.SUB_DRIVE.getLeftVelocity();
+    double rightRPM = Robot.SUB_DRIVE.getRightVelocity();
+    if (Robot.SUB_SHIFTER.isFirstGear() && leftRPM >= upshiftRPM && rightRPM >= upshiftRPM && !Robot.SUB_DRIVE.isPushing()) {
       upshift();
-    } else if (!Robot.SUB_SHIFTER.isFirstGear() && Robot.SUB_DRIVE.getVelocities()[0] <= downshiftRPM && Robot.SUB_DRIVE.getVelocities()[1] <= downshiftRPM) {
+    } else if (!Robot.SUB_SHIFTER.isFirstGear() && leftRPM <= downshiftRPM && rightRPM <= downshiftRPM) {
       downshift();
     // } else if (!Robot.SUB_SHIFTER.isFirstGear() && Robot.SUB_DRIVE.isPushing()) {
     //   downshift();
@@ -91,7 +91,7 @@ public class CyborgCommandAutoShift extends Command {
 
   // Make this return true when this Command no longer needs to run execute()
   @Override
-  protected boolean isFinished() {
+  protected boolean timedIsFinished() {
     return false;
   }
 
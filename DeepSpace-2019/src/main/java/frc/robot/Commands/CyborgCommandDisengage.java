@@ -7,11 +7,10 @@
 
 package frc.robot.Commands;
 
-import edu.wpi.first.wpilibj.command.Command;
 import frc.robot.Robot;
-import frc.robot.Util.Util;
+import frc.robot.Enumeration.Tunable;
 
-public class CyborgCommandDisengage extends Command {
+public class CyborgCommandDisengage extends ProfiledCommand {
 
   private double disengagementTime;
 
@@ -24,20 +23,20 @@ public class CyborgCommandDisengage extends Command {
   // Called just before this Command runs the first time
   @Override
   protected void initialize() {
-    disengagementTime = Util.getAndSetDouble("Disengagement Time", 150);
+    disengagementTime = Robot.CONFIG.get(Tunable.DISENGAGEMENT_TIME);
     initTime = System.currentTimeMillis();
+    Robot.SUB_DRIVE.setBraking(false);
   }
 
   // Called repeatedly when this Command is scheduled to run
   @Override
-  protected void execute() {
-    Robot.SUB_DRIVE.setBraking(false);
+  protected void timedExecute() {
     Robot.SUB_DRIVE.stopMotors();
   }
 
   // Make this return true when this Command no longer needs to run execute()
   @Override
-  protected boolean isFinished() {
+  protected boolean timedIsFinished() {
     return System.currentTimeMillis() > initTime + disengagementTime;
   }
 
@@ -51,5 +50,6 @@ public class CyborgCommandDisengage extends Command {
   // subsystems is scheduled to run
   @Override
   protected void interrupted() {
+    Robot.SUB_DRIVE.setBraking(true);
   }
 }
@@ -7,15 +7,18 @@
 
 package frc.robot.Commands;
 
-import edu.wpi.first.wpilibj.DriverStation;
-import edu.wpi.first.wpilibj.command.Command;
-import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
 import frc.robot.Constants;
 import frc.robot.Robot;
+import frc.robot.Enumeration.Tunable;
+import frc.robot.Util.Dashboard;
+import frc.robot.Util.DashboardEntry;
 import frc.robot.Util.MiniPID;
-import frc.robot.Util.Util;
+import frc.robot.Util.TargetEstimate;
 
-public class CyborgCommandDock extends Command {
+public class CyborgCommandDock extends ProfiledCommand {
+
+  private static final DashboardEntry CAN_SEE  = Dashboard.getEntry("canSee");
+  private static final DashboardEntry IN_RANGE = Dashboard.getEntry("inRange");
 
   private static MiniPID turning;
 
@@ -27,40 +30,44 @@ public class CyborgCommandDock extends Command {
   private static double lastAngle;
   private static double loopOutput;
 
+  private static final TargetEstimate target = new TargetEstimate(); // filled once per loop
+
   public CyborgCommandDock() {
     requires(Robot.SUB_DRIVE);
     requires(Robot.SUB_RECEIVER);
-    Robot.SUB_SENDER.setData(new byte[]{Constants.ASCII_ONE});
   }
 
   // Called just before this Command runs the first time
   @Override
   protected void initialize() {
     lastAngle = 180;
-    turning = new MiniPID(Util.getAndSetDouble("Docking kP", Constants.BACKUP_DOCKING_kP),
-                          Util.getAndSetDouble("Docking kI", Constants.BACKUP_DOCKING_kI),
-                          Util.getAndSetDouble("Docking kD", Constants.BACKUP_DOCKING_kD));
-    idleSpeed = Util.getAndSetDouble("Docking Speed", Constants.BACKUP_DOCKING_SPEED);
+    turning = new MiniPID(Robot.CONFIG.get(Tunable.DOCKING_KP),
+                          Robot.CONFIG.get(Tunable.DOCKING_KI),
+                          Robot.CONFIG.get(Tunable.DOCKING_KD));
+    idleSpeed = Robot.CONFIG.get(Tunable.DOCKING_SPEED);
     turning.setOutputLimits(-1 * idleSpeed, idleSpeed);
     turning.setSetpoint(0);
+    Robot.SUB_RECEIVER.resetTargetLock();
 
-    Robot.SUB_SENDER.setData(new byte[]{Constants.ASCII_ONE});
+    Robot.SUB_SENDER.setMode(Constants.ASCII_ONE);
 
-    // isFinished = Robot.SUB_RECEIVER.getLastKnownData()[3] == -1;
     isFinished = false;
   }
 
   // Called repeatedly when this Command is scheduled to run
   @Override
-  protected void execute() {
-    if (Robot.SUB_RECEIVER.getLastKnownData()[3] != 180) {
-      lastAngle = Robot.SUB_RECEIVER.getLastKnownData()[3];
+  protected void timedExecute() {
+    Robot.SUB_RECEIVER.getTracker().read(target); // read once, so everything below is from the same frame
+    // the frame is a few dozen ms old; take out however far we've turned since it was captured
+    double angle = target.getAngle() - Robot.SUB_DRIVE.getHeadingChangeSince(target.getMeasurementNanos());
+    canSee = target.isTracking(System.nanoTime()); // keeps steering through a dropped frame or two
+    if (canSee) {
+      lastAngle = angle;
     }
-    loopOutput = turning.getOutput(Robot.SUB_RECEIVER.getLastKnownData()[3]);
+    loopOutput = turning.getOutput(angle);
     inRange = Robot.SUB_RECEIVER.getWithinRange();
-    canSee = Robot.SUB_RECEIVER.getLastKnownData()[2] != -1;
-    SmartDashboard.putBoolean("canSee", canSee);
-    SmartDashboard.putBoolean("inRange", inRange);
+    CAN_SEE.setBoolean(canSee);
+    IN_RANGE.setBoolean(inRange);
 
     if (canSee) {
       Robot.SUB_DRIVE.driveByPercentOutputs(idleSpeed - loopOutput, idleSpeed + loopOutput);
@@ -77,7 +84,7 @@ public class CyborgCommandDock extends Command {
 
   // Make this return true when this Command no longer needs to run execute()
   @Override
-  protected boolean isFinished() {
+  protected boolean timedIsFinished() {
     return isFinished || Robot.SUB_DRIVE.isPushing() && Robot.SUB_DRIVE.isStopped();
   }
 
@@ -85,7 +92,7 @@ public class CyborgCommandDock extends Command {
   @Override
   protected void end() {
     Robot.SUB_DRIVE.stopMotors();
-    Robot.SUB_SENDER.setData(new byte[]{Constants.ASCII_ZERO});
+    Robot.SUB_SENDER.setMode(Constants.ASCII_ZERO);
   }
 
   // Called when another command which requires one or more of the same
@@ -93,6 +100,6 @@ public class CyborgCommandDock extends Command {
   @Override
   protected void interrupted() {
     Robot.SUB_DRIVE.stopMotors();
-    Robot.SUB_SENDER.setData(new byte[]{Constants.ASCII_ZERO});
+    Robot.SUB_SENDER.setMode(Constants.ASCII_ZERO);
   }
 }
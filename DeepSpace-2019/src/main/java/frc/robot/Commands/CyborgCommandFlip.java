@@ -7,11 +7,10 @@
 
 package frc.robot.Commands;
 
-import edu.wpi.first.wpilibj.command.Command;
 import frc.robot.Robot;
-import frc.robot.Util.Util;
+import frc.robot.Enumeration.Tunable;
 
-public class CyborgCommandFlip extends Command {
+public class CyborgCommandFlip extends ProfiledCommand {
 
   private static Boolean stalling;
 
@@ -26,13 +25,13 @@ public class CyborgCommandFlip extends Command {
   @Override
   protected void initialize() {
     stalling = false;
-    stallLength = Util.getAndSetDouble("Flip Stall Time", .5);
+    stallLength = Robot.CONFIG.get(Tunable.FLIP_STALL_TIME);
   }
 
   // Called repeatedly when this Command is scheduled to run
   @Override
-  protected void execute() {
-    Robot.SUB_FLIPPER.moveByPercentOutput(Util.getAndSetDouble("Flip Speed", .2));
+  protected void timedExecute() {
+    Robot.SUB_FLIPPER.moveByPercentOutput(Robot.CONFIG.get(Tunable.FLIP_SPEED));
     if (stalling && !Robot.SUB_FLIPPER.isStalling()) {
       stalling = false;
     } else if (!stalling && Robot.SUB_FLIPPER.isStalling()) {
@@ -43,7 +42,7 @@ public class CyborgCommandFlip extends Command {
 
   // Make this return true when this Command no longer needs to run execute()
   @Override
-  protected boolean isFinished() {
+  protected boolean timedIsFinished() {
     return (stalling && stallInitTime + stallLength < System.currentTimeMillis());
   }
 
@@ -11,11 +11,10 @@ import edu.wpi.first.hal.sim.mockdata.DriverStationDataJNI;
 import edu.wpi.first.wpilibj.DriverStation;
 import edu.wpi.first.wpilibj.Joystick;
 import edu.wpi.first.wpilibj.GenericHID.RumbleType;
-import edu.wpi.first.wpilibj.command.Command;
 import frc.robot.OI;
 import frc.robot.Robot;
 
-public class CyborgCommandQuickRumble extends Command {
+public class CyborgCommandQuickRumble extends ProfiledCommand {
 
   private double motor;
   private double intensity;
@@ -40,13 +39,13 @@ public class CyborgCommandQuickRumble extends Command {
 
   // Called repeatedly when this Command is scheduled to run
   @Override
-  protected void execute() {
+  protected void timedExecute() {
     joy.setRumble(motor == 0 ? RumbleType.kLeftRumble : RumbleType.kRightRumble, intensity);
   }
 
   // Make this return true when this Command no longer needs to run execute()
   @Override
-  protected boolean isFinished() {
+  protected boolean timedIsFinished() {
     return System.currentTimeMillis() > initTime + rumbleLength;
   }
 
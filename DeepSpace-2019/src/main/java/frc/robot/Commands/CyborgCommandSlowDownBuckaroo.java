@@ -7,14 +7,12 @@
 
 package frc.robot.Commands;
 
-import edu.wpi.first.wpilibj.command.Command;
-import frc.robot.Constants;
 import frc.robot.OI;
 import frc.robot.Robot;
 import frc.robot.Enumeration.DriveSpeed;
-import frc.robot.Util.Util;
+import frc.robot.Enumeration.Tunable;
 
-public class CyborgCommandSlowDownBuckaroo extends Command {
+public class CyborgCommandSlowDownBuckaroo extends ProfiledCommand {
 
   private long initTime;
   private double lockoutTime;
@@ -32,24 +30,24 @@ public class CyborgCommandSlowDownBuckaroo extends Command {
   @Override
   protected void initialize() {
     initTime = System.currentTimeMillis();
-    lockoutTime = Util.getAndSetDouble("Lockout", 200);
-    damperTime  = Util.getAndSetDouble("Slowdown", 1000);
+    lockoutTime = Robot.CONFIG.get(Tunable.SLOWDOWN_LOCKOUT);
+    damperTime  = Robot.CONFIG.get(Tunable.SLOWDOWN_TIME);
     initSpeed = Robot.SUB_DRIVE.getDriveSpeed();
     isFinished = false;
   }
 
   // Called repeatedly when this Command is scheduled to run
   @Override
-  protected void execute() {
+  protected void timedExecute() {
     if (System.currentTimeMillis() < initTime + lockoutTime) {
       Robot.SUB_DRIVE.stopMotors();
     } else if (System.currentTimeMillis() < initTime + lockoutTime + damperTime) {
       Robot.SUB_DRIVE.setDriveSpeed(DriveSpeed.DISENGAGE);
-      Robot.SUB_DRIVE.driveRlHiLo(OI.DRIVER, Util.getAndSetDouble("RL Ramp", Constants.BACKUP_RAMP),
-                                               Util.getAndSetDouble("Disengage Inhibitor", .2),
-                                               Util.getAndSetDouble("Lower Drive Inhibitor", .4),
-                                               Util.getAndSetDouble("Upper Drive Inhibitor", .8),
-                                               Util.getAndSetDouble("Murder Inhibtitor", 1));
+      Robot.SUB_DRIVE.driveRlHiLo(OI.DRIVER, Robot.CONFIG.get(Tunable.RL_RAMP),
+                                               Robot.CONFIG.get(Tunable.DISENGAGE_INHIBITOR),
+                                               Robot.CONFIG.get(Tunable.LOWER_DRIVE_INHIBITOR),
+                                               Robot.CONFIG.get(Tunable.UPPER_DRIVE_INHIBITOR),
+                                               Robot.CONFIG.get(Tunable.MURDER_INHIBITOR));
     } else if (System.currentTimeMillis() > initTime + lockoutTime + damperTime) {
       isFinished = true;
     }
@@ -57,7 +55,7 @@ public class CyborgCommandSlowDownBuckaroo extends Command {
 
   // Make this return true when this Command no longer needs to run execute()
   @Override
-  protected boolean isFinished() {
+  protected boolean timedIsFinished() {
     return isFinished;
   }
 
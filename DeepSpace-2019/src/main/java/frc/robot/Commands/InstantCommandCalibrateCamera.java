@@ -8,9 +8,8 @@
 package frc.robot.Commands;
 
 import edu.wpi.first.wpilibj.command.InstantCommand;
-import frc.robot.Constants;
 import frc.robot.Robot;
-import frc.robot.Util.Util;
+import frc.robot.Enumeration.Tunable;
 
 public class InstantCommandCalibrateCamera extends InstantCommand {
 
@@ -21,7 +20,7 @@ public class InstantCommandCalibrateCamera extends InstantCommand {
   // Called just before this Command runs the first time
   @Override
   protected void initialize() {
-    Robot.VISION.updateExposure((int) (Util.getAndSetDouble("Cam Exposure", Constants.BACKUP_EXPOSURE)));
+    Robot.VISION.updateExposure((int) (Robot.CONFIG.get(Tunable.CAM_EXPOSURE)));
   }
 
 }
@@ -7,14 +7,17 @@
 
 package frc.robot.Commands;
 
-import edu.wpi.first.wpilibj.command.Command;
-import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
 import frc.robot.Constants;
 import frc.robot.Robot;
 import frc.robot.Enumeration.MastPosition;
-import frc.robot.Util.Util;
+import frc.robot.Enumeration.ProfileValue;
+import frc.robot.Enumeration.Tunable;
+import frc.robot.Util.Dashboard;
+import frc.robot.Util.DashboardEntry;
 
-public class IterativeCommandMoveMast extends Command {
+public class IterativeCommandMoveMast extends ProfiledCommand {
+
+  private static final DashboardEntry STABLE_MAST = Dashboard.getEntry("Stable Mast");
 
   private static Boolean      stable;
   private static Boolean      innerWithinAllowableError;
@@ -43,19 +46,19 @@ public class IterativeCommandMoveMast extends Command {
 
   // Called repeatedly when this Command is scheduled to run
   @Override
-  protected void execute() {
-    Robot.SUB_MAST.setInnerStagePIDF(new double[]{ Util.getAndSetDouble("Inner Mast kP", 0),
-                                                   Util.getAndSetDouble("Inner Mast kI", 0),
-                                                   Util.getAndSetDouble("Inner Mast kD", 0),
-                                                   Util.getAndSetDouble("Inner Mast kF", 0)});
-    Robot.SUB_MAST.setOuterStagePIDF(new double[]{ Util.getAndSetDouble("Outer Mast kP", 0),
-                                                   Util.getAndSetDouble("Outer Mast kI", 0),
-                                                   Util.getAndSetDouble("Outer Mast kD", 0),
-                                                   Util.getAndSetDouble("Outer Mast kF", 0)});                                                  
+  protected void timedExecute() {
+    Robot.SUB_MAST.setInnerStagePIDF(Robot.CONFIG.get(Tunable.INNER_MAST_KP),
+                                     Robot.CONFIG.get(Tunable.INNER_MAST_KI),
+                                     Robot.CONFIG.get(Tunable.INNER_MAST_KD),
+                                     Robot.CONFIG.get(Tunable.INNER_MAST_KF));
+    Robot.SUB_MAST.setOuterStagePIDF(Robot.CONFIG.get(Tunable.OUTER_MAST_KP),
+                                     Robot.CONFIG.get(Tunable.OUTER_MAST_KI),
+                                     Robot.CONFIG.get(Tunable.OUTER_MAST_KD),
+                                     Robot.CONFIG.get(Tunable.OUTER_MAST_KF));
 
     position = Robot.SUB_MAST.getStoredPosition();
 
-    allowableError = Util.getAndSetDouble("Mast Allowable Error", Constants.MAST_ALLOWABLE_ERROR);
+    allowableError = Robot.CONFIG.get(Tunable.MAST_ALLOWABLE_ERROR);
     
     switch(position) {
       case SOMEWHERE:
@@ -65,34 +68,34 @@ public class IterativeCommandMoveMast extends Command {
         break;
 
       case CARGO_1:
-        innerStageHeight = Constants.CARGO_1_HEIGHT;
+        innerStageHeight = Robot.PROFILE.get(ProfileValue.CARGO_1_HEIGHT);
         outerStageHeight = Constants.NOT_QUITE_ZERO;
         break;
 
       case HATCH_2:
-        innerStageHeight = Constants.HATCH_2_HEIGHT;
+        innerStageHeight = Robot.PROFILE.get(ProfileValue.HATCH_2_HEIGHT);
         outerStageHeight = Constants.NOT_QUITE_ZERO;
         break;
 
       case CARGO_2:
-        innerStageHeight = Constants.TOP_TIER_INNER_HEIGHT;
-        outerStageHeight = Constants.CARGO_2_HEIGHT;
+        innerStageHeight = Robot.PROFILE.get(ProfileValue.TOP_TIER_INNER_HEIGHT);
+        outerStageHeight = Robot.PROFILE.get(ProfileValue.CARGO_2_HEIGHT);
         break;
 
       case HATCH_3:
-        innerStageHeight = Constants.TOP_TIER_INNER_HEIGHT;
-        outerStageHeight = Constants.HATCH_3_HEIGHT;
+        innerStageHeight = Robot.PROFILE.get(ProfileValue.TOP_TIER_INNER_HEIGHT);
+        outerStageHeight = Robot.PROFILE.get(ProfileValue.HATCH_3_HEIGHT);
         break;
 
       case CARGO_3:
-        innerStageHeight = Constants.TOP_TIER_INNER_HEIGHT;
-        outerStageHeight = Constants.CARGO_3_HEIGHT;
+        innerStageHeight = Robot.PROFILE.get(ProfileValue.TOP_TIER_INNER_HEIGHT);
+        outerStageHeight = Robot.PROFILE.get(ProfileValue.CARGO_3_HEIGHT);
         break;
     }
 
     stable = Robot.SUB_MAST.innerStageWithinRange(innerStageHeight, allowableError) 
           && Robot.SUB_MAST.outerStageWithinRange(outerStageHeight, allowableError);
-    SmartDashboard.putBoolean("Stable Mast", stable);
+    STABLE_MAST.setBoolean(stable);
 
     if (Robot.SUB_MAST.innerStageWithinRange(innerStageHeight, allowableError) && !innerWithinAllowableError) { // if it just entered the range
       innerInRangeInit = System.currentTimeMillis();
@@ -123,7 +126,7 @@ public class IterativeCommandMoveMast extends Command {
 
   // Make this return true when this Command no longer needs to run execute()
   @Override
-  protected boolean isFinished() {
+  protected boolean timedIsFinished() {
     return false;
   }
 
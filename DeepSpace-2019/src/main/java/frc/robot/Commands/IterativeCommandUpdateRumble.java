@@ -8,12 +8,11 @@
 package frc.robot.Commands;
 
 import edu.wpi.first.wpilibj.GenericHID.RumbleType;
-import edu.wpi.first.wpilibj.command.Command;
 import frc.robot.OI;
 import frc.robot.Robot;
-import frc.robot.Util.Util;
+import frc.robot.Enumeration.Tunable;
 
-public class IterativeCommandUpdateRumble extends Command {
+public class IterativeCommandUpdateRumble extends ProfiledCommand {
   
   Boolean probing;
 
@@ -33,14 +32,15 @@ public class IterativeCommandUpdateRumble extends Command {
 
   // Called repeatedly when this Command is scheduled to run
   @Override
-  protected void execute() {
-    lockTime = Util.getAndSetDouble("Lock Time", 500);
-    if (!probing && Robot.SUB_RECEIVER.getLastKnownData()[2] != -1) {
+  protected void timedExecute() {
+    lockTime = Robot.CONFIG.get(Tunable.LOCK_TIME);
+    boolean hasTarget = Robot.SUB_RECEIVER.getLatestSnapshot().hasTarget();
+    if (!probing && hasTarget) {
       OI.DRIVER.setRumble(RumbleType.kLeftRumble, 1);
       OI.DRIVER.setRumble(RumbleType.kRightRumble, 0);
       probing = true;
       probingInit = System.currentTimeMillis();
-    } else if (Robot.SUB_RECEIVER.getLastKnownData()[2] == -1) {
+    } else if (!hasTarget) {
       OI.DRIVER.setRumble(RumbleType.kLeftRumble, 0);
       OI.DRIVER.setRumble(RumbleType.kRightRumble, 0);
       probing = false;
@@ -52,7 +52,7 @@ public class IterativeCommandUpdateRumble extends Command {
 
   // Make this return true when this Command no longer needs to run execute()
   @Override
-  protected boolean isFinished() {
+  protected boolean timedIsFinished() {
     return false;
   }
 
@@ -7,13 +7,11 @@
 
 package frc.robot.Commands;
 
-import edu.wpi.first.wpilibj.command.Command;
-import frc.robot.Constants;
 import frc.robot.OI;
 import frc.robot.Robot;
-import frc.robot.Util.Util;
+import frc.robot.Enumeration.Tunable;
 
-public class ManualCommandDrive extends Command {
+public class ManualCommandDrive extends ProfiledCommand {
   public ManualCommandDrive() {
     requires(Robot.SUB_DRIVE);
   }
@@ -24,18 +22,18 @@ public class ManualCommandDrive extends Command {
 
   // Called repeatedly when this Command is scheduled to run
   @Override
-  protected void execute() {
+  protected void timedExecute() {
     switch(Robot.controlScheme) {
       case RL_GENUINE:
-        Robot.SUB_DRIVE.driveRLGenuine(OI.DRIVER, Util.getAndSetDouble("RL Ramp", Constants.BACKUP_RAMP), 
-                                                  Util.getAndSetDouble("Caleb Inhibitor", 1));;
+        Robot.SUB_DRIVE.driveRLGenuine(OI.DRIVER, Robot.CONFIG.get(Tunable.RL_RAMP), 
+                                                  Robot.CONFIG.get(Tunable.CALEB_INHIBITOR));;
         break;
       case RL_HILO:
-        Robot.SUB_DRIVE.driveRlHiLo(OI.DRIVER, Util.getAndSetDouble("RL Ramp", Constants.BACKUP_RAMP),
-                                               Util.getAndSetDouble("Disengage Inhibitor", .2),
-                                               Util.getAndSetDouble("Lower Drive Inhibitor", .4),
-                                               Util.getAndSetDouble("Upper Drive Inhibitor", .8),
-                                               Util.getAndSetDouble("Murder Inhibitor", 1));
+        Robot.SUB_DRIVE.driveRlHiLo(OI.DRIVER, Robot.CONFIG.get(Tunable.RL_RAMP),
+                                               Robot.CONFIG.get(Tunable.DISENGAGE_INHIBITOR),
+                                               Robot.CONFIG.get(Tunable.LOWER_DRIVE_INHIBITOR),
+                                               Robot.CONFIG.get(Tunable.UPPER_DRIVE_INHIBITOR),
+                                               Robot.CONFIG.get(Tunable.MURDER_INHIBITOR));
         break;
     }
     Robot.SUB_DRIVE.updateSpeedData();
@@ -44,7 +42,7 @@ public class ManualCommandDrive extends Command {
 
   // Make this return true when this Command no longer needs to run execute()
   @Override
-  protected boolean isFinished() {
+  protected boolean timedIsFinished() {
     return false;
   }
 
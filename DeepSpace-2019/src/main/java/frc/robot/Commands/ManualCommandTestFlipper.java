@@ -7,11 +7,10 @@
 
 package frc.robot.Commands;
 
-import edu.wpi.first.wpilibj.command.Command;
 import frc.robot.OI;
 import frc.robot.Robot;
 
-public class ManualCommandTestFlipper extends Command {
+public class ManualCommandTestFlipper extends ProfiledCommand {
   public ManualCommandTestFlipper() {
     requires(Robot.SUB_FLIPPER);
     // requires(Robot.SUB_MAST);
@@ -24,13 +23,13 @@ public class ManualCommandTestFlipper extends Command {
 
   // Called repeatedly when this Command is scheduled to run
   @Override
-  protected void execute() {
+  protected void timedExecute() {
     Robot.SUB_FLIPPER.moveByJoystick(OI.OPERATOR);
   }
 
   // Make this return true when this Command no longer needs to run execute()
   @Override
-  protected boolean isFinished() {
+  protected boolean timedIsFinished() {
     return false;
   }
 
@@ -7,12 +7,11 @@
 
 package frc.robot.Commands;
 
-import edu.wpi.first.wpilibj.command.Command;
 import frc.robot.OI;
 import frc.robot.Robot;
-import frc.robot.Util.Util;
+import frc.robot.Enumeration.Tunable;
 
-public class ManualCommandTestMast extends Command {
+public class ManualCommandTestMast extends ProfiledCommand {
   public ManualCommandTestMast() {
     requires(Robot.SUB_FLIPPER);
     requires(Robot.SUB_MAST);
@@ -25,13 +24,13 @@ public class ManualCommandTestMast extends Command {
 
   // Called repeatedly when this Command is scheduled to run
   @Override
-  protected void execute() {
-    Robot.SUB_MAST.moveWithJoystick(OI.OPERATOR, Util.getAndSetDouble("First Stage Inhibitor", 1), Util.getAndSetDouble("Second Stage Inhibitor", 1));
+  protected void timedExecute() {
+    Robot.SUB_MAST.moveWithJoystick(OI.OPERATOR, Robot.CONFIG.get(Tunable.FIRST_STAGE_INHIBITOR), Robot.CONFIG.get(Tunable.SECOND_STAGE_INHIBITOR));
   }
 
   // Make this return true when this Command no longer needs to run execute()
   @Override
-  protected boolean isFinished() {
+  protected boolean timedIsFinished() {
     return false;
   }
 
@@ -8,14 +8,15 @@
 package frc.robot.Commands;
 
 import edu.wpi.first.wpilibj.DriverStation;
-import edu.wpi.first.wpilibj.command.Command;
-import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
-import frc.robot.Constants;
 import frc.robot.OI;
 import frc.robot.Robot;
-import frc.robot.Util.Util;
+import frc.robot.Enumeration.Tunable;
+import frc.robot.Util.Dashboard;
+import frc.robot.Util.DashboardEntry;
 
-public class ManualCommandTestMastPID extends Command {
+public class ManualCommandTestMastPID extends ProfiledCommand {
+
+  private static final DashboardEntry WITHIN_ERROR = Dashboard.getEntry("Within Error");
 
   private static Boolean withinAllowableError;
 
@@ -34,27 +35,27 @@ public class ManualCommandTestMastPID extends Command {
   @Override
   protected void initialize() {
     withinAllowableError = false;
-    allowableError = Util.getAndSetDouble("Mast Allowable Error", Constants.MAST_ALLOWABLE_ERROR);
+    allowableError = Robot.CONFIG.get(Tunable.MAST_ALLOWABLE_ERROR);
     errorMs = 100;
 
-    Robot.SUB_MAST.setInnerStagePIDF(new double[]{ Util.getAndSetDouble("Test Mast kP", 0),
-                                                   Util.getAndSetDouble("Test Mast kI", 0),
-                                                   Util.getAndSetDouble("Test Mast kD", 0),
-                                                   Util.getAndSetDouble("Test Mast kF", 0)});
-    Robot.SUB_MAST.moveInnerStageByPosition(Util.getAndSetDouble("Inner Mast PID Inches", 10));
-
-    Robot.SUB_MAST.setOuterStagePIDF(new double[]{ Util.getAndSetDouble("Test Mast kP", 0),
-                                                   Util.getAndSetDouble("Test Mast kI", 0),
-                                                   Util.getAndSetDouble("Test Mast kD", 0),
-                                                   Util.getAndSetDouble("Test Mast kF", 0)});
-    Robot.SUB_MAST.moveOuterStageByPosition(Util.getAndSetDouble("Outer Mast PID Inches", 10));
+    Robot.SUB_MAST.setInnerStagePIDF(Robot.CONFIG.get(Tunable.TEST_MAST_KP),
+                                     Robot.CONFIG.get(Tunable.TEST_MAST_KI),
+                                     Robot.CONFIG.get(Tunable.TEST_MAST_KD),
+                                     Robot.CONFIG.get(Tunable.TEST_MAST_KF));
+    Robot.SUB_MAST.moveInnerStageByPosition(Robot.CONFIG.get(Tunable.INNER_MAST_PID_INCHES));
+
+    Robot.SUB_MAST.setOuterStagePIDF(Robot.CONFIG.get(Tunable.TEST_MAST_KP),
+                                     Robot.CONFIG.get(Tunable.TEST_MAST_KI),
+                                     Robot.CONFIG.get(Tunable.TEST_MAST_KD),
+                                     Robot.CONFIG.get(Tunable.TEST_MAST_KF));
+    Robot.SUB_MAST.moveOuterStageByPosition(Robot.CONFIG.get(Tunable.OUTER_MAST_PID_INCHES));
   }
 
   // Called repeatedly when this Command is scheduled to run
   @Override
-  protected void execute() {
-    double innerStageHeight = Util.getAndSetDouble("Inner Mast PID Inches", 10);
-    SmartDashboard.putBoolean("Within Error", Robot.SUB_MAST.innerStageWithinRange(Util.getAndSetDouble("Inner Mast PID Inches", 10), allowableError));
+  protected void timedExecute() {
+    double innerStageHeight = Robot.CONFIG.get(Tunable.INNER_MAST_PID_INCHES);
+    WITHIN_ERROR.setBoolean(Robot.SUB_MAST.innerStageWithinRange(Robot.CONFIG.get(Tunable.INNER_MAST_PID_INCHES), allowableError));
 
     if (Robot.SUB_MAST.innerStageWithinRange(innerStageHeight, allowableError) && !withinAllowableError) { // if it just entered the range
       inRangeInit = System.currentTimeMillis();
@@ -72,7 +73,7 @@ public class ManualCommandTestMastPID extends Command {
 
   // Make this return true when this Command no longer needs to run execute()
   @Override
-  protected boolean isFinished() {
+  protected boolean timedIsFinished() {
     return false;
   }
 
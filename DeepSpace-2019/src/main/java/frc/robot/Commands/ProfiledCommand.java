@@ -0,0 +1,53 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2018 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package frc.robot.Commands;
+
+import edu.wpi.first.wpilibj.command.Command;
+import frc.robot.Robot;
+
+/**
+ * A Command whose execute() and isFinished() get timed by Robot.PROFILER, as
+ * "<class name>.execute" and "<class name>.isFinished".
+ * Put the code in timedExecute() and timedIsFinished() instead of overriding execute() and isFinished().
+ */
+public abstract class ProfiledCommand extends Command {
+
+  private int executeStage  = -1;
+  private int finishedStage = -1;
+
+  /**
+   * Called repeatedly when this Command is scheduled to run
+   */
+  protected abstract void timedExecute();
+
+  /**
+   * Make this return true when this Command no longer needs to run execute()
+   */
+  protected abstract boolean timedIsFinished();
+
+  @Override
+  protected final void execute() {
+    if (executeStage < 0) {
+      executeStage = Robot.PROFILER.getStage(getClass().getSimpleName() + ".execute");
+    }
+    long start = System.nanoTime();
+    timedExecute();
+    Robot.PROFILER.record(executeStage, System.nanoTime() - start);
+  }
+
+  @Override
+  protected final boolean isFinished() {
+    if (finishedStage < 0) {
+      finishedStage = Robot.PROFILER.getStage(getClass().getSimpleName() + ".isFinished");
+    }
+    long    start    = System.nanoTime();
+    boolean finished = timedIsFinished();
+    Robot.PROFILER.record(finishedStage, System.nanoTime() - start);
+    return finished;
+  }
+}
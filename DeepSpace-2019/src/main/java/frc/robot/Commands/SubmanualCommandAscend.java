@@ -7,13 +7,16 @@
 
 package frc.robot.Commands;
 
-import edu.wpi.first.wpilibj.command.Command;
-import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
 import frc.robot.Constants;
 import frc.robot.OI;
 import frc.robot.Robot;
+import frc.robot.Util.Dashboard;
+import frc.robot.Util.DashboardEntry;
 
-public class SubmanualCommandAscend extends Command {
+public class SubmanualCommandAscend extends ProfiledCommand {
+
+  private static final DashboardEntry CLIMB_AMPERAGE    = Dashboard.getEntry("Climb Amperage", 0.5);
+  private static final DashboardEntry CLIMB_DANGER_ZONE = Dashboard.getEntry("Climb Danger Zone");
 
   double amperage;
 
@@ -29,15 +32,15 @@ public class SubmanualCommandAscend extends Command {
 
   // Called repeatedly when this Command is scheduled to run
   @Override
-  protected void execute() {
+  protected void timedExecute() {
     amperage = Robot.SUB_CLIMB.ascendByJoystick(OI.OPERATOR);
-    SmartDashboard.putNumber("Climb Amperage", amperage);
-    SmartDashboard.putBoolean("Climb Danger Zone", amperage >= Constants.DANGER_AMPERAGE);
+    CLIMB_AMPERAGE.setNumber(amperage);
+    CLIMB_DANGER_ZONE.setBoolean(amperage >= Constants.DANGER_AMPERAGE);
   }
 
   // Make this return true when this Command no longer needs to run execute()
   @Override
-  protected boolean isFinished() {
+  protected boolean timedIsFinished() {
     return false;
   }
 
@@ -8,12 +8,11 @@
 package frc.robot.Commands;
 
 import edu.wpi.first.wpilibj.DriverStation;
-import edu.wpi.first.wpilibj.command.Command;
 import frc.robot.OI;
 import frc.robot.Robot;
 import frc.robot.Util.Xbox;
 
-public class SubmanualCommandEmergencyMastControl extends Command {
+public class SubmanualCommandEmergencyMastControl extends ProfiledCommand {
 
   private static Boolean falseAlarm;
 
@@ -34,7 +33,7 @@ public class SubmanualCommandEmergencyMastControl extends Command {
 
   // Called repeatedly when this Command is scheduled to run
   @Override
-  protected void execute() {
+  protected void timedExecute() {
     Robot.SUB_MAST.moveInnerStageByPercent(Xbox.RIGHT_Y(OI.OPERATOR));
     Robot.SUB_MAST.moveOuterStageByPercent(Xbox.RT(OI.OPERATOR)-Xbox.LT(OI.OPERATOR));
     DriverStation.reportError("KENZIE WHAT DID YOU DO", false);
@@ -42,7 +41,7 @@ public class SubmanualCommandEmergencyMastControl extends Command {
 
   // Make this return true when this Command no longer needs to run execute()
   @Override
-  protected boolean isFinished() {
+  protected boolean timedIsFinished() {
     return falseAlarm;
   }
 
@@ -7,12 +7,11 @@
 
 package frc.robot.Commands;
 
-import edu.wpi.first.wpilibj.command.Command;
 import frc.robot.Robot;
   /**
  * Code that kills compressor until interruption
  */
-public class ToggleCommandKillCompressor extends Command {
+public class ToggleCommandKillCompressor extends ProfiledCommand {
 
   public ToggleCommandKillCompressor() {
       requires(Robot.SUB_COMPRESSOR);
@@ -22,9 +21,9 @@ public class ToggleCommandKillCompressor extends Command {
     Robot.SUB_COMPRESSOR.setState(false);
   }
 
-  protected void execute() {}
+  protected void timedExecute() {}
 
-  protected boolean isFinished() {
+  protected boolean timedIsFinished() {
       return false;
   }
 
@@ -7,14 +7,12 @@
 
 package frc.robot.Commands;
 
-import edu.wpi.first.wpilibj.command.Command;
-import frc.robot.Constants;
 import frc.robot.OI;
 import frc.robot.Robot;
 import frc.robot.Enumeration.DriveSpeed;
-import frc.robot.Util.Util;
+import frc.robot.Enumeration.Tunable;
 
-public class ToggleCommandMurder extends Command {
+public class ToggleCommandMurder extends ProfiledCommand {
 
   private Boolean initFirstGear;
   private DriveSpeed initSpeed;
@@ -35,17 +33,17 @@ public class ToggleCommandMurder extends Command {
 
   // Called repeatedly when this Command is scheduled to run
   @Override
-  protected void execute() {
-    Robot.SUB_DRIVE.driveRlHiLo(OI.DRIVER, Util.getAndSetDouble("RL Ramp", Constants.BACKUP_RAMP),
-                                               Util.getAndSetDouble("Disengage Inhibitor", .2),
-                                               Util.getAndSetDouble("Lower Drive Inhibitor", .3),
-                                               Util.getAndSetDouble("Upper Drive Inhibitor", 8),
-                                               Util.getAndSetDouble("Murder Inhibitor", 1));
+  protected void timedExecute() {
+    Robot.SUB_DRIVE.driveRlHiLo(OI.DRIVER, Robot.CONFIG.get(Tunable.RL_RAMP),
+                                               Robot.CONFIG.get(Tunable.DISENGAGE_INHIBITOR),
+                                               Robot.CONFIG.get(Tunable.LOWER_DRIVE_INHIBITOR),
+                                               Robot.CONFIG.get(Tunable.UPPER_DRIVE_INHIBITOR),
+                                               Robot.CONFIG.get(Tunable.MURDER_INHIBITOR));
   }
 
   // Make this return true when this Command no longer needs to run execute()
   @Override
-  protected boolean isFinished() {
+  protected boolean timedIsFinished() {
     return false;
   }
 
@@ -36,24 +36,36 @@ public class Constants {
      * Docking Values
      */
     public static final double
-        DOCKING_TARGET_LOCK_RANGE = 40; // in inches
+        DOCKING_TARGET_LOCK_RANGE      = 40, // in inches
+        STICKY_TARGET_TIMEOUT_MS       = 500, // forget the locked target after this long without one
+        STICKY_TARGET_GATE_DEGREES     = 10, // farthest a target can move between packets and still be "the same one"
+        STICKY_TARGET_DEGREES_PER_INCH = .5, // how much a change in distance counts against a target
+        TRACKER_ALPHA                  = .5, // share of each new angle/distance that goes into the tracked value
+        TRACKER_BETA                   = .1, // share of each new angle/distance that goes into the tracked rate
+        TRACKER_GATE_DEGREES           = 15, // a jump bigger than this starts a new track
+        TRACKER_GATE_INCHES            = 12, // so does a jump in distance bigger than this
+        TRACKER_CONFIDENCE_GAIN        = .3, // how quickly confidence builds on hits and drops on misses
+        BACKUP_TRACKER_COAST_MS        = 250; // how long a target is chased after the Pi stops seeing it
 
     /**
      * Drive values
      */
     public static final double
-        BACKUP_RAMP            = 0,
-        BACKUP_DOCKING_SPEED   = .25,
-        WHEEL_DIAMETER         = 6,
-        RPM_TO_FIRST_GEAR_MPH  = 22.1 * Math.PI * WHEEL_DIAMETER * 0.00094697,
-        RPM_TO_SECOND_GEAR_MPH = 7.2 * Math.PI * WHEEL_DIAMETER * 0.00094697,
-        MAX_ALLOWABLE_AO       = .2, // percent output
-        MAX_ALLOWABLE_ERROR    = .25, // inches
-        DOWNSHIFT_RPM          = 900,
-        UPSHIFT_RPM            = 1000;
+        BACKUP_RAMP                     = 0,
+        BACKUP_DOCKING_SPEED            = .25,
+        WHEEL_DIAMETER                  = 6,
+        RPM_TO_FIRST_GEAR_MPH           = 22.1 * Math.PI * WHEEL_DIAMETER * 0.00094697,
+        RPM_TO_SECOND_GEAR_MPH          = 7.2 * Math.PI * WHEEL_DIAMETER * 0.00094697,
+        MAX_ALLOWABLE_AO                = .2, // percent output
+        MAX_ALLOWABLE_ERROR             = .25, // inches
+        DOWNSHIFT_RPM                   = 900,
+        UPSHIFT_RPM                     = 1000,
+        TRACK_WIDTH                     = 25, // inches, wheel center to wheel center
+        FIRST_GEAR_INCHES_PER_ROTATION  = Math.PI * WHEEL_DIAMETER / 4.67, // the 4.67:1 CIMple Box reduction ROTATIONS_PER_INCH came from
+        SECOND_GEAR_INCHES_PER_ROTATION = FIRST_GEAR_INCHES_PER_ROTATION * 7.2 / 22.1; // same ratio between gears as RPM_TO_*_GEAR_MPH
 
     /**
-     * Inverts
+     * Inverts, the competition robot's; the robot profile has the real ones
      */
     public static final Boolean
         LEFT_DRIVE_INVERT          = false,
@@ -67,7 +79,7 @@ public class Constants {
         FLIPPER_INVERT             = false;
 
     /**
-     * Mast Values
+     * Mast Values; the heights are the competition robot's, the robot profile has the real ones
      */
     public static final double
         MAST_ALLOWABLE_ERROR = .5, // error in inches
@@ -115,7 +127,14 @@ public class Constants {
         DANGER_AMPERAGE        = 55,
         PUSHING_AMPERAGE       = 25,
         FLIPPER_STALL_AMPERAGE = 25;
-        
+
+    /**
+     * Motor Controller Config Values
+     */
+    public static final int
+        TALON_CONFIG_TIMEOUT_MS = 10,  // how long a config call waits for the Talon to acknowledge
+        CONFIG_RETRY_MS         = 100; // how soon settings or gains a controller didn't acknowledge get sent again
+
     /**
      * Solenoid IDS
      */
@@ -134,7 +153,7 @@ public class Constants {
         SOLENOID_PULSE_SECONDS = .5;
         
     /**
-     * Spark IDs
+     * Spark IDs, the competition robot's; the robot profile has the real ones
      */
     public static final int
         LEFT_MASTER_ID  = 4,
@@ -143,17 +162,9 @@ public class Constants {
         RIGHT_SLAVE_ID  = 2;
 
     /**
-     * Talon IDS
+     * Talon IDS, the competition robot's; the robot profile has the real ones
      */
     public static final int
-    // PRACTICE
-        // CLIMBER_ID      = 5,
-        // INNER_STAGE_ID  = 8,
-        // OUTER_STAGE_ID  = 9,
-        // LAUNCHER_ID     = 6,
-        // INTAKE_ID       = 10,
-        // FLIPPER_ID      = 7;
-    // COMPETITION
         CLIMBER_ID      = 8,
         INNER_STAGE_ID  = 6,
         OUTER_STAGE_ID  = 7,
@@ -162,6 +173,82 @@ public class Constants {
         FLIPPER_ID      = 5;
 
 
+    /**
+     * Network Values
+     */
+    public static final int
+        VISION_PORT               = 3695,
+        TELEMETRY_STREAM_PORT     = 5801, // in the 5800-5810 range the FMS lets through
+        TELEMETRY_SERVER_PORT     = 5800, // HTTP, same range
+        TELEMETRY_STREAM_HZ       = 50,   // frames per second to each receiver
+        RECEIVER_HEALTH_PERIOD_MS = 1000; // how often receiver health goes to the dashboard
+
+    public static final double
+        BACKUP_SENDER_HEARTBEAT_MS = 500; // how often the mode byte repeats when it isn't changing
+
+    public static final String
+        COPROCESSOR_ADDRESS    = "10.36.95.16",
+        ROBOT_ADDRESS          = "10.36.95.2",
+        VISION_LOG_DIRECTORY   = "/home/lvuser"; // where "Record Vision" puts its logs
+
+    public static final long
+        VISION_LOG_MAX_BYTES   = 64 * 1024 * 1024; // recording stops past this
+
+    public static final int
+        VISION_LOG_FILES       = 3; // vision logs kept on the roboRIO, oldest get deleted
+
+    /**
+     * Telemetry Values
+     */
+    public static final int
+        LOOP_HZ            = 50,    // TimedRobot's default 20ms period
+        FLIGHT_LOG_RECORDS = 30000, // loops each flight log holds, 10 minutes at LOOP_HZ
+        FLIGHT_LOG_FILES   = 5,     // flight logs kept on the roboRIO, oldest get deleted
+        HISTORY_RECORDS    = 1500,  // loops the telemetry server can look back over, 30 seconds at LOOP_HZ
+        PROFILE_REPORT_MS  = 1000,  // how often loop timing and CAN counts go to the dashboard
+        BACKUP_CAN_FRAME_BUDGET = 40; // set and config frames per loop before the loop is flagged
+
+    /**
+     * Robot Profile Values
+     */
+    public static final String
+        PROFILE_DIRECTORY   = "/home/lvuser/deploy/profiles", // where src/main/deploy/profiles ends up
+        ROBOT_IDENTITY_FILE = "/home/lvuser/robot-profile",   // holds this roboRIO's profile name, e.g. "practice"
+        BACKUP_PROFILE      = "competition";                  // used when there's no identity file
+
+    public static final int
+        PROFILE_SETTLE_MS = 250; // quiet time after a profile changes before it's loaded again
+
+    /**
+     * Preference Values
+     */
+    public static final int
+        PREFERENCE_DEBOUNCE_MS  = 500,  // quiet time before queued defaults are written
+        PREFERENCE_MAX_DELAY_MS = 2000; // longest a default waits to be written
+
+    public static final String
+        FLIGHT_LOG_DIRECTORY = "/home/lvuser",
+        EVENT_LOG_DIRECTORY  = "/home/lvuser";
+
+    public static final int
+        EVENT_DRAIN_MS     = 100,  // how often events get written out
+        EVENT_REPORT_MS    = 1000, // least time between two DS messages for the same kind of event
+        EVENT_RING_SIZE    = 256,  // events a thread can log between drains before they're dropped
+        EVENT_LOG_FILES    = 5;    // event logs kept on the roboRIO, oldest get deleted
+
+    public static final long
+        EVENT_LOG_MAX_BYTES = 16 * 1024 * 1024;
+
+    /**
+     * Latency Compensation Values
+     */
+    public static final double
+        VISION_LEGACY_LATENCY_MS      = 40, // assumed frame + network delay for ASCII packets
+        VISION_MIN_NETWORK_LATENCY_MS = 1; // fastest trip from the Pi to the Rio
+
+    public static final int
+        POSE_HISTORY_SIZE = 128; // drivetrain samples kept, one per loop
+
     /**
      * Vision Values
      */
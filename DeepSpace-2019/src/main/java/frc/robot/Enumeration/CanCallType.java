@@ -0,0 +1,27 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2018 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package frc.robot.Enumeration;
+
+/**
+ * Kinds of motor controller calls the CanCounter tallies
+ */
+public enum CanCallType {
+	SET("Set"),       // new output, one control frame
+	CONFIG("Config"), // a setting like a gain, ramp or current limit, one frame and usually a wait for the reply
+	GET("Get");       // a status value; read from the latest status frame, but still a JNI call
+
+	private final String name;
+
+	CanCallType(String name) {
+		this.name = name;
+	}
+
+	public String toString() {
+		return name;
+	}
+}
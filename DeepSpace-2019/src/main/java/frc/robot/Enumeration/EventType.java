@@ -0,0 +1,33 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2018 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package frc.robot.Enumeration;
+
+/**
+ * Things worth writing down when they happen. What the event's value means depends on its type.
+ */
+public enum EventType {
+	GEAR_SHIFT("Gear Shift"),       // value = new gear, 1 or 2
+	MAST_PRESET("Mast Preset"),     // value = MastPosition.toInt()
+	CLAMP("Clamp"),                 // value = 1 opened, 0 closed
+	INTAKE("Intake"),               // value = 1 extended, 0 retracted
+	CAMERA("Camera"),               // value = 0 camera A, 1 camera B
+	BROWNOUT("Brownout"),           // value = battery volts when it started
+	MOTOR_RESET("Motor Reset"),     // value = MotorReconciler device index
+	STICKY_FAULTS("Sticky Faults"), // value = device index * 65536 + SPARK MAX sticky fault bits cleared to catch a reset
+	PARSE_ERROR("Parse Error");     // value = PacketError ordinal
+
+	private final String name;
+
+	EventType(String name) {
+		this.name = name;
+	}
+
+	public String toString() {
+		return name;
+	}
+}
@@ -0,0 +1,53 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2018 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package frc.robot.Enumeration;
+
+/**
+ * Every motor controller value that gets read over CAN, one slot each in the HardwareSnapshot
+ */
+public enum HardwareSignal {
+	LEFT_VELOCITY("Left Velocity"),
+	RIGHT_VELOCITY("Right Velocity"),
+	LEFT_POSITION("Left Position"),
+	RIGHT_POSITION("Right Position"),
+	LEFT_AMPS("Left Amps"),
+	RIGHT_AMPS("Right Amps"),
+
+	INNER_STAGE_POSITION("Inner Stage Position"),
+	OUTER_STAGE_POSITION("Outer Stage Position"),
+	INNER_STAGE_OUTPUT("Inner Stage Output"),
+	OUTER_STAGE_OUTPUT("Outer Stage Output"),
+	INNER_STAGE_AMPS("Inner Stage Amps"),
+	OUTER_STAGE_AMPS("Outer Stage Amps"),
+	INNER_STAGE_ERROR("Inner Stage Error"),
+	OUTER_STAGE_ERROR("Outer Stage Error"),
+	INNER_STAGE_LOW("Inner Stage Low"),
+	INNER_STAGE_HIGH("Inner Stage High"),
+	OUTER_STAGE_LOW("Outer Stage Low"),
+	OUTER_STAGE_HIGH("Outer Stage High"),
+
+	CLIMBER_OUTPUT("Climber Output"),
+	CLIMBER_AMPS("Climber Amps"),
+	CLIMBER_TEMPERATURE("Climber Temperature"),
+	FLIPPER_OUTPUT("Flipper Output"),
+	FLIPPER_AMPS("Flipper Amps"),
+	LAUNCHER_OUTPUT("Launcher Output"),
+	LAUNCHER_AMPS("Launcher Amps"),
+	INTAKE_OUTPUT("Intake Output"),
+	INTAKE_AMPS("Intake Amps");
+
+	private final String name;
+
+	HardwareSignal(String name) {
+		this.name = name;
+	}
+
+	public String toString() {
+		return name;
+	}
+}
@@ -0,0 +1,66 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2018 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package frc.robot.Enumeration;
+
+/**
+ * Ways the vision load generator can misbehave, from a perfect Pi to a terrible one
+ */
+public enum LoadProfile {
+	CLEAN(0, 0, 0, 0, "Clean"),
+	JITTERY(15, 0, 0, 0, "Jittery"),
+	REORDERING(5, .1, 0, 0, "Reordering"),
+	TRUNCATING(0, 0, .05, 0, "Truncating"),
+	GARBAGE(0, 0, 0, .05, "Garbage"),
+	HOSTILE(20, .1, .05, .05, "Hostile");
+
+	private final double jitterMillis;
+	private final double reorderChance;
+	private final double truncateChance;
+	private final double garbageChance;
+	private final String name;
+
+	LoadProfile(double jitterMillis, double reorderChance, double truncateChance, double garbageChance, String name) {
+		this.jitterMillis   = jitterMillis;
+		this.reorderChance  = reorderChance;
+		this.truncateChance = truncateChance;
+		this.garbageChance  = garbageChance;
+		this.name           = name;
+	}
+
+	/**
+	 * @return most a packet can be sent late by, in ms
+	 */
+	public double getJitterMillis() {
+		return jitterMillis;
+	}
+
+	/**
+	 * @return chance a packet gets held back and sent after the next one
+	 */
+	public double getReorderChance() {
+		return reorderChance;
+	}
+
+	/**
+	 * @return chance a packet gets cut short
+	 */
+	public double getTruncateChance() {
+		return truncateChance;
+	}
+
+	/**
+	 * @return chance random bytes get sent instead of a packet
+	 */
+	public double getGarbageChance() {
+		return garbageChance;
+	}
+
+	public String toString() {
+		return name;
+	}
+}
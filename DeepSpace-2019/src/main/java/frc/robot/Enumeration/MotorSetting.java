@@ -0,0 +1,33 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2018 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package frc.robot.Enumeration;
+
+/**
+ * Motor controller settings the MotorReconciler keeps applied. A controller forgets all of
+ * them when it resets, so they're what has to go back out after a brownout.
+ */
+public enum MotorSetting {
+	INVERTED("Inverted"),                   // 1 or 0
+	SENSOR_PHASE("Sensor Phase"),           // 1 or 0; Talons only, a SPARK MAX's encoder is built in
+	BRAKE("Brake"),                         // 1 brake, 0 coast
+	OPEN_LOOP_RAMP("Open Loop Ramp"),       // seconds from neutral to full
+	CURRENT_LIMIT("Current Limit"),         // amps
+	NOMINAL_OUTPUT("Nominal Output"),       // least percent output either way; Talons only
+	PEAK_OUTPUT("Peak Output"),             // most percent output either way; Talons only
+	CLOSED_LOOP_ERROR("Closed Loop Error"); // slot 0 allowable error in sensor units; Talons only
+
+	private final String name;
+
+	MotorSetting(String name) {
+		this.name = name;
+	}
+
+	public String toString() {
+		return name;
+	}
+}
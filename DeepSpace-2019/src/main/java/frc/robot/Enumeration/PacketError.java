@@ -0,0 +1,28 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2018 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package frc.robot.Enumeration;
+
+/**
+ * Reasons a vision datagram can fail to decode
+ */
+public enum PacketError {
+	NONE("None"),
+	TRUNCATED("Truncated"),
+	BAD_VERSION("Bad Version"),
+	MALFORMED_ASCII("Malformed ASCII");
+
+	private final String name;
+    
+	PacketError(String name) {
+		this.name = name;
+	}
+
+	public String toString() {
+		return name;
+	}
+}
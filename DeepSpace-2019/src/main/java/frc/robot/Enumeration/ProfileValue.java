@@ -0,0 +1,91 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2018 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package frc.robot.Enumeration;
+
+import frc.robot.Constants;
+
+/**
+ * Everything that differs between the competition and practice robots. The values come from
+ * the robot's profile file under src/main/deploy/profiles, where each key is the name here;
+ * the backups are the competition robot's, from Constants. Read them through Robot.PROFILE.
+ */
+public enum ProfileValue {
+	// CAN IDs; the controllers are built once, so a change only counts after a restart
+	LEFT_MASTER_ID(Constants.LEFT_MASTER_ID, true),
+	LEFT_SLAVE_ID(Constants.LEFT_SLAVE_ID, true),
+	RIGHT_MASTER_ID(Constants.RIGHT_MASTER_ID, true),
+	RIGHT_SLAVE_ID(Constants.RIGHT_SLAVE_ID, true),
+	CLIMBER_ID(Constants.CLIMBER_ID, true),
+	INNER_STAGE_ID(Constants.INNER_STAGE_ID, true),
+	OUTER_STAGE_ID(Constants.OUTER_STAGE_ID, true),
+	LAUNCHER_ID(Constants.LAUNCHER_ID, true),
+	INTAKE_ID(Constants.INTAKE_ID, true),
+	FLIPPER_ID(Constants.FLIPPER_ID, true),
+
+	// inverts
+	LEFT_DRIVE_INVERT(Constants.LEFT_DRIVE_INVERT),
+	RIGHT_DRIVE_INVERT(Constants.RIGHT_DRIVE_INVERT),
+	INNER_STAGE_INVERT(Constants.INNER_STAGE_INVERT),
+	INNER_STAGE_ENCODER_INVERT(Constants.INNER_STAGE_ENCODER_INVERT),
+	OUTER_STAGE_INVERT(Constants.OUTER_STAGE_INVERT),
+	OUTER_STAGE_ENCODER_INVERT(Constants.OUTER_STAGE_ENCODER_INVERT),
+	LAUNCHER_INVERT(Constants.LAUNCHER_INVERT),
+	INTAKE_INVERT(Constants.INTAKE_INVERT),
+	FLIPPER_INVERT(Constants.FLIPPER_INVERT),
+
+	// mast
+	INNER_MAST_TICKS_PER_INCH(Constants.INNER_MAST_TICKS_PER_INCH, false),
+	OUTER_MAST_TICKS_PER_INCH(Constants.OUTER_MAST_TICKS_PER_INCH, false),
+	CARGO_1_HEIGHT(Constants.CARGO_1_HEIGHT, false),        // inches
+	HATCH_2_HEIGHT(Constants.HATCH_2_HEIGHT, false),
+	CARGO_2_HEIGHT(Constants.CARGO_2_HEIGHT, false),
+	HATCH_3_HEIGHT(Constants.HATCH_3_HEIGHT, false),
+	CARGO_3_HEIGHT(Constants.CARGO_3_HEIGHT, false),
+	TOP_TIER_INNER_HEIGHT(Constants.TOP_TIER_INNER_HEIGHT, false);
+
+	private final double  backup;
+	private final boolean isBoolean;
+	private final boolean restartOnly;
+
+	ProfileValue(double backup, boolean restartOnly) {
+		this.backup      = backup;
+		this.restartOnly = restartOnly;
+		isBoolean        = false;
+	}
+
+	ProfileValue(boolean backup) {
+		this.backup = backup ? 1 : 0;
+		restartOnly = false;
+		isBoolean   = true;
+	}
+
+	/**
+	 * @return the value used when the profile doesn't have one; 1 or 0 for a boolean
+	 */
+	public double getBackup() {
+		return backup;
+	}
+
+	public boolean isBoolean() {
+		return isBoolean;
+	}
+
+	/**
+	 * @return true if a reload can't change it, because it's only read while the robot starts
+	 */
+	public boolean isRestartOnly() {
+		return restartOnly;
+	}
+
+	/**
+	 * @return the key in the profile file
+	 */
+	public String toString() {
+		return name();
+	}
+}
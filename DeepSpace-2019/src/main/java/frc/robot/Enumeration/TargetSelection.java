@@ -0,0 +1,27 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2018 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package frc.robot.Enumeration;
+
+/**
+ * Ways to pick one target when the Pi sees several
+ */
+public enum TargetSelection {
+	CLOSEST("Closest"),
+	MOST_CENTERED("Most Centered"),
+	STICKY("Sticky");
+
+	private final String name;
+    
+	TargetSelection(String name) {
+		this.name = name;
+	}
+
+	public String toString() {
+		return name;
+	}
+}
@@ -0,0 +1,33 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2018 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package frc.robot.Enumeration;
+
+/**
+ * How often a telemetry channel gets sampled
+ */
+public enum TelemetryRate {
+	FAST(50, "50 Hz"),
+	MEDIUM(10, "10 Hz"),
+	SLOW(1, "1 Hz");
+
+	private final int hertz;
+	private final String name;
+    
+	TelemetryRate(int hertz, String name) {
+		this.hertz = hertz;
+		this.name = name;
+	}
+	
+	public int toInt() {
+		return hertz;
+	}
+
+	public String toString() {
+		return name;
+	}
+}
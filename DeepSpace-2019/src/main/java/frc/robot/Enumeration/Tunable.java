@@ -0,0 +1,131 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2018 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package frc.robot.Enumeration;
+
+import frc.robot.Constants;
+
+/**
+ * Every value that can be changed from the Preferences table, declared once with its key,
+ * default and the range it's allowed in. Read them through Robot.CONFIG.
+ */
+public enum Tunable {
+	// driving
+	RL_RAMP("RL Ramp", Constants.BACKUP_RAMP, 0, 2),
+	CALEB_INHIBITOR("Caleb Inhibitor", 1, 0, 1),
+	DISENGAGE_INHIBITOR("Disengage Inhibitor", .2, 0, 1),
+	LOWER_DRIVE_INHIBITOR("Lower Drive Inhibitor", .4, 0, 1),
+	UPPER_DRIVE_INHIBITOR("Upper Drive Inhibitor", .8, 0, 1),
+	MURDER_INHIBITOR("Murder Inhibitor", 1, 0, 1),
+	SLOWDOWN_LOCKOUT("Lockout", 200, 0, 5000),    // ms
+	SLOWDOWN_TIME("Slowdown", 1000, 0, 5000),     // ms
+
+	// shifting
+	SHIFTER_LOCKOUT("Shifter Lockout", 2000, 0, 10000),        // ms
+	DISENGAGEMENT_TIME("Disengagement Time", 150, 0, 2000),    // ms
+	QUARTER_UPSHIFT_RPM("25 Upshift RPM", Constants.QUARTER_UPSHIFT_RPM, 0, 10000),
+	QUARTER_DOWNSHIFT_RPM("25 Downshift RPM", Constants.QUARTER_DOWNSHIFT_RPM, 0, 10000),
+	HALF_UPSHIFT_RPM("50 Upshift RPM", Constants.HALF_UPSHIFT_RPM, 0, 10000),
+	HALF_DOWNSHIFT_RPM("50 Downshift RPM", Constants.HALF_DOWNSHIFT_RPM, 0, 10000),
+	THREE_QUARTERS_UPSHIFT_RPM("75 Upshift RPM", Constants.THREE_QUARTERS_UPSHIFT_RPM, 0, 10000),
+	THREE_QUARTERS_DOWNSHIFT_RPM("75 Downshift RPM", Constants.THREE_QUARTERS_DOWNSHIFT_RPM, 0, 10000),
+	FULL_UPSHIFT_RPM("100 Upshift RPM", Constants.FULL_UPSHIFT_RPM, 0, 10000),
+	FULL_DOWNSHIFT_RPM("100 Downshift RPM", Constants.FULL_DOWNSHIFT_RPM, 0, 10000),
+
+	// mast
+	INNER_MAST_KP("Inner Mast kP", 0, 0, 100),
+	INNER_MAST_KI("Inner Mast kI", 0, 0, 100),
+	INNER_MAST_KD("Inner Mast kD", 0, 0, 1000),
+	INNER_MAST_KF("Inner Mast kF", 0, 0, 100),
+	OUTER_MAST_KP("Outer Mast kP", 0, 0, 100),
+	OUTER_MAST_KI("Outer Mast kI", 0, 0, 100),
+	OUTER_MAST_KD("Outer Mast kD", 0, 0, 1000),
+	OUTER_MAST_KF("Outer Mast kF", 0, 0, 100),
+	MAST_ALLOWABLE_ERROR("Mast Allowable Error", Constants.MAST_ALLOWABLE_ERROR, 0, 12), // inches
+	FIRST_STAGE_INHIBITOR("First Stage Inhibitor", 1, 0, 1),
+	SECOND_STAGE_INHIBITOR("Second Stage Inhibitor", 1, 0, 1),
+	TEST_MAST_KP("Test Mast kP", 0, 0, 100),
+	TEST_MAST_KI("Test Mast kI", 0, 0, 100),
+	TEST_MAST_KD("Test Mast kD", 0, 0, 1000),
+	TEST_MAST_KF("Test Mast kF", 0, 0, 100),
+	INNER_MAST_PID_INCHES("Inner Mast PID Inches", 10, 0, 60),
+	OUTER_MAST_PID_INCHES("Outer Mast PID Inches", 10, 0, 60),
+
+	// docking
+	DOCKING_KP("Docking kP", Constants.BACKUP_DOCKING_kP, 0, 10),
+	DOCKING_KI("Docking kI", Constants.BACKUP_DOCKING_kI, 0, 10),
+	DOCKING_KD("Docking kD", Constants.BACKUP_DOCKING_kD, 0, 10),
+	DOCKING_SPEED("Docking Speed", Constants.BACKUP_DOCKING_SPEED, 0, 1),
+	ALIGN_INHIBITOR("Align Inhibitor", .5, 0, 1),
+
+	// manipulators
+	EAT_SPEED("Eat Speed", 1, 0, 1),
+	SPIT_SPEED("Spit Speed", 1, 0, 1),
+	FLIP_STALL_TIME("Flip Stall Time", .5, 0, 5),  // seconds
+	FLIP_SPEED("Flip Speed", .2, 0, 1),
+
+	// vision
+	CAM_EXPOSURE("Cam Exposure", Constants.BACKUP_EXPOSURE, 0, 100),
+	LOCK_TIME("Lock Time", 500, 0, 5000),                                                 // ms
+	TRACKER_COAST_MS("Tracker Coast MS", Constants.BACKUP_TRACKER_COAST_MS, 0, 2000),
+	SENDER_HEARTBEAT_MS("Sender Heartbeat MS", Constants.BACKUP_SENDER_HEARTBEAT_MS, 20, 5000),
+	RECORD_VISION("Record Vision", false),
+
+	// diagnostics
+	CLIMB_PERIOD("Climb Period", 40, 0, 150),  // seconds left in the match when it's time to climb
+	CAN_FRAME_BUDGET("CAN Frame Budget", Constants.BACKUP_CAN_FRAME_BUDGET, 1, 1000),
+	TELEMETRY_STREAM("Telemetry Stream", false),
+	TELEMETRY_SERVER("Telemetry Server", false);
+
+	private final String  name;
+	private final double  backup;
+	private final double  min;
+	private final double  max;
+	private final boolean isBoolean;
+
+	Tunable(String name, double backup, double min, double max) {
+		this.name   = name;
+		this.backup = backup;
+		this.min    = min;
+		this.max    = max;
+		isBoolean   = false;
+	}
+
+	Tunable(String name, boolean backup) {
+		this.name   = name;
+		this.backup = backup ? 1 : 0;
+		min         = 0;
+		max         = 1;
+		isBoolean   = true;
+	}
+
+	/**
+	 * @return the value used when the Preferences table doesn't have one; 1 or 0 for a boolean
+	 */
+	public double getBackup() {
+		return backup;
+	}
+
+	public double getMin() {
+		return min;
+	}
+
+	public double getMax() {
+		return max;
+	}
+
+	public boolean isBoolean() {
+		return isBoolean;
+	}
+
+	/**
+	 * @return the Preferences key
+	 */
+	public String toString() {
+		return name;
+	}
+}
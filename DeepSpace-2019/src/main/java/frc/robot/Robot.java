@@ -7,15 +7,25 @@
 
 package frc.robot;
 
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.function.DoubleSupplier;
+
+import edu.wpi.first.networktables.NetworkTableInstance;
 import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.Preferences;
 import edu.wpi.first.wpilibj.TimedRobot;
 import edu.wpi.first.wpilibj.command.Scheduler;
 import edu.wpi.first.wpilibj.smartdashboard.SendableChooser;
 import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
+import frc.robot.Enumeration.Tunable;
 import frc.robot.Subsystems.SubsystemPreloader;
 import frc.robot.Enumeration.DriveScheme;
 import frc.robot.Enumeration.DriveSpeed;
+import frc.robot.Enumeration.EventType;
 import frc.robot.Enumeration.MastPosition;
+import frc.robot.Enumeration.TargetSelection;
+import frc.robot.Enumeration.TelemetryRate;
 import frc.robot.Subsystems.SubsystemCaleb;
 import frc.robot.Subsystems.SubsystemClamp;
 import frc.robot.Subsystems.SubsystemClimb;
@@ -27,7 +37,24 @@ import frc.robot.Subsystems.SubsystemMast;
 import frc.robot.Subsystems.SubsystemReceiver;
 import frc.robot.Subsystems.SubsystemSender;
 import frc.robot.Subsystems.SubsystemShifter;
+import frc.robot.Util.CanCounter;
+import frc.robot.Util.ChannelHistory;
+import frc.robot.Util.Config;
+import frc.robot.Util.Dashboard;
+import frc.robot.Util.DashboardEntry;
+import frc.robot.Util.EventLog;
+import frc.robot.Util.FlightRecorder;
+import frc.robot.Util.HardwareSnapshot;
+import frc.robot.Util.LoopProfiler;
+import frc.robot.Util.MotorReconciler;
+import frc.robot.Util.PreferenceWriter;
+import frc.robot.Util.RobotProfile;
+import frc.robot.Util.Telemetry;
+import frc.robot.Util.TelemetryRegistry;
+import frc.robot.Util.TelemetryServer;
+import frc.robot.Util.TelemetryStream;
 import frc.robot.Util.Util;
+import frc.robot.Util.VisionSnapshot;
 
 //        _____   _____   ____     ______
 //       |__  /  / ___/  / __ \   / ____/
@@ -46,6 +73,9 @@ import frc.robot.Util.Util;
  */
 public class Robot extends TimedRobot {
 
+  private static final DashboardEntry LOW_SPEED  = Dashboard.getEntry("Low Speed");
+  private static final DashboardEntry HIGH_SPEED = Dashboard.getEntry("High Speed");
+
   /**
    * Initialize Subsystems
    */
@@ -62,14 +92,47 @@ public class Robot extends TimedRobot {
   public static SubsystemSender     SUB_SENDER;
   public static SubsystemShifter    SUB_SHIFTER;
   public static OI                  OI;
+  public static Config              CONFIG;
+  public static PreferenceWriter    PREFERENCES;
+  public static RobotProfile        PROFILE; // which robot this is: CAN IDs, inverts, mast heights
   public static Vision              VISION;
+  public static Telemetry           TELEMETRY;
+  public static TelemetryStream     TELEMETRY_STREAM; // null unless "Telemetry Stream" is on
+  public static ChannelHistory      HISTORY;          // null unless "Telemetry Server" is on
+  public static TelemetryServer     TELEMETRY_SERVER;
+  public static FlightRecorder      FLIGHT_RECORDER;
+  public static HardwareSnapshot    HARDWARE;
+  public static LoopProfiler        PROFILER;
+  public static CanCounter          CAN;
+  public static MotorReconciler     MOTORS;
+  public static EventLog            EVENTS;
+  public static EventLog.Producer   MAIN_EVENTS; // main loop thread only; other threads get their own producer
+
+  /**
+   * Profiler stages for the fixed parts of the loop; commands add their own
+   */
+  private static int refreshStage;
+  private static int schedulerStage;
+  private static int telemetryStage;
+  private static int recorderStage;
+  private static int historyStage;
+  private static int healthStage;
+  private static long lastProfileReport;
+  private static long loopCount;
+  private static boolean brownedOut;
+
+  /**
+   * Vision snapshot for the loop being recorded, so every vision column comes from the same packet
+   */
+  private static VisionSnapshot flightSnapshot = VisionSnapshot.NONE;
 
 
   /**
    * Initialize Choosers
    */
-  SendableChooser<DriveScheme> schemeChooser;
-  public static DriveScheme    controlScheme;
+  SendableChooser<DriveScheme>     schemeChooser;
+  SendableChooser<TargetSelection> targetChooser;
+  public static DriveScheme        controlScheme;
 
 
 
@@ -84,6 +147,66 @@ public class Robot extends TimedRobot {
     DriverStation.reportWarning("GOOD LUCK, HAVE FUN", false);
     DriverStation.reportWarning("AIM FOR THE FRESHMAN", false);
 
+    /**
+     * Load the tunables before anything reads them; dashboard changes are picked up as they happen.
+     * Missing defaults are written in one batch in the background instead of one flash write each.
+     */
+    PREFERENCES = new PreferenceWriter(Preferences.getInstance(), Constants.PREFERENCE_DEBOUNCE_MS, Constants.PREFERENCE_MAX_DELAY_MS);
+    PREFERENCES.start();
+    CONFIG = new Config(Preferences.getInstance(), PREFERENCES, NetworkTableInstance.getDefault().getTable("Preferences"),
+                        message -> DriverStation.reportWarning(message, false));
+
+    /**
+     * Load the robot profile before the subsystems, which take their CAN IDs from it
+     */
+    PROFILE = new RobotProfile(Paths.get(Constants.PROFILE_DIRECTORY), Paths.get(Constants.ROBOT_IDENTITY_FILE), Constants.BACKUP_PROFILE,
+                               Constants.PROFILE_SETTLE_MS, message -> DriverStation.reportWarning(message, false));
+    DriverStation.reportWarning("ROBOT PROFILE: " + PROFILE.getName(), false);
+
+    /**
+     * Instantiate the hardware snapshot next; subsystems register their signals with it
+     */
+    HARDWARE = new HardwareSnapshot();
+
+    /**
+     * Instantiate the loop profiler; commands register their stages with it as they run
+     */
+    PROFILER       = new LoopProfiler(1_000_000_000L / Constants.LOOP_HZ);
+    refreshStage   = PROFILER.getStage("Hardware Refresh");
+    schedulerStage = PROFILER.getStage("Scheduler");
+      PROFILER.setContainer(schedulerStage);
+    telemetryStage = PROFILER.getStage("Telemetry");
+    recorderStage  = PROFILER.getStage("Flight Recorder");
+    historyStage   = PROFILER.getStage("History");
+    healthStage    = PROFILER.getStage("Receiver Health");
+
+    /**
+     * Instantiate the CAN counter; every motor controller reports its calls to it
+     */
+    CAN = new CanCounter(Constants.LOOP_HZ, Constants.BACKUP_CAN_FRAME_BUDGET);
+
+    /**
+     * Start the event log before the subsystems, which log to it from their constructors on
+     */
+    try {
+      Util.deleteOldFiles(Paths.get(Constants.EVENT_LOG_DIRECTORY), "events-*.csv", Constants.EVENT_LOG_FILES - 1);
+    } catch (IOException e) { //thrown when old event logs can't be listed or deleted
+      DriverStation.reportWarning("COULD NOT DELETE OLD EVENT LOGS", false);
+    }
+    EVENTS = new EventLog(Paths.get(Constants.EVENT_LOG_DIRECTORY, "events-" + System.currentTimeMillis() + ".csv"),
+                          message -> DriverStation.reportWarning(message, false),
+                          Constants.EVENT_DRAIN_MS, Constants.EVENT_REPORT_MS, Constants.EVENT_LOG_MAX_BYTES);
+    if (!EVENTS.isFileOpen()) {
+      DriverStation.reportError("EVENT LOG COULD NOT OPEN ITS FILE", false);
+    }
+    MAIN_EVENTS = EVENTS.newProducer("Main", Constants.EVENT_RING_SIZE);
+    EVENTS.start();
+
+    /**
+     * Instantiate the motor reconciler; subsystems add their controllers and settings to it, then it starts below
+     */
+    MOTORS = new MotorReconciler(MAIN_EVENTS, Constants.TALON_CONFIG_TIMEOUT_MS, Constants.CONFIG_RETRY_MS);
+
     /**
      * Instantiate Subsystems
      */
@@ -101,6 +224,85 @@ public class Robot extends TimedRobot {
     SUB_SHIFTER    = new SubsystemShifter();
     OI             = new OI();
     VISION         = new Vision();
+    TELEMETRY      = new Telemetry();
+    FLIGHT_RECORDER = new FlightRecorder();
+    MOTORS.start();
+
+    /**
+     * Watch the robot profile; a deployed change is picked up without a restart
+     */
+    PROFILE.onReload(() -> {
+      SUB_DRIVE.setInverts();
+      SUB_MAST.setInverts();
+      SUB_FLIPPER.setInvert();
+      SUB_LAUNCHER.setInverts();
+      SUB_PRELOADER.setInvert();
+      DriverStation.reportWarning("ROBOT PROFILE RELOADED", false);
+    });
+    PROFILE.start();
+
+    /**
+     * Put Subsystems on the dashboard; SmartDashboard keeps them updated from here
+     */
+    SmartDashboard.putData("Sub_Caleb", SUB_CALEB);
+    SmartDashboard.putData("Sub_Clamp", SUB_CLAMP);
+    SmartDashboard.putData("Sub_Climb", SUB_CLIMB);
+    SmartDashboard.putData("Sub_Compressor", SUB_COMPRESSOR);
+    SmartDashboard.putData("Sub_Drive", SUB_DRIVE);
+    SmartDashboard.putData("Sub_Flipper", SUB_FLIPPER);
+    SmartDashboard.putData("Sub_Launcher", SUB_LAUNCHER);
+    SmartDashboard.putData("Sub_Mast", SUB_MAST);
+    SmartDashboard.putData("Sub_Preloader", SUB_PRELOADER);
+    SmartDashboard.putData("Sub_Receiver", SUB_RECEIVER);
+    SmartDashboard.putData("Sub_Sender", SUB_SENDER);
+    SmartDashboard.putData("Sub_Shifter", SUB_SHIFTER);
+
+    /**
+     * Start Telemetry. The flight recorder and telemetry server read their values back from it,
+     * so everything has to be registered before it starts
+     */
+    registerTelemetry();
+    registerLoopValues();
+    registerFlightRecorder();
+    if (Robot.CONFIG.getBoolean(Tunable.TELEMETRY_SERVER)) {
+      HISTORY = new ChannelHistory(Constants.HISTORY_RECORDS);
+      registerHistory();
+    }
+    TELEMETRY.start();
+
+    /**
+     * Start the binary telemetry stream; watch it with frc.robot.Tools.TelemetryReceiver or TelemetryPlotter
+     */
+    if (Robot.CONFIG.getBoolean(Tunable.TELEMETRY_STREAM)) {
+      try {
+        TELEMETRY_STREAM = new TelemetryStream(TELEMETRY, Constants.TELEMETRY_STREAM_PORT, Constants.LOOP_HZ / Constants.TELEMETRY_STREAM_HZ);
+        TELEMETRY_STREAM.start();
+      } catch (IOException e) { //thrown when the socket cannot be opened
+        DriverStation.reportError("TELEMETRY STREAM COULD NOT OPEN ITS SOCKET", true);
+      }
+    }
+
+    /**
+     * Start Flight Recorder; decode its logs with frc.robot.Tools.DecodeFlightLog
+     */
+    try {
+      FLIGHT_RECORDER.open(Paths.get(Constants.FLIGHT_LOG_DIRECTORY), Constants.FLIGHT_LOG_RECORDS, Constants.FLIGHT_LOG_FILES);
+    } catch (IOException e) { //thrown when the log file cannot be created
+      DriverStation.reportError("FLIGHT RECORDER COULD NOT OPEN ITS LOG", true);
+    }
+
+    /**
+     * Start the telemetry server; browse to port TELEMETRY_SERVER_PORT for full-rate channel history
+     */
+    if (HISTORY != null) {
+      try {
+        TELEMETRY_SERVER = new TelemetryServer(HISTORY, Constants.TELEMETRY_SERVER_PORT, Constants.LOOP_HZ);
+        TELEMETRY_SERVER.start();
+      } catch (IOException e) { //thrown when the socket cannot be opened
+        DriverStation.reportError("TELEMETRY SERVER COULD NOT OPEN ITS SOCKET", true);
+        HISTORY = null;
+      }
+    }
 
     /**
      * Instantiate Control Scheme Chooser
@@ -110,6 +312,15 @@ public class Robot extends TimedRobot {
       schemeChooser.addOption(DriveScheme.RL_HILO.toString(), DriveScheme.RL_HILO);
       SmartDashboard.putData("Drive Scheme", schemeChooser);
 
+    /**
+     * Instantiate Target Selection Chooser
+     */
+    targetChooser = new SendableChooser<>();
+      targetChooser.setDefaultOption(TargetSelection.STICKY.toString(), TargetSelection.STICKY);
+      targetChooser.addOption(TargetSelection.CLOSEST.toString(), TargetSelection.CLOSEST);
+      targetChooser.addOption(TargetSelection.MOST_CENTERED.toString(), TargetSelection.MOST_CENTERED);
+      SmartDashboard.putData("Target Selection", targetChooser);
+
 
     DriverStation.reportWarning("ROBOT INIT COMPLETE", false);
   }
@@ -124,79 +335,202 @@ public class Robot extends TimedRobot {
    */
   @Override
   public void robotPeriodic() {
-    SmartDashboard.putNumber("Left Motor", 100 * Robot.SUB_DRIVE.getMotorValues()[0]);
-    SmartDashboard.putNumber("Right Motor", 100 * Robot.SUB_DRIVE.getMotorValues()[2]);
-    SmartDashboard.putNumber("Left Amps", Robot.SUB_DRIVE.getAmps()[0]);
-    SmartDashboard.putNumber("Right Amps", Robot.SUB_DRIVE.getAmps()[1]);
-    // SmartDashboard.putNumber("Left Velocity", Robot.SUB_DRIVE.getVelocities()[0]);
-    // SmartDashboard.putNumber("Right Velocity", Robot.SUB_DRIVE.getVelocities()[1]);
-
-    // SmartDashboard.putNumber("Current Left RPM", Robot.SUB_DRIVE.getVelocities()[0]);
-    // SmartDashboard.putNumber("Current Right RPM", Robot.SUB_DRIVE.getVelocities()[1]);
-
-    SmartDashboard.putBoolean("Updated", Robot.SUB_RECEIVER.getSecondsSinceUpdate() < 1);
-
-    // SmartDashboard.putBoolean("Pushing", Robot.SUB_DRIVE.isPushing());
-    SmartDashboard.putNumber("Top Speed", Robot.SUB_DRIVE.getTopSpeed());
-    SmartDashboard.putNumber("Current Speed", Robot.SUB_DRIVE.getCurrentSpeed());
-
-    SmartDashboard.putBoolean("First Gear", Robot.SUB_SHIFTER.isFirstGear());
-    SmartDashboard.putBoolean("Second Gear", !Robot.SUB_SHIFTER.isFirstGear());
-    SmartDashboard.putBoolean("Auto Shifting", Robot.SUB_SHIFTER.isAutoShifting());
-
-    SmartDashboard.putBoolean("Hatch 1", Robot.SUB_MAST.getStoredPosition() == MastPosition.HATCH_1);
-    SmartDashboard.putBoolean("Cargo 1", Robot.SUB_MAST.getStoredPosition() == MastPosition.CARGO_1);
-    SmartDashboard.putBoolean("Hatch 2", Robot.SUB_MAST.getStoredPosition() == MastPosition.HATCH_2);
-    SmartDashboard.putBoolean("Cargo 2", Robot.SUB_MAST.getStoredPosition() == MastPosition.CARGO_2);
-    SmartDashboard.putBoolean("Hatch 3", Robot.SUB_MAST.getStoredPosition() == MastPosition.HATCH_3);
-    SmartDashboard.putBoolean("Cargo 3", Robot.SUB_MAST.getStoredPosition() == MastPosition.CARGO_3);
-
-    SmartDashboard.putBoolean("Climber Engaged", !Robot.SUB_CLIMB.getSafetyMode());
-    SmartDashboard.putNumber("Climber Amps", Robot.SUB_CLIMB.getAmperage());
-    SmartDashboard.putNumber("Climber Motor", Robot.SUB_CLIMB.getOutput());
-    SmartDashboard.putNumber("Climber Temp", Robot.SUB_CLIMB.getTemperature());
+    // HARDWARE was already refreshed by this mode's periodic function, so everything below reads the same loop's values
+    long start = System.nanoTime();
+    flightSnapshot = Robot.SUB_RECEIVER.getLatestSnapshot();
+    TELEMETRY.sample(); // also reads everything the flight recorder and history record below
+    if (TELEMETRY_STREAM != null) {
+      TELEMETRY_STREAM.sample();
+    }
+    long sampled = System.nanoTime();
+    PROFILER.record(telemetryStage, sampled - start);
 
-    SmartDashboard.putNumber("Flipper Amps", Robot.SUB_FLIPPER.getAmps());
-    SmartDashboard.putNumber("Flipper Motor", Robot.SUB_FLIPPER.getPercentOutput() * 100);
+    FLIGHT_RECORDER.record();
+    long recorded = System.nanoTime();
+    PROFILER.record(recorderStage, recorded - sampled);
 
-    SmartDashboard.putNumber("Hood Amps", Robot.SUB_LAUNCHER.getAmps());
-    SmartDashboard.putNumber("Ball Hood", Robot.SUB_LAUNCHER.getPercentOutput() * 100);
+    if (HISTORY != null) {
+      HISTORY.record();
+    }
+    long historied = System.nanoTime();
+    PROFILER.record(historyStage, historied - recorded);
+
+    Robot.SUB_RECEIVER.publishHealth();
+    PROFILER.record(healthStage, System.nanoTime() - historied);
+
+    boolean browningOut = DriverStation.getInstance().isBrownedOut();
+    if (browningOut != brownedOut) {
+      brownedOut = browningOut;
+      if (browningOut) {
+        MAIN_EVENTS.log(EventType.BROWNOUT, DriverStation.getInstance().getBatteryVoltage());
+      } else {
+        MOTORS.resendAll(); // a controller can reset during a brownout without reporting it yet
+      }
+    }
 
-    SmartDashboard.putNumber("Intake Amps", Robot.SUB_PRELOADER.getAmps());
-    SmartDashboard.putNumber("Ball Intake", Robot.SUB_PRELOADER.getPercentOutput() * 100);
+    PROFILER.endLoop();
+    CAN.endLoop();
+    if (System.currentTimeMillis() - lastProfileReport >= Constants.PROFILE_REPORT_MS) {
+      lastProfileReport = System.currentTimeMillis();
+      PROFILER.report();
+      CAN.setBudget((int) Robot.CONFIG.get(Tunable.CAN_FRAME_BUDGET));
+      CAN.report();
+    }
+  }
 
-    SmartDashboard.putNumber("First Stage Amps", Robot.SUB_MAST.getAmperage()[0]);
-    SmartDashboard.putNumber("Second Stage Amps", Robot.SUB_MAST.getAmperage()[1]);
+  /**
+   * Starts the loop: begins timing it, refreshes the hardware snapshot, samples the drivetrain pose from it
+   * and puts back the invert and brake mode of any motor controller that reset.
+   * Called first thing in every mode's periodic function.
+   */
+  private static void startLoop() {
+    PROFILER.beginLoop();
+    EVENTS.setLoop(++loopCount);
+    long start = System.nanoTime();
+    HARDWARE.refresh();
+    SUB_DRIVE.recordPose();
+    MOTORS.checkResets();
+    PROFILER.record(refreshStage, System.nanoTime() - start);
+  }
 
-    SmartDashboard.putBoolean("Caleb is Illiterate", true);
+  /**
+   * Runs the scheduler, timing it as a whole; each ProfiledCommand times itself inside it
+   */
+  private static void runScheduler() {
+    long start = System.nanoTime();
+    Scheduler.getInstance().run();
+    PROFILER.record(schedulerStage, System.nanoTime() - start);
+  }
 
-    SmartDashboard.putBoolean("Target Spotted", Robot.SUB_RECEIVER.getLastKnownData()[2] != -1);
+  /**
+   * Registers every dashboard value with the telemetry service.
+   * Subsystem getters are picked up from their @Telemetered annotations; only values
+   * that aren't a single getter are added by hand here.
+   */
+  private void registerTelemetry() {
+    TelemetryRegistry.register(TELEMETRY, Robot.SUB_DRIVE);
+    TelemetryRegistry.register(TELEMETRY, Robot.SUB_SHIFTER);
+    TelemetryRegistry.register(TELEMETRY, Robot.SUB_MAST);
+    TelemetryRegistry.register(TELEMETRY, Robot.SUB_CLIMB);
+    TelemetryRegistry.register(TELEMETRY, Robot.SUB_FLIPPER);
+    TelemetryRegistry.register(TELEMETRY, Robot.SUB_LAUNCHER);
+    TelemetryRegistry.register(TELEMETRY, Robot.SUB_PRELOADER);
+    TelemetryRegistry.register(TELEMETRY, Robot.SUB_RECEIVER);
+
+    TELEMETRY.addBoolean("Hatch 1", TelemetryRate.MEDIUM, () -> Robot.SUB_MAST.getStoredPosition() == MastPosition.HATCH_1);
+    TELEMETRY.addBoolean("Cargo 1", TelemetryRate.MEDIUM, () -> Robot.SUB_MAST.getStoredPosition() == MastPosition.CARGO_1);
+    TELEMETRY.addBoolean("Hatch 2", TelemetryRate.MEDIUM, () -> Robot.SUB_MAST.getStoredPosition() == MastPosition.HATCH_2);
+    TELEMETRY.addBoolean("Cargo 2", TelemetryRate.MEDIUM, () -> Robot.SUB_MAST.getStoredPosition() == MastPosition.CARGO_2);
+    TELEMETRY.addBoolean("Hatch 3", TelemetryRate.MEDIUM, () -> Robot.SUB_MAST.getStoredPosition() == MastPosition.HATCH_3);
+    TELEMETRY.addBoolean("Cargo 3", TelemetryRate.MEDIUM, () -> Robot.SUB_MAST.getStoredPosition() == MastPosition.CARGO_3);
+
+    TELEMETRY.addBoolean("Caleb is Illiterate", TelemetryRate.SLOW, () -> true);
+    TELEMETRY.addBoolean("Climb Time", TelemetryRate.SLOW, () -> DriverStation.getInstance().getMatchTime() < Robot.CONFIG.get(Tunable.CLIMB_PERIOD));
+    TELEMETRY.addNumber("Telemetry Sample us", TelemetryRate.SLOW, 1, () -> TELEMETRY.getSampleNanos() / 1000.0);
+    TELEMETRY.addNumber("CAN Reads per Loop", TelemetryRate.SLOW, 0, () -> HARDWARE.getSignalCount());
+    TELEMETRY.addNumber("Motor Resets", TelemetryRate.SLOW, 0, () -> MOTORS.getResetCount());
+    TELEMETRY.addNumber("Motor Settings Pending", TelemetryRate.SLOW, 0, () -> MOTORS.getPendingCount());
+  }
 
-    // SmartDashboard.putNumber("Inner Mast Position", Robot.SUB_MAST.getEncoderValues()[0]);
-    // SmartDashboard.putNumber("Outer Mast Position", Robot.SUB_MAST.getEncoderValues()[1]);
+  /**
+   * Values the flight recorder and telemetry server want every loop that aren't dashboard
+   * channels. TELEMETRY reads these, and the dashboard channels they share, once a loop.
+   */
+  private void registerLoopValues() {
+    DriverStation ds = DriverStation.getInstance();
+    for (int stick = 0; stick < 2; stick++) {
+      String name = stick == 0 ? "Driver" : "Operator";
+      int    port = stick;
+      for (int axis = 0; axis < 6; axis++) {
+        int index = axis;
+        TELEMETRY.addLoopValue(name + " Axis " + axis, () -> ds.getStickAxis(port, index));
+      }
+      TELEMETRY.addLoopValue(name + " Buttons", () -> ds.getStickButtons(port)); // bit 0 = button 1
+    }
 
-    SmartDashboard.putNumber("Inner Mast Inches", Robot.SUB_MAST.getEncoderValues()[0] / Constants.INNER_MAST_TICKS_PER_INCH);
-    SmartDashboard.putNumber("Outer Mast Inches", Robot.SUB_MAST.getEncoderValues()[1] / Constants.OUTER_MAST_TICKS_PER_INCH);
+    TELEMETRY.addLoopValue("Left Position", () -> Robot.SUB_DRIVE.getLeftPosition());
+    TELEMETRY.addLoopValue("Right Position", () -> Robot.SUB_DRIVE.getRightPosition());
+    TELEMETRY.addLoopValue("Left Velocity", () -> Robot.SUB_DRIVE.getLeftVelocity());
+    TELEMETRY.addLoopValue("Right Velocity", () -> Robot.SUB_DRIVE.getRightVelocity());
+
+    TELEMETRY.addLoopValue("Inner Stage Position", () -> Robot.SUB_MAST.getInnerStagePosition());
+    TELEMETRY.addLoopValue("Outer Stage Position", () -> Robot.SUB_MAST.getOuterStagePosition());
+    TELEMETRY.addLoopValue("Inner Stage Error", () -> Robot.SUB_MAST.getInnerStageError());
+    TELEMETRY.addLoopValue("Outer Stage Error", () -> Robot.SUB_MAST.getOuterStageError());
+    TELEMETRY.addLoopValue("Mast Position", () -> Robot.SUB_MAST.getStoredPosition().toInt());
+
+    TELEMETRY.addLoopValue("Battery Volts", () -> ds.getBatteryVoltage());
+
+    TELEMETRY.addLoopValue("Vision Sequence", () -> flightSnapshot.getSequence());
+    TELEMETRY.addLoopValue("Vision Age ms", () -> (System.nanoTime() - flightSnapshot.getReceiveNanos()) / 1e6);
+    TELEMETRY.addLoopValue("Vision Targets", () -> flightSnapshot.getTargetCount());
+    TELEMETRY.addLoopValue("Vision Distance", () -> flightSnapshot.getDistance());
+    TELEMETRY.addLoopValue("Vision Angle", () -> flightSnapshot.getAngle());
+    TELEMETRY.addLoopValue("Tracked Angle", () -> Robot.SUB_RECEIVER.getTrackedAngle());
+  }
 
-    SmartDashboard.putBoolean("Climb Time", DriverStation.getInstance().getMatchTime() < Util.getAndSetDouble("Climb Period", 40));
-    Robot.SUB_MAST.publishInnerStagePIDData();
-    Robot.SUB_MAST.publishOuterStagePIDData();
+  /**
+   * Lists what the telemetry server can serve: the values worth watching at full rate while
+   * tuning the mast PIDF and auto-shift
+   */
+  private void registerHistory() {
+    HISTORY.addChannel("Inner Stage Position", TELEMETRY.getLoopValue("Inner Stage Position"));
+    HISTORY.addChannel("Outer Stage Position", TELEMETRY.getLoopValue("Outer Stage Position"));
+    HISTORY.addChannel("Inner Stage Error", TELEMETRY.getLoopValue("Inner Stage Error"));
+    HISTORY.addChannel("Outer Stage Error", TELEMETRY.getLoopValue("Outer Stage Error"));
+    HISTORY.addChannel("Inner Stage Output", TELEMETRY.getLoopValue("Inner %"));
+    HISTORY.addChannel("Outer Stage Output", TELEMETRY.getLoopValue("Outer %"));
+
+    HISTORY.addChannel("Left Velocity", TELEMETRY.getLoopValue("Left Velocity"));
+    HISTORY.addChannel("Right Velocity", TELEMETRY.getLoopValue("Right Velocity"));
+    HISTORY.addChannel("Left Output", TELEMETRY.getLoopValue("Left Motor"));
+    HISTORY.addChannel("Right Output", TELEMETRY.getLoopValue("Right Motor"));
+    DoubleSupplier firstGear = TELEMETRY.getLoopValue("First Gear");
+    HISTORY.addChannel("Gear", () -> firstGear.getAsDouble() != 0 ? 1 : 2);
+  }
 
-    Robot.SUB_MAST.publishLimitSwitches();
+  /**
+   * Lists what the flight recorder writes every loop. Everything comes from TELEMETRY's raw
+   * values for the loop, so unlike the dashboard nothing here is rate limited or deadbanded.
+   */
+  private void registerFlightRecorder() {
+    for (int stick = 0; stick < 2; stick++) {
+      String name = stick == 0 ? "Driver" : "Operator";
+      for (int axis = 0; axis < 6; axis++) {
+        FLIGHT_RECORDER.addColumn(name + " Axis " + axis, TELEMETRY.getLoopValue(name + " Axis " + axis));
+      }
+      FLIGHT_RECORDER.addColumn(name + " Buttons", TELEMETRY.getLoopValue(name + " Buttons"));
+    }
 
-    SmartDashboard.putData("Sub_Caleb", SUB_CALEB);
-    SmartDashboard.putData("Sub_Clamp", SUB_CLAMP);
-    SmartDashboard.putData("Sub_Climb", SUB_CLIMB);
-    SmartDashboard.putData("Sub_Compressor", SUB_COMPRESSOR);
-    SmartDashboard.putData("Sub_Drive", SUB_DRIVE);
-    SmartDashboard.putData("Sub_Flipper", SUB_FLIPPER);
-    SmartDashboard.putData("Sub_Launcher", SUB_LAUNCHER);
-    SmartDashboard.putData("Sub_Mast", SUB_MAST);
-    SmartDashboard.putData("Sub_Preloader", SUB_PRELOADER);
-    SmartDashboard.putData("Sub_Receiver", SUB_RECEIVER);
-    SmartDashboard.putData("Sub_Sender", SUB_SENDER);
-    SmartDashboard.putData("Sub_Shifter", SUB_SHIFTER);
-    // SmartDashboard.putNumber("Bandwidth", Robot.VISION.getTotalBandwidth());
+    FLIGHT_RECORDER.addColumn("Left Position", TELEMETRY.getLoopValue("Left Position"));
+    FLIGHT_RECORDER.addColumn("Right Position", TELEMETRY.getLoopValue("Right Position"));
+    FLIGHT_RECORDER.addColumn("Left Output", TELEMETRY.getLoopValue("Left Motor"));
+    FLIGHT_RECORDER.addColumn("Right Output", TELEMETRY.getLoopValue("Right Motor"));
+    FLIGHT_RECORDER.addColumn("Left Amps", TELEMETRY.getLoopValue("Left Amps"));
+    FLIGHT_RECORDER.addColumn("Right Amps", TELEMETRY.getLoopValue("Right Amps"));
+    DoubleSupplier firstGear = TELEMETRY.getLoopValue("First Gear");
+    FLIGHT_RECORDER.addColumn("Gear", () -> firstGear.getAsDouble() != 0 ? 1 : 2);
+
+    FLIGHT_RECORDER.addColumn("Inner Stage Position", TELEMETRY.getLoopValue("Inner Stage Position"));
+    FLIGHT_RECORDER.addColumn("Outer Stage Position", TELEMETRY.getLoopValue("Outer Stage Position"));
+    FLIGHT_RECORDER.addColumn("Inner Stage Output", TELEMETRY.getLoopValue("Inner %"));
+    FLIGHT_RECORDER.addColumn("Outer Stage Output", TELEMETRY.getLoopValue("Outer %"));
+    FLIGHT_RECORDER.addColumn("Inner Stage Amps", TELEMETRY.getLoopValue("First Stage Amps"));
+    FLIGHT_RECORDER.addColumn("Outer Stage Amps", TELEMETRY.getLoopValue("Second Stage Amps"));
+    FLIGHT_RECORDER.addColumn("Mast Position", TELEMETRY.getLoopValue("Mast Position"));
+
+    FLIGHT_RECORDER.addColumn("Climber Output", TELEMETRY.getLoopValue("Climber Motor"));
+    FLIGHT_RECORDER.addColumn("Climber Amps", TELEMETRY.getLoopValue("Climber Amps"));
+    FLIGHT_RECORDER.addColumn("Flipper Output", TELEMETRY.getLoopValue("Flipper Motor"));
+    FLIGHT_RECORDER.addColumn("Flipper Amps", TELEMETRY.getLoopValue("Flipper Amps"));
+    FLIGHT_RECORDER.addColumn("Battery Volts", TELEMETRY.getLoopValue("Battery Volts"));
+
+    FLIGHT_RECORDER.addColumn("Vision Sequence", TELEMETRY.getLoopValue("Vision Sequence"));
+    FLIGHT_RECORDER.addColumn("Vision Age ms", TELEMETRY.getLoopValue("Vision Age ms"));
+    FLIGHT_RECORDER.addColumn("Vision Targets", TELEMETRY.getLoopValue("Vision Targets"));
+    FLIGHT_RECORDER.addColumn("Vision Distance", TELEMETRY.getLoopValue("Vision Distance"));
+    FLIGHT_RECORDER.addColumn("Vision Angle", TELEMETRY.getLoopValue("Vision Angle"));
+    FLIGHT_RECORDER.addColumn("Tracked Angle", TELEMETRY.getLoopValue("Tracked Angle"));
   }
 
   /**
@@ -212,6 +546,7 @@ public class Robot extends TimedRobot {
    */
   @Override
   public void autonomousInit() {
+    PROFILER.resetSession();
     Robot.SUB_DRIVE.setBraking(true);
     initChecklist();
   }
@@ -221,10 +556,14 @@ public class Robot extends TimedRobot {
    */
   @Override
   public void autonomousPeriodic() {
-    Scheduler.getInstance().run();
+    startLoop();
+    runScheduler();
     if (schemeChooser.getSelected() != null){
       controlScheme = schemeChooser.getSelected();
     }
+    if (targetChooser.getSelected() != null){
+      Robot.SUB_RECEIVER.setTargetSelection(targetChooser.getSelected());
+    }
   }
 
   /**
@@ -232,10 +571,14 @@ public class Robot extends TimedRobot {
    */
   @Override
   public void teleopPeriodic() {
-    Scheduler.getInstance().run();
+    startLoop();
+    runScheduler();
     if (schemeChooser.getSelected() != null){
       controlScheme = schemeChooser.getSelected();
     }
+    if (targetChooser.getSelected() != null){
+      Robot.SUB_RECEIVER.setTargetSelection(targetChooser.getSelected());
+    }
   }
 
   @Override
@@ -247,17 +590,32 @@ public class Robot extends TimedRobot {
    */
   @Override
   public void testPeriodic() {
+    startLoop();
+  }
+
+  /**
+   * This function is called periodically while disabled.
+   */
+  @Override
+  public void disabledPeriodic() {
+    startLoop();
   }
   
   public void disabledInit() {
+    FLIGHT_RECORDER.force();
+    if (PROFILER.getLoopCount() > 0) {
+      DriverStation.reportWarning("LOOP PROFILE: " + PROFILER.getSessionOverruns() + " OVERRUNS, LAST " + PROFILER.getLastOverrun()
+                                  + "\n" + PROFILER.getSessionReport(), false);
+      PROFILER.resetSession(); // so the next enable, auto or not, is a session of its own
+    }
     Robot.SUB_DRIVE.setBraking(true);
     Robot.SUB_SHIFTER.downShift();
   }
 
   public void initChecklist() {
     Robot.SUB_DRIVE.setDriveSpeed(DriveSpeed.LOW);
-      SmartDashboard.putBoolean("Low Speed", true);
-      SmartDashboard.putBoolean("High Speed", false);
+      LOW_SPEED.setBoolean(true);
+      HIGH_SPEED.setBoolean(false);
       Robot.SUB_DRIVE.setBraking(true);
     Robot.SUB_CLAMP.closeClamp();
     // Robot.SUB_SHIFTER.upShift();
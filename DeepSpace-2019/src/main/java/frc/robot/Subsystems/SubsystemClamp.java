@@ -7,17 +7,21 @@
 
 package frc.robot.Subsystems;
 
-import edu.wpi.first.wpilibj.DriverStation;
 import edu.wpi.first.wpilibj.Solenoid;
 import edu.wpi.first.wpilibj.command.Subsystem;
-import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
 import frc.robot.Constants;
+import frc.robot.Robot;
+import frc.robot.Enumeration.EventType;
+import frc.robot.Util.Dashboard;
+import frc.robot.Util.DashboardEntry;
 
 /**
  * Hatch Cover clamp on the swinging manipulator
  */
 public class SubsystemClamp extends Subsystem {
 
+  private static final DashboardEntry OPEN_CLAMP = Dashboard.getEntry("Open Clamp");
+
   private boolean isOpen;
   
   private Solenoid close;
@@ -37,8 +41,8 @@ public class SubsystemClamp extends Subsystem {
    * Closes the clamp
    */
   public void closeClamp() {
-    DriverStation.reportWarning("closing", false);
-    SmartDashboard.putBoolean("Open Clamp", false);
+    Robot.MAIN_EVENTS.log(EventType.CLAMP, 0);
+    OPEN_CLAMP.setBoolean(false);
     isOpen = false;
     close.set(true);
     open.set(false);
@@ -48,8 +52,8 @@ public class SubsystemClamp extends Subsystem {
    * Opens the clamp
    */
   public void openClamp() {
-    DriverStation.reportWarning("opening", false);
-    SmartDashboard.putBoolean("Open Clamp", true);
+    Robot.MAIN_EVENTS.log(EventType.CLAMP, 1);
+    OPEN_CLAMP.setBoolean(true);
     isOpen = true;
     close.set(false);
     open.set(true);
@@ -16,6 +16,13 @@ import edu.wpi.first.wpilibj.DriverStation;
 import edu.wpi.first.wpilibj.Joystick;
 import edu.wpi.first.wpilibj.command.Subsystem;
 import frc.robot.Constants;
+import frc.robot.Robot;
+import frc.robot.Enumeration.HardwareSignal;
+import frc.robot.Enumeration.MotorSetting;
+import frc.robot.Enumeration.ProfileValue;
+import frc.robot.Enumeration.TelemetryRate;
+import frc.robot.Util.CountingSparkMax;
+import frc.robot.Util.Telemetered;
 import frc.robot.Util.Xbox;
 
 /**
@@ -25,6 +32,7 @@ public class SubsystemClimb extends Subsystem {
 
   // private static TalonSRX climber;
   private static CANSparkMax climber;
+  private static int         climberConfig; // device index in Robot.MOTORS
 
   private boolean safetyMode;
 
@@ -35,8 +43,13 @@ public class SubsystemClimb extends Subsystem {
   public SubsystemClimb() {
     safetyMode = true;
     // climber = new TalonSRX(Constants.CLIMBER_ID);
-    climber = new CANSparkMax(Constants.CLIMBER_ID, MotorType.kBrushless);
+    climber = new CountingSparkMax(Robot.PROFILE.getInt(ProfileValue.CLIMBER_ID), MotorType.kBrushless, "Climber", Robot.CAN);
+    climberConfig = Robot.MOTORS.addSparkMax("Climber", climber);
     setAmpLimit(70);
+
+    Robot.HARDWARE.provide(HardwareSignal.CLIMBER_OUTPUT, () -> climber.getAppliedOutput());
+    Robot.HARDWARE.provide(HardwareSignal.CLIMBER_AMPS, () -> climber.getOutputCurrent());
+    Robot.HARDWARE.provide(HardwareSignal.CLIMBER_TEMPERATURE, () -> climber.getMotorTemperature());
   }
 
   /**
@@ -49,7 +62,7 @@ public class SubsystemClimb extends Subsystem {
     double percentOutput = Xbox.RT(joy) - Xbox.LT(joy);
     // climber.set(ControlMode.PercentOutput, percentOutput);
     climber.set(percentOutput);
-    return climber.getOutputCurrent();
+    return getAmperage();
   }
 
   /**
@@ -57,7 +70,7 @@ public class SubsystemClimb extends Subsystem {
    */
   public void setAmpLimit(int amps) {
     // climber.configContinuousCurrentLimit(amps);
-    climber.setSmartCurrentLimit(amps);
+    Robot.MOTORS.set(climberConfig, MotorSetting.CURRENT_LIMIT, amps);
   }
 
   /**
@@ -76,16 +89,24 @@ public class SubsystemClimb extends Subsystem {
     return safetyMode;
   }
 
+  @Telemetered("Climber Engaged")
+  public boolean isEngaged() {
+    return !safetyMode;
+  }
+
+  @Telemetered(value = "Climber Amps", deadband = .5)
   public double getAmperage() {
-    return climber.getOutputCurrent();
+    return Robot.HARDWARE.get(HardwareSignal.CLIMBER_AMPS);
   }
 
+  @Telemetered(value = "Climber Temp", rate = TelemetryRate.SLOW, deadband = .5)
   public double getTemperature() {
-    return (climber.getMotorTemperature() - 32) * (5/9);
+    return (Robot.HARDWARE.get(HardwareSignal.CLIMBER_TEMPERATURE) - 32) * (5/9);
   }
 
+  @Telemetered(value = "Climber Motor", deadband = .01)
   public double getOutput() {
     // return climber.getMotorOutputPercent();
-    return climber.getAppliedOutput();
+    return Robot.HARDWARE.get(HardwareSignal.CLIMBER_OUTPUT);
   }
 }
@@ -9,7 +9,6 @@ package frc.robot.Subsystems;
 
 import com.revrobotics.CANSparkMax;
 import com.revrobotics.ControlType;
-import com.revrobotics.CANSparkMax.IdleMode;
 import com.revrobotics.CANSparkMaxLowLevel.MotorType;
 
 import edu.wpi.first.wpilibj.DriverStation;
@@ -20,6 +19,13 @@ import frc.robot.Constants;
 import frc.robot.Robot;
 import frc.robot.Commands.ManualCommandDrive;
 import frc.robot.Enumeration.DriveSpeed;
+import frc.robot.Enumeration.HardwareSignal;
+import frc.robot.Enumeration.MotorSetting;
+import frc.robot.Enumeration.ProfileValue;
+import frc.robot.Enumeration.TelemetryRate;
+import frc.robot.Util.CountingSparkMax;
+import frc.robot.Util.PoseHistory;
+import frc.robot.Util.Telemetered;
 import frc.robot.Util.Xbox;
 
 /**
@@ -32,8 +38,18 @@ public class SubsystemDrive extends Subsystem {
   private static CANSparkMax rightMaster;
   private static CANSparkMax rightSlave;
 
+  private static int[] motors; // device indexes in Robot.MOTORS, left master, left slave, right master, right slave
+
   private static double[] highestRPM;
 
+  private static PoseHistory poseHistory;
+
+  // encoder positions at the last pose sample, and how far each side has gone since the history started
+  private double lastLeftRotations;
+  private double lastRightRotations;
+  private double leftInches;
+  private double rightInches;
+
   private double driveInhibitor;
 
   private DriveSpeed hiLoSpeed;
@@ -50,11 +66,18 @@ public class SubsystemDrive extends Subsystem {
 
   public SubsystemDrive() {
     DriverStation.reportWarning("SUB_DRIVE CREATED", false);
-    leftMaster  = new CANSparkMax(Constants.LEFT_MASTER_ID, MotorType.kBrushless);
-    leftSlave   = new CANSparkMax(Constants.LEFT_SLAVE_ID, MotorType.kBrushless);
+    leftMaster  = new CountingSparkMax(Robot.PROFILE.getInt(ProfileValue.LEFT_MASTER_ID), MotorType.kBrushless, "Left Master", Robot.CAN);
+    leftSlave   = new CountingSparkMax(Robot.PROFILE.getInt(ProfileValue.LEFT_SLAVE_ID), MotorType.kBrushless, "Left Slave", Robot.CAN);
 
-    rightMaster = new CANSparkMax(Constants.RIGHT_MASTER_ID, MotorType.kBrushless);
-    rightSlave  = new CANSparkMax(Constants.RIGHT_SLAVE_ID, MotorType.kBrushless);
+    rightMaster = new CountingSparkMax(Robot.PROFILE.getInt(ProfileValue.RIGHT_MASTER_ID), MotorType.kBrushless, "Right Master", Robot.CAN);
+    rightSlave  = new CountingSparkMax(Robot.PROFILE.getInt(ProfileValue.RIGHT_SLAVE_ID), MotorType.kBrushless, "Right Slave", Robot.CAN);
+
+    motors = new int[]{ Robot.MOTORS.addSparkMax("Left Master", leftMaster),
+                        Robot.MOTORS.addSparkMax("Left Slave", leftSlave),
+                        Robot.MOTORS.addSparkMax("Right Master", rightMaster),
+                        Robot.MOTORS.addSparkMax("Right Slave", rightSlave)};
+    setInverts();
+    setBraking(true);
 
     highestRPM = new double[]{0,0};
 
@@ -64,6 +87,17 @@ public class SubsystemDrive extends Subsystem {
     speedsCounted = 0;
 
     hiLoSpeed = DriveSpeed.HIGH;
+
+    Robot.HARDWARE.provide(HardwareSignal.LEFT_VELOCITY, () -> leftMaster.getEncoder().getVelocity());
+    Robot.HARDWARE.provide(HardwareSignal.RIGHT_VELOCITY, () -> rightMaster.getEncoder().getVelocity());
+    Robot.HARDWARE.provide(HardwareSignal.LEFT_POSITION, () -> leftMaster.getEncoder().getPosition());
+    Robot.HARDWARE.provide(HardwareSignal.RIGHT_POSITION, () -> rightMaster.getEncoder().getPosition());
+    Robot.HARDWARE.provide(HardwareSignal.LEFT_AMPS, () -> leftMaster.getOutputCurrent());
+    Robot.HARDWARE.provide(HardwareSignal.RIGHT_AMPS, () -> rightMaster.getOutputCurrent());
+
+    poseHistory = new PoseHistory(Constants.POSE_HISTORY_SIZE);
+    lastLeftRotations  = Double.NaN;
+    lastRightRotations = Double.NaN;
   }
 
   /**
@@ -72,8 +106,6 @@ public class SubsystemDrive extends Subsystem {
    * @param joy the joystick to be used
    */
   public void driveRLGenuine(Joystick joy, double ramp, double calebInhibitor) {
-    setInverts();
-    setBraking(true);
     setRamps(ramp);
     updateBrownoutRummble(joy);
 
@@ -93,8 +125,6 @@ public class SubsystemDrive extends Subsystem {
   }
 
   public void driveRlHiLo(Joystick joy, double ramp, double disengageInhibitor, double lowInhibitor, double highInhibitor, double murderInhibitor) {
-    setInverts();
-    setBraking(true);
     setRamps(ramp);
     updateBrownoutRummble(joy);
 
@@ -146,11 +176,61 @@ public class SubsystemDrive extends Subsystem {
 
   public double[] getEncoderPositions() {
     double[] output = new double[2];
-    output[0] = leftMaster.getEncoder().getPosition();
-    output[1] = rightMaster.getEncoder().getPosition();
+    output[0] = getLeftPosition();
+    output[1] = getRightPosition();
     return output;
   }
 
+  /**
+   * Single-value versions of getEncoderPositions(), so logging doesn't need an array every loop
+   */
+  public double getLeftPosition() {
+    return Robot.HARDWARE.get(HardwareSignal.LEFT_POSITION);
+  }
+
+  public double getRightPosition() {
+    return Robot.HARDWARE.get(HardwareSignal.RIGHT_POSITION);
+  }
+
+  /**
+   * Adds this loop's encoder positions to the pose history, so vision code can find out
+   * where the robot was pointing at any recent moment. Call once per loop, right after
+   * Robot.HARDWARE is refreshed.
+   * The gear can change between samples, so each side's movement since the last sample is
+   * converted to inches at the current gear and added up, rather than converting the total.
+   */
+  public void recordPose() {
+    double left  = getLeftPosition();
+    double right = getRightPosition();
+    if (!Double.isNaN(lastLeftRotations)) {
+      double inchesPerRotation = Robot.SUB_SHIFTER.isFirstGear() ? Constants.FIRST_GEAR_INCHES_PER_ROTATION : Constants.SECOND_GEAR_INCHES_PER_ROTATION;
+      leftInches  += (left - lastLeftRotations) * inchesPerRotation;
+      rightInches += (right - lastRightRotations) * inchesPerRotation;
+    }
+    lastLeftRotations  = left;
+    lastRightRotations = right;
+    double heading = Math.toDegrees((leftInches - rightInches) / Constants.TRACK_WIDTH);
+    poseHistory.record(Robot.HARDWARE.getRefreshNanos(), heading, leftInches, rightInches);
+  }
+
+  /**
+   * Retrieves the heading from the newest encoder sample
+   * @return heading in degrees since the encoders were zeroed (positive = CW)
+   */
+  public double getHeading() {
+    return poseHistory.getLatestHeading();
+  }
+
+  /**
+   * How far the robot has turned since a moment in the recent past.
+   * Subtract this from a vision angle captured at that moment to get the angle now.
+   * @param nanos System.nanoTime() to measure from
+   * @return      degrees turned since then (positive = CW)
+   */
+  public double getHeadingChangeSince(long nanos) {
+    return poseHistory.getHeadingChangeSince(nanos);
+  }
+
   /**
    * Sets all motor controller values to zero
    */
@@ -164,33 +244,32 @@ public class SubsystemDrive extends Subsystem {
   /**
    * Sets the inverts of each motor controller
    */
-  private void setInverts() {
-    leftMaster.setInverted(Constants.LEFT_DRIVE_INVERT);
-      leftSlave.setInverted(Constants.LEFT_DRIVE_INVERT);
-    rightMaster.setInverted(Constants.RIGHT_DRIVE_INVERT);
-      rightSlave.setInverted(Constants.RIGHT_DRIVE_INVERT);
+  public void setInverts() {
+    Robot.MOTORS.set(motors[0], MotorSetting.INVERTED, Robot.PROFILE.getBoolean(ProfileValue.LEFT_DRIVE_INVERT));
+      Robot.MOTORS.set(motors[1], MotorSetting.INVERTED, Robot.PROFILE.getBoolean(ProfileValue.LEFT_DRIVE_INVERT));
+    Robot.MOTORS.set(motors[2], MotorSetting.INVERTED, Robot.PROFILE.getBoolean(ProfileValue.RIGHT_DRIVE_INVERT));
+      Robot.MOTORS.set(motors[3], MotorSetting.INVERTED, Robot.PROFILE.getBoolean(ProfileValue.RIGHT_DRIVE_INVERT));
   }
 
   /**
-   * Sets each motor to braking or coasting mode
+   * Sets each motor to braking or coasting mode. Only a change is sent, so this is cheap to repeat.
    * @param braking true if braking mode, false if coasting mode
    */
   public void setBraking(Boolean braking) {
-    leftMaster.setIdleMode(braking ? IdleMode.kBrake : IdleMode.kCoast);
-      leftSlave.setIdleMode(braking ? IdleMode.kBrake : IdleMode.kCoast);
-    rightMaster.setIdleMode(braking ? IdleMode.kBrake : IdleMode.kCoast);
-      rightSlave.setIdleMode(braking ? IdleMode.kBrake : IdleMode.kCoast);
+    for (int motor : motors) {
+      Robot.MOTORS.set(motor, MotorSetting.BRAKE, braking);
+    }
   }
 
   /**
-   * Sets the ramp rate of each motor
+   * Sets the ramp rate of each motor. Only a change is sent, so the drive loops call this every time
+   * to pick up the tunable.
    * @param ramp ramp rate in seconds
    */
   private void setRamps(double ramp) {
-    leftMaster.setOpenLoopRampRate(ramp);
-      leftSlave.setOpenLoopRampRate(ramp);
-    rightMaster.setOpenLoopRampRate(ramp);
-      rightSlave.setOpenLoopRampRate(ramp);
+    for (int motor : motors) {
+      Robot.MOTORS.set(motor, MotorSetting.OPEN_LOOP_RAMP, ramp);
+    }
   }
 
   /**
@@ -217,24 +296,58 @@ public class SubsystemDrive extends Subsystem {
    */
   public double[] getVelocities() {
     double[] output = new double[2];
-    output[0] = Math.abs(leftMaster.getEncoder().getVelocity());
-    output[1] = Math.abs(rightMaster.getEncoder().getVelocity());
+    output[0] = getLeftVelocity();
+    output[1] = getRightVelocity();
     return output;
   }
 
+  /**
+   * Single-value versions of getVelocities()
+   * @return absolute RPM of that side
+   */
+  public double getLeftVelocity() {
+    return Math.abs(Robot.HARDWARE.get(HardwareSignal.LEFT_VELOCITY));
+  }
+
+  public double getRightVelocity() {
+    return Math.abs(Robot.HARDWARE.get(HardwareSignal.RIGHT_VELOCITY));
+  }
+
   public double[] getAmps() {
-    return new double[]{leftMaster.getOutputCurrent(), rightMaster.getOutputCurrent()};
+    return new double[]{getLeftAmps(), getRightAmps()};
+  }
+
+  /**
+   * Single-value versions of getMotorValues() and getAmps(), so telemetry reads one motor instead of all of them
+   */
+  @Telemetered(value = "Left Motor", rate = TelemetryRate.FAST, deadband = .5, scale = 100)
+  public double getLeftOutput() {
+    return leftMaster.get();
+  }
+
+  @Telemetered(value = "Right Motor", rate = TelemetryRate.FAST, deadband = .5, scale = 100)
+  public double getRightOutput() {
+    return rightMaster.get();
+  }
+
+  @Telemetered(value = "Left Amps", deadband = .5)
+  public double getLeftAmps() {
+    return Robot.HARDWARE.get(HardwareSignal.LEFT_AMPS);
   }
+
+  @Telemetered(value = "Right Amps", deadband = .5)
+  public double getRightAmps() {
+    return Robot.HARDWARE.get(HardwareSignal.RIGHT_AMPS);
+  }
+
   /**
    * Returns the highest recorded RPM of each motor controller
    * @return [0] = Highest absolute RPM from left side
    *         [1] = Highest absolute RPM from right side
    */
   public double[] getHighestVelocities() {
-    if (leftMaster.getEncoder().getVelocity() > highestRPM[0]) {
-      highestRPM[0] = Math.abs(leftMaster.getEncoder().getVelocity()); }
-    if (rightMaster.getEncoder().getVelocity() > highestRPM[1]) {
-      highestRPM[1] = Math.abs(rightMaster.getEncoder().getVelocity()); }
+    highestRPM[0] = Math.max(highestRPM[0], getLeftVelocity());
+    highestRPM[1] = Math.max(highestRPM[1], getRightVelocity());
     return highestRPM;
   }
 
@@ -244,11 +357,11 @@ public class SubsystemDrive extends Subsystem {
    * @return left and right motor are both pulling over the threshold amperage
    */
   public Boolean isPushing() {
-    return leftMaster.getOutputCurrent() >= Constants.PUSHING_AMPERAGE && rightMaster.getOutputCurrent() >= Constants.PUSHING_AMPERAGE;
+    return getLeftAmps() >= Constants.PUSHING_AMPERAGE && getRightAmps() >= Constants.PUSHING_AMPERAGE;
   }
 
   public Boolean isStopped() {
-    return Math.abs(getVelocities()[0]) < 100 && Math.abs(getVelocities()[1]) < 100;
+    return getLeftVelocity() < 100 && getRightVelocity() < 100;
   }
 
   public void updateBrownoutRummble(Joystick joy) {
@@ -268,12 +381,14 @@ public class SubsystemDrive extends Subsystem {
   }
 
   public void updateSpeedData() {
-    if (leftMaster.getEncoder().getVelocity() == rightMaster.getEncoder().getVelocity()) {
-      currentSpeed = Math.abs(leftMaster.getEncoder().getVelocity());
-    } else if (leftMaster.getEncoder().getVelocity() * -1 == rightMaster.getEncoder().getVelocity()) {
+    double left  = Robot.HARDWARE.get(HardwareSignal.LEFT_VELOCITY);
+    double right = Robot.HARDWARE.get(HardwareSignal.RIGHT_VELOCITY);
+    if (left == right) {
+      currentSpeed = Math.abs(left);
+    } else if (left * -1 == right) {
       currentSpeed = 0;
     } else {
-      currentSpeed = (leftMaster.getEncoder().getVelocity() + rightMaster.getEncoder().getVelocity()) / 2;
+      currentSpeed = (left + right) / 2;
     }
 
     currentSpeed *= Robot.SUB_SHIFTER.isFirstGear() ? Constants.RPM_TO_FIRST_GEAR_MPH : Constants.RPM_TO_SECOND_GEAR_MPH;
@@ -283,6 +398,7 @@ public class SubsystemDrive extends Subsystem {
     topSpeed = currentSpeed > topSpeed ? currentSpeed : topSpeed;
   }
 
+  @Telemetered(value = "Current Speed", deadband = .1)
   public double getCurrentSpeed() {
     return currentSpeed;
   }
@@ -291,6 +407,7 @@ public class SubsystemDrive extends Subsystem {
     return totalSpeeds / speedsCounted;
   }
 
+  @Telemetered(value = "Top Speed", rate = TelemetryRate.SLOW, deadband = .1)
   public double getTopSpeed() {
     return topSpeed;
   }
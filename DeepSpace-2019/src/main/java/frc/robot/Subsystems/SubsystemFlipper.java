@@ -8,13 +8,18 @@
 package frc.robot.Subsystems;
 
 import com.ctre.phoenix.motorcontrol.ControlMode;
-import com.ctre.phoenix.motorcontrol.NeutralMode;
 import com.ctre.phoenix.motorcontrol.can.TalonSRX;
 
 import edu.wpi.first.wpilibj.Joystick;
 import edu.wpi.first.wpilibj.command.Subsystem;
 import frc.robot.Constants;
+import frc.robot.Robot;
 import frc.robot.Commands.ManualCommandTestFlipper;
+import frc.robot.Enumeration.HardwareSignal;
+import frc.robot.Enumeration.MotorSetting;
+import frc.robot.Enumeration.ProfileValue;
+import frc.robot.Util.CountingTalonSRX;
+import frc.robot.Util.Telemetered;
 import frc.robot.Util.Xbox;
 
 /**
@@ -23,6 +28,7 @@ import frc.robot.Util.Xbox;
 public class SubsystemFlipper extends Subsystem {
   
   private static TalonSRX flipper;
+  private static int      flipperConfig; // device index in Robot.MOTORS
 
   private static Boolean atFront;
 
@@ -32,10 +38,14 @@ public class SubsystemFlipper extends Subsystem {
   }
 
   public SubsystemFlipper() {
-    flipper = new TalonSRX(Constants.FLIPPER_ID);
-      initConfig(60, 1000, 0, true);
+    flipper = new CountingTalonSRX(Robot.PROFILE.getInt(ProfileValue.FLIPPER_ID), "Flipper", Robot.CAN);
+    flipperConfig = Robot.MOTORS.addTalon("Flipper", flipper);
+      initConfig(60, 0, true);
 
     atFront = true;
+
+    Robot.HARDWARE.provide(HardwareSignal.FLIPPER_OUTPUT, () -> flipper.getMotorOutputPercent());
+    Robot.HARDWARE.provide(HardwareSignal.FLIPPER_AMPS, () -> flipper.getOutputCurrent());
   }
 
   /**
@@ -59,30 +69,32 @@ public class SubsystemFlipper extends Subsystem {
   }
 
   public void setAmpLimit(int amps) {
-    flipper.configContinuousCurrentLimit(amps);
+    Robot.MOTORS.set(flipperConfig, MotorSetting.CURRENT_LIMIT, amps);
   }
 
   public void setInvert() {
-    flipper.setInverted(Constants.FLIPPER_INVERT);
+    Robot.MOTORS.set(flipperConfig, MotorSetting.INVERTED, Robot.PROFILE.getBoolean(ProfileValue.FLIPPER_INVERT));
   }
 
   public void setBraking(Boolean braking) {
-    flipper.setNeutralMode(braking ? NeutralMode.Brake : NeutralMode.Coast);  
+    Robot.MOTORS.set(flipperConfig, MotorSetting.BRAKE, braking);
   }
 
+  @Telemetered(value = "Flipper Amps", deadband = .5)
   public double getAmps() {
-    return flipper.getOutputCurrent();
+    return Robot.HARDWARE.get(HardwareSignal.FLIPPER_AMPS);
   }
 
+  @Telemetered(value = "Flipper Motor", deadband = .5, scale = 100)
   public double getPercentOutput() {
-    return flipper.getMotorOutputPercent();
+    return Robot.HARDWARE.get(HardwareSignal.FLIPPER_OUTPUT);
   }
 
-  public void initConfig(int ampLimit, int ampLimitMs, double ramp, Boolean braking) {
-    flipper.setInverted(Constants.FLIPPER_INVERT);
-      flipper.configOpenloopRamp(ramp);
-      flipper.configContinuousCurrentLimit(ampLimit, ampLimitMs);
-      flipper.setNeutralMode(braking ? NeutralMode.Brake : NeutralMode.Coast);;
+  public void initConfig(int ampLimit, double ramp, Boolean braking) {
+    setInvert();
+      Robot.MOTORS.set(flipperConfig, MotorSetting.OPEN_LOOP_RAMP, ramp);
+      setAmpLimit(ampLimit);
+      setBraking(braking);
   }
 
   public void setAtFront(Boolean isAtFront) {
@@ -94,6 +106,6 @@ public class SubsystemFlipper extends Subsystem {
   }
 
   public Boolean isStalling() {
-    return flipper.getOutputCurrent() > Constants.FLIPPER_STALL_AMPERAGE;
+    return getAmps() > Constants.FLIPPER_STALL_AMPERAGE;
   }
 }
@@ -11,7 +11,12 @@ import com.ctre.phoenix.motorcontrol.ControlMode;
 import com.ctre.phoenix.motorcontrol.can.TalonSRX;
 
 import edu.wpi.first.wpilibj.command.Subsystem;
-import frc.robot.Constants;
+import frc.robot.Robot;
+import frc.robot.Enumeration.HardwareSignal;
+import frc.robot.Enumeration.MotorSetting;
+import frc.robot.Enumeration.ProfileValue;
+import frc.robot.Util.CountingTalonSRX;
+import frc.robot.Util.Telemetered;
 
 /**
  * Ball hood that ejects balls
@@ -19,13 +24,18 @@ import frc.robot.Constants;
 public class SubsystemLauncher extends Subsystem {
   
   TalonSRX launcher;
+  int      launcherConfig; // device index in Robot.MOTORS
 
   @Override
   public void initDefaultCommand() {}
 
   public SubsystemLauncher() {
-    launcher = new TalonSRX(Constants.LAUNCHER_ID);
+    launcher = new CountingTalonSRX(Robot.PROFILE.getInt(ProfileValue.LAUNCHER_ID), "Launcher", Robot.CAN);
+    launcherConfig = Robot.MOTORS.addTalon("Launcher", launcher);
     setInverts();
+
+    Robot.HARDWARE.provide(HardwareSignal.LAUNCHER_OUTPUT, () -> launcher.getMotorOutputPercent());
+    Robot.HARDWARE.provide(HardwareSignal.LAUNCHER_AMPS, () -> launcher.getOutputCurrent());
   }
 
   public void spit(double speed) {
@@ -36,16 +46,18 @@ public class SubsystemLauncher extends Subsystem {
     launcher.set(ControlMode.PercentOutput, 0);
   }
 
-  private void setInverts() {
-    launcher.setInverted(Constants.LAUNCHER_INVERT);
+  public void setInverts() {
+    Robot.MOTORS.set(launcherConfig, MotorSetting.INVERTED, Robot.PROFILE.getBoolean(ProfileValue.LAUNCHER_INVERT));
   }
 
+  @Telemetered(value = "Hood Amps", deadband = .5)
   public double getAmps() {
-    return launcher.getOutputCurrent();
+    return Robot.HARDWARE.get(HardwareSignal.LAUNCHER_AMPS);
   }
 
+  @Telemetered(value = "Ball Hood", deadband = .5, scale = 100)
   public double getPercentOutput() {
-    return launcher.getMotorOutputPercent();
+    return Robot.HARDWARE.get(HardwareSignal.LAUNCHER_OUTPUT);
   }
 
 }
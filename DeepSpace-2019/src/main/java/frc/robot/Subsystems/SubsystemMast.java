@@ -8,15 +8,21 @@
 package frc.robot.Subsystems;
 
 import com.ctre.phoenix.motorcontrol.ControlMode;
-import com.ctre.phoenix.motorcontrol.NeutralMode;
 import com.ctre.phoenix.motorcontrol.can.TalonSRX;
 
 import edu.wpi.first.wpilibj.Joystick;
 import edu.wpi.first.wpilibj.command.Subsystem;
-import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
 import frc.robot.Constants;
+import frc.robot.Robot;
 import frc.robot.Commands.IterativeCommandMoveMast;
+import frc.robot.Enumeration.EventType;
+import frc.robot.Enumeration.HardwareSignal;
 import frc.robot.Enumeration.MastPosition;
+import frc.robot.Enumeration.MotorSetting;
+import frc.robot.Enumeration.ProfileValue;
+import frc.robot.Util.CountingTalonSRX;
+import frc.robot.Util.GainSlots;
+import frc.robot.Util.Telemetered;
 import frc.robot.Util.Xbox;
 
 /**
@@ -29,6 +35,14 @@ public class SubsystemMast extends Subsystem {
   private static TalonSRX innerStage;
   private static TalonSRX outerStage;
 
+  private static final int INNER = 0; // indexes into gains
+  private static final int OUTER = 1;
+
+  private static GainSlots gains;
+
+  private static int innerConfig; // device indexes in Robot.MOTORS
+  private static int outerConfig;
+
   private static Boolean loopRunning;
 
   @Override
@@ -39,15 +53,37 @@ public class SubsystemMast extends Subsystem {
   public SubsystemMast() {
     storedPosition = MastPosition.HATCH_1;
 
-    innerStage  = new TalonSRX(Constants.INNER_STAGE_ID);
-    outerStage = new TalonSRX(Constants.OUTER_STAGE_ID);
+    innerStage = new CountingTalonSRX(Robot.PROFILE.getInt(ProfileValue.INNER_STAGE_ID), "Inner Stage", Robot.CAN);
+    outerStage = new CountingTalonSRX(Robot.PROFILE.getInt(ProfileValue.OUTER_STAGE_ID), "Outer Stage", Robot.CAN);
 
     loopRunning = false;
 
+    gains = new GainSlots("Mast Gains", Constants.TALON_CONFIG_TIMEOUT_MS, Constants.CONFIG_RETRY_MS, innerStage, outerStage);
+    gains.start();
+
+    innerConfig = Robot.MOTORS.addTalon("Inner Stage", innerStage);
+    outerConfig = Robot.MOTORS.addTalon("Outer Stage", outerStage);
+    Robot.MOTORS.onReset(innerConfig, () -> gains.invalidate(INNER));
+    Robot.MOTORS.onReset(outerConfig, () -> gains.invalidate(OUTER));
+
+    Robot.HARDWARE.provide(HardwareSignal.INNER_STAGE_POSITION, () -> innerStage.getSensorCollection().getQuadraturePosition());
+    Robot.HARDWARE.provide(HardwareSignal.OUTER_STAGE_POSITION, () -> outerStage.getSensorCollection().getQuadraturePosition());
+    Robot.HARDWARE.provide(HardwareSignal.INNER_STAGE_OUTPUT, () -> innerStage.getMotorOutputPercent());
+    Robot.HARDWARE.provide(HardwareSignal.OUTER_STAGE_OUTPUT, () -> outerStage.getMotorOutputPercent());
+    Robot.HARDWARE.provide(HardwareSignal.INNER_STAGE_AMPS, () -> innerStage.getOutputCurrent());
+    Robot.HARDWARE.provide(HardwareSignal.OUTER_STAGE_AMPS, () -> outerStage.getOutputCurrent());
+    Robot.HARDWARE.provide(HardwareSignal.INNER_STAGE_ERROR, () -> innerStage.getClosedLoopError(0));
+    Robot.HARDWARE.provide(HardwareSignal.OUTER_STAGE_ERROR, () -> outerStage.getClosedLoopError(0));
+    Robot.HARDWARE.provide(HardwareSignal.INNER_STAGE_LOW, () -> innerStage.getSensorCollection().isFwdLimitSwitchClosed() ? 1 : 0);
+    Robot.HARDWARE.provide(HardwareSignal.INNER_STAGE_HIGH, () -> innerStage.getSensorCollection().isRevLimitSwitchClosed() ? 1 : 0);
+    Robot.HARDWARE.provide(HardwareSignal.OUTER_STAGE_LOW, () -> outerStage.getSensorCollection().isFwdLimitSwitchClosed() ? 1 : 0);
+    Robot.HARDWARE.provide(HardwareSignal.OUTER_STAGE_HIGH, () -> outerStage.getSensorCollection().isRevLimitSwitchClosed() ? 1 : 0);
+
     initConfig(50, 0, 1, 0, true);
   }
 
   public void setStoredPosition(MastPosition position) {
+    Robot.MAIN_EVENTS.log(EventType.MAST_PRESET, position.toInt());
     storedPosition = position;
     loopRunning    = false;
   }
@@ -69,19 +105,19 @@ public class SubsystemMast extends Subsystem {
    * @param inches the target height in inches
    */
   public void moveInnerStageByPosition(double inches) {
-    innerStage.set(ControlMode.Position, -1 * inches * Constants.INNER_MAST_TICKS_PER_INCH);
-    innerStage.configAllowableClosedloopError(0,0);
+    innerStage.set(ControlMode.Position, -1 * inches * Robot.PROFILE.get(ProfileValue.INNER_MAST_TICKS_PER_INCH));
   }
 
   /**
-   * Shows if the inner mast is stable (within the allowable error)
+   * Shows if the inner mast is stable (within the allowable error), as of the start of the loop
    * @param inches the target height of the current loop
    * @return       whether the position is within the allowable error from the target or not
    */
   public Boolean innerStageWithinRange(double inches, double allowableError) {
-    double position = Math.abs(innerStage.getSensorCollection().getQuadraturePosition());
-    double target   = Math.abs(inches * Constants.INNER_MAST_TICKS_PER_INCH);
-    return Math.abs(position - target) < allowableError * Constants.INNER_MAST_TICKS_PER_INCH;
+    double ticks    = Robot.PROFILE.get(ProfileValue.INNER_MAST_TICKS_PER_INCH);
+    double position = Math.abs(getInnerStagePosition());
+    double target   = Math.abs(inches * ticks);
+    return Math.abs(position - target) < allowableError * ticks;
   }
 
   /**
@@ -97,19 +133,19 @@ public class SubsystemMast extends Subsystem {
    * @param inches the target height in inches
    */
   public void moveOuterStageByPosition(double inches) {
-    outerStage.set(ControlMode.Position, -1 * inches * Constants.OUTER_MAST_TICKS_PER_INCH);
-    outerStage.configAllowableClosedloopError(0,0);
+    outerStage.set(ControlMode.Position, -1 * inches * Robot.PROFILE.get(ProfileValue.OUTER_MAST_TICKS_PER_INCH));
   }
 
   /**
-   * Shows if the outer mast is stable (within the allowable error)
+   * Shows if the outer mast is stable (within the allowable error), as of the start of the loop
    * @param inches the target height of the current loop
    * @return       whether the position is within the allowable error from the target or not
    */
   public Boolean outerStageWithinRange(double inches, double allowableError) {
-    double position = Math.abs(outerStage.getSensorCollection().getQuadraturePosition());
-    double target   = Math.abs(inches * Constants.OUTER_MAST_TICKS_PER_INCH);
-    return Math.abs(position - target) < allowableError * Constants.OUTER_MAST_TICKS_PER_INCH;
+    double ticks    = Robot.PROFILE.get(ProfileValue.OUTER_MAST_TICKS_PER_INCH);
+    double position = Math.abs(getOuterStagePosition());
+    double target   = Math.abs(inches * ticks);
+    return Math.abs(position - target) < allowableError * ticks;
   }
 
   /**
@@ -132,49 +168,70 @@ public class SubsystemMast extends Subsystem {
    */
   public Boolean[] getLimitSwitches() {
     Boolean[] array = new Boolean[4];
-    array[0] = innerStage.getSensorCollection().isFwdLimitSwitchClosed();
-    array[1] = innerStage.getSensorCollection().isRevLimitSwitchClosed();
-    array[2] = outerStage.getSensorCollection().isFwdLimitSwitchClosed();
-    array[3] = outerStage.getSensorCollection().isRevLimitSwitchClosed();
+    array[0] = isInnerStageLow();
+    array[1] = isInnerStageHigh();
+    array[2] = isOuterStageLow();
+    array[3] = isOuterStageHigh();
     return array;
   }
 
   /**
-   * Updates all limit switch state indicators on the dashboard
+   * Single-switch versions of getLimitSwitches(). Like the rest of the getters here, these read Robot.HARDWARE,
+   * so they're as of the start of the loop
    */
-  public void publishLimitSwitches() {
-    SmartDashboard.putBoolean("Inner Stage Low [0]", getLimitSwitches()[0]);
-    SmartDashboard.putBoolean("Inner Stage High [1]", getLimitSwitches()[1]);
-    SmartDashboard.putBoolean("Outer Stage Low [2]", getLimitSwitches()[2]);
-    SmartDashboard.putBoolean("Outer Stage High [3]", getLimitSwitches()[3]);
+  @Telemetered("Inner Stage Low [0]")
+  public boolean isInnerStageLow() {
+    return Robot.HARDWARE.getBoolean(HardwareSignal.INNER_STAGE_LOW);
+  }
+
+  @Telemetered("Inner Stage High [1]")
+  public boolean isInnerStageHigh() {
+    return Robot.HARDWARE.getBoolean(HardwareSignal.INNER_STAGE_HIGH);
+  }
+
+  @Telemetered("Outer Stage Low [2]")
+  public boolean isOuterStageLow() {
+    return Robot.HARDWARE.getBoolean(HardwareSignal.OUTER_STAGE_LOW);
+  }
+
+  @Telemetered("Outer Stage High [3]")
+  public boolean isOuterStageHigh() {
+    return Robot.HARDWARE.getBoolean(HardwareSignal.OUTER_STAGE_HIGH);
   }
 
   /**
-   * Configures the mast motors
+   * Configures the mast motors. All of it goes through Robot.MOTORS, so it's only sent when it
+   * changes and gets put back after a reset.
    * @param ampLimit      continuous current limit
    * @param nominalOutput the minimum output of the motors
+   * @param maximumOutput the maximum output of the motors
    * @param ramp          motor ramprate
    * @param braking       true for braking, false for coasting
    */
   public void initConfig(int ampLimit, double nominalOutput, double maximumOutput, double ramp, Boolean braking) {
-    innerStage.setInverted(Constants.INNER_STAGE_INVERT);
-    innerStage.setSensorPhase(Constants.INNER_STAGE_ENCODER_INVERT);
-      innerStage.configNominalOutputForward(nominalOutput);
-      innerStage.configNominalOutputReverse(-1 * nominalOutput);
-      innerStage.configPeakOutputForward(maximumOutput);
-      innerStage.configPeakOutputReverse(-1 * maximumOutput);
-      innerStage.configOpenloopRamp(ramp);
-      innerStage.configContinuousCurrentLimit(ampLimit);
-      innerStage.setNeutralMode(braking ? NeutralMode.Brake : NeutralMode.Coast);;
-    outerStage.setInverted(Constants.OUTER_STAGE_INVERT);
-    outerStage.setSensorPhase(Constants.OUTER_STAGE_ENCODER_INVERT);
-      outerStage.configNominalOutputForward(nominalOutput);
-      outerStage.configNominalOutputReverse(-1 * nominalOutput);
-      outerStage.configPeakOutputForward(maximumOutput);
-      outerStage.configPeakOutputReverse(-1 * maximumOutput);
-      outerStage.configOpenloopRamp(ramp);
-      outerStage.configContinuousCurrentLimit(ampLimit);
-      outerStage.setNeutralMode(braking ? NeutralMode.Brake : NeutralMode.Coast);;
+    setInverts();
+      Robot.MOTORS.set(innerConfig, MotorSetting.NOMINAL_OUTPUT, nominalOutput);
+      Robot.MOTORS.set(innerConfig, MotorSetting.PEAK_OUTPUT, maximumOutput);
+      Robot.MOTORS.set(innerConfig, MotorSetting.CLOSED_LOOP_ERROR, 0);
+      Robot.MOTORS.set(innerConfig, MotorSetting.OPEN_LOOP_RAMP, ramp);
+      Robot.MOTORS.set(innerConfig, MotorSetting.CURRENT_LIMIT, ampLimit);
+      Robot.MOTORS.set(innerConfig, MotorSetting.BRAKE, braking);
+      Robot.MOTORS.set(outerConfig, MotorSetting.NOMINAL_OUTPUT, nominalOutput);
+      Robot.MOTORS.set(outerConfig, MotorSetting.PEAK_OUTPUT, maximumOutput);
+      Robot.MOTORS.set(outerConfig, MotorSetting.CLOSED_LOOP_ERROR, 0);
+      Robot.MOTORS.set(outerConfig, MotorSetting.OPEN_LOOP_RAMP, ramp);
+      Robot.MOTORS.set(outerConfig, MotorSetting.CURRENT_LIMIT, ampLimit);
+      Robot.MOTORS.set(outerConfig, MotorSetting.BRAKE, braking);
+  }
+
+  /**
+   * Sets the motor and encoder inverts from the robot profile
+   */
+  public void setInverts() {
+    Robot.MOTORS.set(innerConfig, MotorSetting.INVERTED, Robot.PROFILE.getBoolean(ProfileValue.INNER_STAGE_INVERT));
+    Robot.MOTORS.set(innerConfig, MotorSetting.SENSOR_PHASE, Robot.PROFILE.getBoolean(ProfileValue.INNER_STAGE_ENCODER_INVERT));
+    Robot.MOTORS.set(outerConfig, MotorSetting.INVERTED, Robot.PROFILE.getBoolean(ProfileValue.OUTER_STAGE_INVERT));
+    Robot.MOTORS.set(outerConfig, MotorSetting.SENSOR_PHASE, Robot.PROFILE.getBoolean(ProfileValue.OUTER_STAGE_ENCODER_INVERT));
   }
 
   /**
@@ -182,7 +239,7 @@ public class SubsystemMast extends Subsystem {
    * @return
    */
   public double[] getAmperage() {
-    return new double[]{innerStage.getOutputCurrent(), outerStage.getOutputCurrent()};
+    return new double[]{getInnerStageAmps(), getOuterStageAmps()};
   }
 
   /**
@@ -194,35 +251,85 @@ public class SubsystemMast extends Subsystem {
   }
 
   public int[] getEncoderValues() {
-    return new int[]{ innerStage.getSensorCollection().getQuadraturePosition(), outerStage.getSensorCollection().getQuadraturePosition() };
+    return new int[]{ getInnerStagePosition(), getOuterStagePosition() };
   }
 
-  public void setInnerStagePIDF(double[] PIDF) {
-    innerStage.config_kP(0, PIDF[0]);
-    innerStage.config_kI(0, PIDF[1]);
-    innerStage.config_kD(0, PIDF[2]);
-    innerStage.config_kF(0, PIDF[3]);
+  /**
+   * Single-value versions of getEncoderValues() and getAmperage(), so telemetry reads one stage instead of both
+   */
+  public int getInnerStagePosition() {
+    return (int) Robot.HARDWARE.get(HardwareSignal.INNER_STAGE_POSITION);
   }
 
-  public void setOuterStagePIDF(double[] PIDF) {
-    outerStage.config_kP(0, PIDF[0]);
-    outerStage.config_kI(0, PIDF[1]);
-    outerStage.config_kD(0, PIDF[2]);
-    outerStage.config_kF(0, PIDF[3]);
+  public int getOuterStagePosition() {
+    return (int) Robot.HARDWARE.get(HardwareSignal.OUTER_STAGE_POSITION);
   }
 
-  public void stopMotors() {
-    innerStage.set(ControlMode.PercentOutput, 0);
-    outerStage.set(ControlMode.PercentOutput, 0);
+  /**
+   * Closed-loop error of each stage in ticks; only means something while it's moving by position
+   */
+  public int getInnerStageError() {
+    return (int) Robot.HARDWARE.get(HardwareSignal.INNER_STAGE_ERROR);
+  }
+
+  public int getOuterStageError() {
+    return (int) Robot.HARDWARE.get(HardwareSignal.OUTER_STAGE_ERROR);
+  }
+
+  @Telemetered(value = "Inner Mast Inches", deadband = .05)
+  public double getInnerStageInches() {
+    return getInnerStagePosition() / Robot.PROFILE.get(ProfileValue.INNER_MAST_TICKS_PER_INCH);
+  }
+
+  @Telemetered(value = "Outer Mast Inches", deadband = .05)
+  public double getOuterStageInches() {
+    return getOuterStagePosition() / Robot.PROFILE.get(ProfileValue.OUTER_MAST_TICKS_PER_INCH);
+  }
+
+  @Telemetered(value = "First Stage Amps", deadband = .5)
+  public double getInnerStageAmps() {
+    return Robot.HARDWARE.get(HardwareSignal.INNER_STAGE_AMPS);
+  }
+
+  @Telemetered(value = "Second Stage Amps", deadband = .5)
+  public double getOuterStageAmps() {
+    return Robot.HARDWARE.get(HardwareSignal.OUTER_STAGE_AMPS);
+  }
+
+  @Telemetered(value = "Inner %", deadband = .5, scale = 100)
+  public double getInnerStageOutput() {
+    return Robot.HARDWARE.get(HardwareSignal.INNER_STAGE_OUTPUT);
+  }
+
+  @Telemetered(value = "Outer %", deadband = .5, scale = 100)
+  public double getOuterStageOutput() {
+    return Robot.HARDWARE.get(HardwareSignal.OUTER_STAGE_OUTPUT);
+  }
+
+  /**
+   * Asks for the inner stage's slot 0 gains. Only changed gains get sent, off the main thread,
+   * so this is fine to call every loop.
+   */
+  public void setInnerStagePIDF(double kP, double kI, double kD, double kF) {
+    gains.set(INNER, 0, kP, kI, kD, kF);
+  }
+
+  /**
+   * Asks for the outer stage's slot 0 gains, like setInnerStagePIDF()
+   */
+  public void setOuterStagePIDF(double kP, double kI, double kD, double kF) {
+    gains.set(OUTER, 0, kP, kI, kD, kF);
   }
 
-  public void publishInnerStagePIDData() {
-    SmartDashboard.putNumber("Inner %", 100 * innerStage.getMotorOutputPercent());
-    // SmartDashboard.putNumber("Inner Error", innerStage.getClosedLoopError());
+  /**
+   * @return gain config calls the Talons haven't acknowledged yet
+   */
+  public long getPendingGains() {
+    return gains.getPendingCount();
   }
 
-  public void publishOuterStagePIDData() {
-    SmartDashboard.putNumber("Outer %", 100 * outerStage.getMotorOutputPercent());
-    // SmartDashboard.putNumber("Outer Error", outerStage.getClosedLoopError());
+  public void stopMotors() {
+    innerStage.set(ControlMode.PercentOutput, 0);
+    outerStage.set(ControlMode.PercentOutput, 0);
   }
 }
@@ -15,6 +15,13 @@ import edu.wpi.first.wpilibj.Solenoid;
 import edu.wpi.first.wpilibj.DoubleSolenoid.Value;
 import edu.wpi.first.wpilibj.command.Subsystem;
 import frc.robot.Constants;
+import frc.robot.Robot;
+import frc.robot.Enumeration.EventType;
+import frc.robot.Enumeration.HardwareSignal;
+import frc.robot.Enumeration.MotorSetting;
+import frc.robot.Enumeration.ProfileValue;
+import frc.robot.Util.CountingTalonSRX;
+import frc.robot.Util.Telemetered;
 
 /**
  * Mechanism to suck balls
@@ -22,6 +29,7 @@ import frc.robot.Constants;
 public class SubsystemPreloader extends Subsystem {
   
   TalonSRX intake;
+  int      intakeConfig; // device index in Robot.MOTORS
 
   private Solenoid extend;
   private Solenoid retract;
@@ -34,13 +42,17 @@ public class SubsystemPreloader extends Subsystem {
   public void initDefaultCommand() {}
 
   public SubsystemPreloader() {
-    intake = new TalonSRX(Constants.INTAKE_ID);
+    intake = new CountingTalonSRX(Robot.PROFILE.getInt(ProfileValue.INTAKE_ID), "Intake", Robot.CAN);
+    intakeConfig = Robot.MOTORS.addTalon("Intake", intake);
       setInvert();
-      intake.configOpenloopRamp(0); //TODO remove when not needed
+      Robot.MOTORS.set(intakeConfig, MotorSetting.OPEN_LOOP_RAMP, 0); //TODO remove when not needed
     extend = new Solenoid(Constants.EXTEND_ID);
       // extend.setPulseDuration(Constants.SOLENOID_PULSE_SECONDS);
     retract = new Solenoid(Constants.RETRACT_ID);
       // retract.setPulseDuration(Constants.SOLENOID_PULSE_SECONDS);
+
+    Robot.HARDWARE.provide(HardwareSignal.INTAKE_OUTPUT, () -> intake.getMotorOutputPercent());
+    Robot.HARDWARE.provide(HardwareSignal.INTAKE_AMPS, () -> intake.getOutputCurrent());
   }
 
   public void eat(double speed) {
@@ -51,11 +63,12 @@ public class SubsystemPreloader extends Subsystem {
     intake.set(ControlMode.PercentOutput, 0);
   }
 
-  private void setInvert() {
-    intake.setInverted(Constants.INTAKE_INVERT);
+  public void setInvert() {
+    Robot.MOTORS.set(intakeConfig, MotorSetting.INVERTED, Robot.PROFILE.getBoolean(ProfileValue.INTAKE_INVERT));
   }
 
   public void extend() {
+    Robot.MAIN_EVENTS.log(EventType.INTAKE, 1);
     extended = true;
     extend.set(true);
     retract.set(false);
@@ -63,6 +76,7 @@ public class SubsystemPreloader extends Subsystem {
   }
 
   public void retract() {
+    Robot.MAIN_EVENTS.log(EventType.INTAKE, 0);
     extended = false;
     extend.set(false);
     retract.set(true);
@@ -82,11 +96,13 @@ public class SubsystemPreloader extends Subsystem {
     retract.startPulse();
   }
 
+  @Telemetered(value = "Intake Amps", deadband = .5)
   public double getAmps() {
-    return intake.getOutputCurrent();
+    return Robot.HARDWARE.get(HardwareSignal.INTAKE_AMPS);
   }
 
+  @Telemetered(value = "Ball Intake", deadband = .5, scale = 100)
   public double getPercentOutput() {
-    return intake.getMotorOutputPercent();
+    return Robot.HARDWARE.get(HardwareSignal.INTAKE_OUTPUT);
   }
 }
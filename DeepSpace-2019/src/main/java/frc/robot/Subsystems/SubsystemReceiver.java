@@ -8,31 +8,58 @@
 package frc.robot.Subsystems;
 
 import java.io.IOException;
-import java.net.DatagramPacket;
-import java.net.DatagramSocket;
-import java.net.SocketException;
-import java.util.stream.IntStream;
+import java.nio.file.Paths;
 
 import edu.wpi.first.wpilibj.DriverStation;
 import edu.wpi.first.wpilibj.command.Subsystem;
-import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
 import frc.robot.Constants;
+import frc.robot.Robot;
 import frc.robot.Commands.IterativeCommandUpdateRumble;
+import frc.robot.Enumeration.PacketError;
+import frc.robot.Enumeration.TargetSelection;
+import frc.robot.Enumeration.TelemetryRate;
+import frc.robot.Enumeration.Tunable;
+import frc.robot.Util.Dashboard;
+import frc.robot.Util.DashboardEntry;
+import frc.robot.Util.ReceiverStats;
+import frc.robot.Util.TargetEstimate;
+import frc.robot.Util.TargetTracker;
+import frc.robot.Util.Telemetered;
 import frc.robot.Util.Util;
+import frc.robot.Util.VisionListener;
+import frc.robot.Util.VisionRecorder;
+import frc.robot.Util.VisionSnapshot;
 
 /**
  * The receiver code that runs on the Rio to listen for UDP data
  */
 public class SubsystemReceiver extends Subsystem {
 
-  private static String latestSegment;
+  private static VisionListener listener;
+  private static TargetTracker  tracker;
 
-  private static Boolean inRange;
+  private final TargetEstimate estimate = new TargetEstimate(); // main loop's copy of the track, for telemetry
 
-  private static DatagramSocket serverSocket;
-  private static byte[]         receiveData;
+  private static volatile Boolean inRange;
 
-  private static long latestTime;
+  private static final DashboardEntry RPI_DATA           = Dashboard.getEntry("RPi Data");
+  private static final DashboardEntry PACKET_RATE        = Dashboard.getEntry("Vision Packets/s", .5);
+  private static final DashboardEntry VALID_PACKET_RATE  = Dashboard.getEntry("Vision Valid Packets/s", .5);
+  private static final DashboardEntry MILLIS_SINCE_VALID = Dashboard.getEntry("Vision ms Since Valid", 5);
+  private static final DashboardEntry DROPPED            = Dashboard.getEntry("Vision Dropped");
+  private static final DashboardEntry SEQUENCE_GAPS      = Dashboard.getEntry("Vision Sequence Gaps");
+  private static final DashboardEntry OUT_OF_ORDER       = Dashboard.getEntry("Vision Out Of Order");
+  private static final DashboardEntry RESTARTS           = Dashboard.getEntry("Vision Restarts");
+  private static final DashboardEntry IO_ERRORS          = Dashboard.getEntry("Vision IO Errors");
+  private static final DashboardEntry INTERVAL_HISTOGRAM = Dashboard.getEntry("Vision Interval Histogram");
+  private static final DashboardEntry LATENCY_HISTOGRAM  = Dashboard.getEntry("Vision Latency Histogram");
+
+  // health publishing, built once so publishHealth() makes no garbage but the RPi Data string
+  private final PacketError[]    errorTypes;
+  private final DashboardEntry[] errorEntries;
+  private final double[]         histogram;
+  private long                   lastHealthPublish;
+  private VisionSnapshot         lastRpiData;
 
   @Override
   public void initDefaultCommand() {
@@ -40,105 +67,184 @@ public class SubsystemReceiver extends Subsystem {
   }
 
   public SubsystemReceiver() {
-    latestSegment = "-1,-1,-1,-1";
-    latestTime    = System.currentTimeMillis();
-
-    SmartDashboard.putString("RPi Data", latestSegment);
+    RPI_DATA.setString(VisionSnapshot.NONE.toString());
 
     inRange = false;
 
-    try {
-      serverSocket = new DatagramSocket(3695);
-      receiveData  = new byte[1024];
-    } catch (SocketException e) { //thrown when a socket cannot be created
-      DriverStation.reportError("SOCKET EXCEPTION", true);
+    errorTypes = PacketError.values();
+    errorEntries = new DashboardEntry[errorTypes.length];
+    for (int i = 0; i < errorTypes.length; i++) {
+      errorEntries[i] = Dashboard.getEntry("Vision Errors: " + errorTypes[i].toString());
     }
+    histogram = new double[ReceiverStats.BUCKET_LIMITS_MS.length + 1];
 
-    // EXPECTED FORMAT OF INPUT STRING:
-    // :X,Y,H,D,A;
+    // EXPECTED FORMAT OF INPUT:
+    // binary VisionPacket (see VisionPacket for the layout), or the legacy string
+    // :X,Y,D,A;
       // X = X-coordinate
       // Y = Y-coordinate
       // D = Distance from target
       // A = Angle from center (positive = CW)
 
-    Thread listener = new Thread(() -> {
-      while(!Thread.interrupted()) {
-        try {
-          DatagramPacket receivePacket = new DatagramPacket(receiveData, receiveData.length); //create a new packet for the receiving data 
-          serverSocket.receive(receivePacket); //receive the packet from the Socket
-          // DriverStation.reportError("I GOT PI DATA", false);
-          String segment = new String(receivePacket.getData()).replaceAll("\\s+",""); //remove whitespace and place data in 'segment'
-          latestSegment = segment.substring(segment.indexOf(":") + 1, segment.indexOf(";")); // store segment without borders
-          latestTime = System.currentTimeMillis(); // add timestamp for stored segment
-          SmartDashboard.putString("RPi Data", segment.substring(segment.indexOf(":") + 1, segment.indexOf(";"))); // put string on dashboard without borders
-        } catch (IOException e) { //thrown when the socket cannot receive the packet
-          DriverStation.reportError("IO EXCEPTION", true);
-        }
-      }
-    });
-    
-    listener.start();
+    tracker = new TargetTracker(Constants.TRACKER_ALPHA, Constants.TRACKER_BETA, Constants.TRACKER_GATE_DEGREES,
+                                Constants.TRACKER_GATE_INCHES, Constants.TRACKER_CONFIDENCE_GAIN,
+                                Robot.CONFIG.get(Tunable.TRACKER_COAST_MS));
+
+    try {
+      listener = new VisionListener(Constants.VISION_PORT, snapshot -> {
+        tracker.update(snapshot);
+        updateTargetLock(snapshot);
+      });
+      listener.setEvents(Robot.EVENTS.newProducer("Vision", Constants.EVENT_RING_SIZE));
+      listener.start();
+    } catch (IOException e) { //thrown when a socket cannot be created
+      DriverStation.reportError("SOCKET EXCEPTION", true);
+    }
 
+    // raw packet log for replaying a match later with frc.robot.Tools.ReplayVision
+    if (listener != null && Robot.CONFIG.getBoolean(Tunable.RECORD_VISION)) {
+      try {
+        Util.deleteOldFiles(Paths.get(Constants.VISION_LOG_DIRECTORY), "vision-*.vrec", Constants.VISION_LOG_FILES - 1);
+        listener.setRecorder(new VisionRecorder(Paths.get(Constants.VISION_LOG_DIRECTORY, "vision-" + System.currentTimeMillis() + ".vrec"),
+                                                Constants.VISION_LOG_MAX_BYTES));
+      } catch (IOException e) { //thrown when old logs can't be deleted or the log file cannot be created
+        DriverStation.reportError("COULD NOT START VISION LOG", false);
+      }
+    }
   }
 
   /**
-   * Retrieves the last known pixel coordinates of the target
-   * @return [0] = X-coordinate (in pixels from left)
-   *         [1] = Y-coordinate (in pixels from bottom)
-   *         [2] = Distance (in inches)
-   *         [3] = Angle from center (in degrees; positive = CW)
-   *         {-1,-1,-1,-1} for no known location
+   * Puts the latest packet on the dashboard every loop it changes, and receiver health at most
+   * once every RECEIVER_HEALTH_PERIOD_MS. Packet rate and time since the last good packet tell a
+   * slow Pi from a dead one; the histograms are counts per bucket of ReceiverStats.BUCKET_LIMITS_MS.
+   * Main loop only, like every other dashboard key the receiver writes.
    */
-  public double[] getLastKnownData() {
-      double[] data = new double[]{-1,-1,-1,-1};
-      int[] indices = new int[]{2,5,8};
-      try {
-        indices = IntStream.range(0, latestSegment.length() - 1)
-                  .filter(i -> latestSegment.charAt(i) == ',')
-                  .toArray();
-        data[0] = Integer.parseInt(latestSegment.substring(0, latestSegment.indexOf(",", indices[0])));
-        data[1] = Integer.parseInt(latestSegment.substring(latestSegment.indexOf(",", indices[0]) + 1, latestSegment.indexOf(",", indices[1])));
-        data[2] = Integer.parseInt(latestSegment.substring(latestSegment.indexOf(",", indices[1]) + 1, latestSegment.indexOf(",", indices[2])));
-        data[3] = Integer.parseInt(latestSegment.substring(latestSegment.indexOf(",", indices[2]) + 1));
-      } catch (NumberFormatException e) {
-        DriverStation.reportError("NUMBER FORMAT EXCEPTION", true); 
-        DriverStation.reportError("latestSegment = " + latestSegment, false);
-        // DriverStation.reportError("data[0] = " + data[0], false); 
-        // DriverStation.reportError("data[1] = " + data[1], false); 
-        // DriverStation.reportError("data[2] = " + data[2], false); 
-        // DriverStation.reportError("data[3] = " + data[3], false);
-      } catch (StringIndexOutOfBoundsException e) {
-        DriverStation.reportError("STRING INDEX OUT OF BOUNDS EXCEPTION", true);
-        DriverStation.reportError("latestSegment = " + latestSegment, false);
-        // DriverStation.reportError("indices[0] = " + indices[0], false); 
-        // DriverStation.reportError("indices[1] = " + indices[1], false); 
-        // DriverStation.reportError("indices[2] = " + indices[2], false); 
-      } catch (ArrayIndexOutOfBoundsException e) {
-        DriverStation.reportError("ARRAY INDEX OUT OF BOUNDS EXCEPTION", true);
-        DriverStation.reportError("latestSegment = " + latestSegment, false);
-        // DriverStation.reportError("indices[0] = " + indices[0], false); 
-        // DriverStation.reportError("indices[1] = " + indices[1], false); 
-        // DriverStation.reportError("indices[2] = " + indices[2], false); 
+  public void publishHealth() {
+    if (listener == null) { return; }
+    VisionSnapshot latest = listener.getLatestSnapshot();
+    if (latest != lastRpiData) {
+      lastRpiData = latest;
+      RPI_DATA.setString(latest.toString()); // put data on dashboard without borders
+    }
+
+    long now = System.currentTimeMillis();
+    if (now - lastHealthPublish < Constants.RECEIVER_HEALTH_PERIOD_MS) { return; }
+    lastHealthPublish = now;
+
+    ReceiverStats stats = listener.getStats();
+    stats.updateRates();
+    PACKET_RATE.setNumber(Util.roundTo(stats.getReceivedRate(), 1));
+    VALID_PACKET_RATE.setNumber(Util.roundTo(stats.getValidRate(), 1));
+    MILLIS_SINCE_VALID.setNumber(Util.roundTo(stats.getMillisSinceValid(), 1));
+    DROPPED.setNumber(stats.getDroppedCount());
+    SEQUENCE_GAPS.setNumber(stats.getSequenceGapCount());
+    OUT_OF_ORDER.setNumber(stats.getOutOfOrderCount());
+    RESTARTS.setNumber(stats.getRestartCount());
+    IO_ERRORS.setNumber(stats.getIOErrorCount());
+    for (int i = 0; i < errorTypes.length; i++) {
+      if (errorTypes[i] != PacketError.NONE) {
+        errorEntries[i].setNumber(stats.getErrorCount(errorTypes[i]));
       }
-      updateTargetLock(data);
-      return data;
+    }
+
+    stats.getIntervalHistogram(histogram);
+    INTERVAL_HISTOGRAM.setNumberArray(histogram);
+    stats.getLatencyHistogram(histogram);
+    LATENCY_HISTOGRAM.setNumberArray(histogram);
+  }
+
+  /**
+   * Retrieves the most recently received vision data. The snapshot never changes,
+   * so read it once per loop and pull every value from the same one.
+   * Distance is -1 (and hasTarget() is false) if there is no known location.
+   * @return the latest decoded packet
+   */
+  public VisionSnapshot getLatestSnapshot() {
+    return listener == null ? VisionSnapshot.NONE : listener.getLatestSnapshot();
+  }
+
+  /**
+   * The smoothed target, updated with every packet. Commands should steer off this
+   * rather than the raw snapshot so a single dropped frame doesn't throw them off.
+   */
+  public TargetTracker getTracker() {
+    return tracker;
+  }
+
+  /**
+   * Sets how the target to chase gets picked when the Pi sees more than one
+   */
+  public void setTargetSelection(TargetSelection selection) {
+    if (listener != null && listener.getTargetSelection() != selection) {
+      listener.setTargetSelection(selection);
+    }
+  }
+
+  /**
+   * Forgets the target STICKY has locked onto, so a new approach starts from whichever is closest
+   */
+  public void resetTargetLock() {
+    if (listener != null) {
+      listener.resetTargetLock();
+    }
   }
 
   /**
-   * Returns the miliseconds since the pi sent the LastKnownLocation
-   * @return ms since last received UDP packet
+   * @return good packets skipped because a newer one was already queued
+   */
+  public long getDroppedPacketCount() {
+    return listener == null ? 0 : listener.getStats().getDroppedCount();
+  }
+
+  /**
+   * Returns the seconds since the pi sent the LastKnownLocation
+   * @return seconds since last received UDP packet
    */
   public double getSecondsSinceUpdate() {
-    return Util.roundTo((double) ((System.currentTimeMillis() - latestTime) / 1000), 5);
+    return Util.roundTo((System.currentTimeMillis() - getLatestSnapshot().getTimestamp()) / 1000.0, 5);
+  }
+
+  /**
+   * @return true if the Pi has sent anything in the last second
+   */
+  @Telemetered("Updated")
+  public boolean isUpdating() {
+    return getSecondsSinceUpdate() < 1;
+  }
+
+  @Telemetered(value = "Target Spotted", rate = TelemetryRate.FAST)
+  public boolean hasTarget() {
+    return getLatestSnapshot().hasTarget();
+  }
+
+  @Telemetered(value = "Target Confidence", deadband = .01)
+  public double getTargetConfidence() {
+    tracker.read(estimate);
+    return estimate.getConfidence(System.nanoTime());
+  }
+
+  /**
+   * @return the tracked angle as of the last frame (in degrees; positive = CW). Main loop only.
+   */
+  public double getTrackedAngle() {
+    tracker.read(estimate);
+    return estimate.getAngle();
+  }
+
+  /**
+   * @return ms since the last packet that decoded cleanly, -1 if there hasn't been one
+   */
+  public double getMillisSinceValidPacket() {
+    return listener == null ? -1 : listener.getStats().getMillisSinceValid();
   }
 
   /**
    * If data is being received, records whether or not its in "target lock" range
    * If dats is not being received, the last known state is kept
    */
-  public void updateTargetLock( double[] data) {
-    if (data[2] != -1) {
-      inRange = data[2] < Constants.DOCKING_TARGET_LOCK_RANGE;
+  private void updateTargetLock(VisionSnapshot snapshot) {
+    if (snapshot.hasTarget()) {
+      inRange = snapshot.getDistance() < Constants.DOCKING_TARGET_LOCK_RANGE;
     }
   }
 
@@ -149,4 +255,4 @@ public class SubsystemReceiver extends Subsystem {
   public Boolean getWithinRange() {
     return inRange;
   }
-}
\ No newline at end of file
+}
@@ -8,24 +8,21 @@
 package frc.robot.Subsystems;
 
 import java.io.IOException;
-import java.net.DatagramPacket;
-import java.net.DatagramSocket;
-import java.net.InetAddress;
-import java.net.SocketException;
-import java.net.UnknownHostException;
+import java.net.InetSocketAddress;
 
 import edu.wpi.first.wpilibj.DriverStation;
 import edu.wpi.first.wpilibj.command.Subsystem;
 import frc.robot.Constants;
+import frc.robot.Robot;
+import frc.robot.Enumeration.Tunable;
+import frc.robot.Util.VisionSender;
 
 /**
- * Add your docs here.
+ * The sender code that runs on the Rio to tell the Pi which pipeline to run
  */
 public class SubsystemSender extends Subsystem {
-  // Put methods for controlling this subsystem
-  // here. Call these from Commands.
 
-  private byte[] buffer;
+  private static VisionSender sender;
 
   @Override
   public void initDefaultCommand() {
@@ -34,34 +31,30 @@ public class SubsystemSender extends Subsystem {
   }
 
   public SubsystemSender() {
-    buffer = new byte[]{Constants.ASCII_ZERO};
-    // new Thread(() -> {
-    //   byte [] IP   = {10,36,95,16};
-    //   int     port = 3695;
-    //   while (!Thread.interrupted()) {
-    //     try {
-    //       InetAddress address = InetAddress.getByAddress(IP);
-    //       DatagramPacket packet = new DatagramPacket(
-    //         buffer, buffer.length, address, port
-    //         );
-    //       // DriverStation.reportWarning("Packet:" + buffer.toString(), false);
-    //       DatagramSocket datagramSocket = new DatagramSocket();
-    //       // datagramSocket.
-    //       // DriverStation.reportWarning("Port:" + datagramSocket.getLocalPort(), false);
-    //       datagramSocket.send(packet);
-    //     } catch (UnknownHostException e) {
-    //       DriverStation.reportError(e.toString(), true);
-    //     } catch (SocketException e) {
-    //       DriverStation.reportError(e.toString(), true);
-    //     } catch (IOException e) {
-    //       DriverStation.reportError(e.toString(), true);
-    //     }
-    //   }
-    // }).start();
+    try {
+      sender = new VisionSender(new InetSocketAddress(Constants.COPROCESSOR_ADDRESS, Constants.VISION_PORT),
+                                Constants.ASCII_ZERO,
+                                Robot.CONFIG.get(Tunable.SENDER_HEARTBEAT_MS));
+      sender.start();
+    } catch (IOException e) { //thrown when a socket cannot be created
+      DriverStation.reportError("SOCKET EXCEPTION", true);
+    }
   }
 
-  public void setData(byte[] buffer)  {
-    this.buffer = buffer; 
+  /**
+   * Sets the mode byte sent to the Pi. Sent right away if it changed, otherwise nothing happens.
+   * @param mode Constants.ASCII_ONE to dock, Constants.ASCII_ZERO otherwise
+   */
+  public void setMode(byte mode) {
+    if (sender != null) {
+      sender.setMode(mode);
+    }
   }
 
+  /**
+   * @return packets sent to the Pi, heartbeats included
+   */
+  public long getSentCount() {
+    return sender == null ? 0 : sender.getSentCount();
+  }
 }
@@ -10,6 +10,9 @@ package frc.robot.Subsystems;
 import edu.wpi.first.wpilibj.Solenoid;
 import edu.wpi.first.wpilibj.command.Subsystem;
 import frc.robot.Constants;
+import frc.robot.Robot;
+import frc.robot.Enumeration.EventType;
+import frc.robot.Util.Telemetered;
 
 /**
  * Pneumatics for the drivetrain's two-speed gearboxes
@@ -35,6 +38,9 @@ public class SubsystemShifter extends Subsystem {
    * Puts both gearboxes in first gear
    */
   public void downShift() {
+    if (!firstGear) {
+      Robot.MAIN_EVENTS.log(EventType.GEAR_SHIFT, 1);
+    }
     firstGear = true;
     downShift.set(true);
     upShift.set(false);
@@ -44,6 +50,9 @@ public class SubsystemShifter extends Subsystem {
    * Puts both gearboxes in second gear
    */
   public void upShift() {
+    if (firstGear) {
+      Robot.MAIN_EVENTS.log(EventType.GEAR_SHIFT, 2);
+    }
     firstGear = false;
     downShift.set(false);
     upShift.set(true);
@@ -68,15 +77,22 @@ public class SubsystemShifter extends Subsystem {
    * Checks what gear the gearboxes are in
    * @return whether gearboxes are in first gear
    */
-  public Boolean isFirstGear() {
+  @Telemetered("First Gear")
+  public boolean isFirstGear() {
     return firstGear;
   }
 
+  @Telemetered("Second Gear")
+  public boolean isSecondGear() {
+    return !firstGear;
+  }
+
   /**
    * Retrieves the state of the automatic shifting
    * @return true if auto, false if manual
    */
-  public Boolean isAutoShifting() {
+  @Telemetered("Auto Shifting")
+  public boolean isAutoShifting() {
     return autoShifting;
   }
 
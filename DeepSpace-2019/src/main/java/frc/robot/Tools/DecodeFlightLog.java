@@ -0,0 +1,168 @@
+package frc.robot.Tools;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+import frc.robot.Util.FlightRecorder;
+
+/**
+ * Turns a flight log pulled off the robot into something a spreadsheet or a notebook can open.
+ * Records come out oldest first, with time in seconds since the log was opened.
+ *   --csv writes one row per loop.
+ *   --columns writes a directory with one file per column, each just the values as
+ *   little-endian doubles, plus schema.csv naming them. numpy.fromfile(path, "<f8")
+ *   reads a column without touching the rest.
+ *
+ * Run from the command line:
+ *   java frc.robot.Tools.DecodeFlightLog flight-1234.frec [--csv out.csv] [--columns outdir]
+ */
+public class DecodeFlightLog {
+
+	private final ByteBuffer log;
+	private final String[]   names;
+	private final int        headerSize;
+	private final int        recordSize;
+	private final int        capacity;
+	private final long       startMillis;
+	private final long       startNanos;
+	private final long       first;
+	private final long       written;
+
+	/**
+	 * Opens a log
+	 * @param path file written by FlightRecorder
+	 * @throws IOException if the file cannot be read or isn't a flight log
+	 */
+	public DecodeFlightLog(Path path) throws IOException {
+		try (FileChannel file = FileChannel.open(path, StandardOpenOption.READ)) {
+			log = file.map(FileChannel.MapMode.READ_ONLY, 0, file.size()).order(ByteOrder.LITTLE_ENDIAN);
+		}
+		if (log.remaining() < FlightRecorder.NAMES_OFFSET || log.getInt() != FlightRecorder.MAGIC) {
+			throw new IOException(path + " is not a flight log");
+		}
+		if (log.getInt() != FlightRecorder.VERSION) {
+			throw new IOException(path + " is from a different version of the recorder");
+		}
+		headerSize  = log.getInt();
+		recordSize  = log.getInt();
+		capacity    = log.getInt();
+		names       = new String[log.getInt()];
+		startMillis = log.getLong();
+		startNanos  = log.getLong();
+		written     = log.getLong();
+		for (int i = 0; i < names.length; i++) {
+			byte[] name = new byte[log.getShort()];
+			log.get(name);
+			names[i] = new String(name, StandardCharsets.UTF_8);
+		}
+		// once the ring has wrapped, the oldest slot may have been mid-overwrite when the robot stopped
+		first = written < capacity ? 0 : written - capacity + 1;
+	}
+
+	public int getRecordCount() {
+		return (int) (written - first);
+	}
+
+	/**
+	 * @param record 0 for the oldest record still in the log
+	 * @return       seconds since the log was opened
+	 */
+	public double getTime(int record) {
+		return (log.getLong(offset(record)) - startNanos) / 1e9;
+	}
+
+	/**
+	 * @param record 0 for the oldest record still in the log
+	 * @param column index into getColumnNames()
+	 */
+	public double getValue(int record, int column) {
+		return log.getDouble(offset(record) + 8 + 8 * column);
+	}
+
+	private int offset(int record) {
+		return headerSize + (int) ((first + record) % capacity) * recordSize;
+	}
+
+	public String[] getColumnNames() {
+		return names.clone();
+	}
+
+	/**
+	 * @return System.currentTimeMillis() when the log was opened
+	 */
+	public long getStartMillis() {
+		return startMillis;
+	}
+
+	public void writeCsv(Path path) throws IOException {
+		try (PrintStream csv = new PrintStream(new BufferedOutputStream(new FileOutputStream(path.toFile())))) {
+			csv.print("time");
+			for (String name : names) {
+				csv.print(',');
+				csv.print(name.replace(',', ' '));
+			}
+			csv.println();
+			for (int record = 0; record < getRecordCount(); record++) {
+				csv.print(getTime(record));
+				for (int column = 0; column < names.length; column++) {
+					csv.print(',');
+					csv.print(getValue(record, column));
+				}
+				csv.println();
+			}
+		}
+	}
+
+	public void writeColumns(Path directory) throws IOException {
+		Files.createDirectories(directory);
+		try (PrintStream schema = new PrintStream(directory.resolve("schema.csv").toFile())) {
+			schema.println("column,file,rows");
+			writeColumn(directory, schema, "time", -1);
+			for (int column = 0; column < names.length; column++) {
+				writeColumn(directory, schema, names[column], column);
+			}
+		}
+	}
+
+	private void writeColumn(Path directory, PrintStream schema, String name, int column) throws IOException {
+		String file  = String.format("%03d_%s.f64", column + 1, name.replaceAll("[^A-Za-z0-9]+", "_"));
+		int    count = getRecordCount();
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(directory.resolve(file).toFile())))) {
+			for (int record = 0; record < count; record++) {
+				double value = column < 0 ? getTime(record) : getValue(record, column);
+				out.writeLong(Long.reverseBytes(Double.doubleToRawLongBits(value))); // DataOutputStream is big-endian
+			}
+		}
+		schema.printf("%s,%s,%d%n", name.replace(',', ' '), file, count);
+	}
+
+	public static void main(String[] args) throws IOException {
+		if (args.length == 0) {
+			System.out.println("usage: DecodeFlightLog <log> [--csv out.csv] [--columns outdir]");
+			return;
+		}
+		DecodeFlightLog log     = new DecodeFlightLog(Paths.get(args[0]));
+		String          csv     = VisionLoadGenerator.option(args, "--csv", null);
+		String          columns = VisionLoadGenerator.option(args, "--columns", null);
+
+		System.out.printf("%d records of %d columns, %.1f s, started %tc%n", log.getRecordCount(), log.names.length,
+		                  log.getRecordCount() == 0 ? 0 : log.getTime(log.getRecordCount() - 1) - log.getTime(0), log.getStartMillis());
+		if (csv != null) {
+			log.writeCsv(Paths.get(csv));
+		}
+		if (columns != null) {
+			log.writeColumns(Paths.get(columns));
+		}
+	}
+}
@@ -0,0 +1,97 @@
+package frc.robot.Tools;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+
+import frc.robot.Enumeration.PacketError;
+import frc.robot.Util.ReceiverStats;
+import frc.robot.Util.VisionListener;
+import frc.robot.Util.VisionSnapshot;
+
+/**
+ * Points a VisionLoadGenerator at a real VisionListener over loopback and reports how the
+ * listener held up: throughput, time from the generator stamping a packet to the listener
+ * publishing it, and how much CPU the listener thread burned doing it.
+ * Latency needs the binary format, since ASCII packets carry no timestamp.
+ *
+ * Run from the command line with the same options as VisionLoadGenerator, e.g.
+ *   java frc.robot.Tools.ReceiverBenchmark --rate 5000 --seconds 10 --profile hostile
+ * It listens on --port (default 46995) so it doesn't fight anything already on 3695.
+ */
+public class ReceiverBenchmark {
+
+	private static final int DEFAULT_PORT  = 46995;
+	private static final int MAX_LATENCIES = 1_000_000;
+
+	private final long[] latencies = new long[MAX_LATENCIES];
+	private volatile int  latencyCount;
+	private volatile long published;
+	private volatile long listenerThreadId = -1;
+
+	private void onPublish(VisionSnapshot snapshot) {
+		long now = System.nanoTime();
+		if (listenerThreadId < 0) {
+			listenerThreadId = Thread.currentThread().getId();
+		}
+		published++;
+		if (snapshot.getCaptureTimestamp() != 0 && latencyCount < MAX_LATENCIES) {
+			latencies[latencyCount] = now - snapshot.getCaptureTimestamp() * 1000;
+			latencyCount++;
+		}
+	}
+
+	private void run(String[] args) throws IOException, InterruptedException {
+		int port = Integer.parseInt(VisionLoadGenerator.option(args, "--port", Integer.toString(DEFAULT_PORT)));
+		if (VisionLoadGenerator.option(args, "--seconds", null) == null) {
+			args = Arrays.copyOf(args, args.length + 2);
+			args[args.length - 2] = "--seconds";
+			args[args.length - 1] = "10";
+		}
+
+		VisionListener      listener  = new VisionListener(port, this::onPublish);
+		VisionLoadGenerator generator = VisionLoadGenerator.fromArgs(args, port);
+		ThreadMXBean        threads   = ManagementFactory.getThreadMXBean();
+
+		listener.start();
+		long start = System.nanoTime();
+		generator.run();
+		Thread.sleep(100); // let the last packets land
+		double seconds = (System.nanoTime() - start) / 1e9;
+		long   cpu     = listenerThreadId < 0 ? 0 : threads.getThreadCpuTime(listenerThreadId);
+		listener.stop();
+		generator.close();
+
+		ReceiverStats stats = listener.getStats();
+		System.out.printf("Sent          %d packets in %.2f s (%.0f/s), %d send errors%n",
+		                  generator.getSentCount(), seconds, generator.getSentCount() / seconds, generator.getIOErrorCount());
+		System.out.printf("Received      %d (%.0f/s), %.2f%% of sent%n",
+		                  stats.getReceivedCount(), stats.getReceivedCount() / seconds,
+		                  100.0 * stats.getReceivedCount() / Math.max(1, generator.getSentCount()));
+		System.out.printf("Published     %d (%.0f/s), %d superseded in a batch%n", published, published / seconds, stats.getDroppedCount());
+		System.out.printf("Sequence      %d gaps, %d out of order%n", stats.getSequenceGapCount(), stats.getOutOfOrderCount());
+		for (PacketError error : PacketError.values()) {
+			if (error != PacketError.NONE) {
+				System.out.printf("Errors        %s: %d%n", error, stats.getErrorCount(error));
+			}
+		}
+		System.out.printf("Listener CPU  %.1f ms total, %.2f%% of one core, %.2f us per datagram%n",
+		                  cpu / 1e6, 100 * cpu / 1e9 / seconds, cpu / 1e3 / Math.max(1, stats.getReceivedCount()));
+
+		int count = latencyCount;
+		if (count == 0) {
+			System.out.println("Latency       n/a (needs --format binary)");
+			return;
+		}
+		long[] sorted = Arrays.copyOf(latencies, count);
+		Arrays.sort(sorted);
+		System.out.printf("Latency       p50 %.1f us, p99 %.1f us, p99.9 %.1f us, max %.1f us over %d packets%n",
+		                  sorted[count / 2] / 1e3, sorted[(int) (count * .99)] / 1e3, sorted[(int) (count * .999)] / 1e3,
+		                  sorted[count - 1] / 1e3, count);
+	}
+
+	public static void main(String[] args) throws IOException, InterruptedException {
+		new ReceiverBenchmark().run(args);
+	}
+}
@@ -0,0 +1,81 @@
+package frc.robot.Tools;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Paths;
+
+import frc.robot.Constants;
+import frc.robot.Enumeration.TargetSelection;
+import frc.robot.Util.ReceiverStats;
+import frc.robot.Util.TargetEstimate;
+import frc.robot.Util.TargetTracker;
+import frc.robot.Util.VisionProcessor;
+import frc.robot.Util.VisionReplay;
+import frc.robot.Util.VisionSnapshot;
+
+/**
+ * Replays a vision log pulled off the robot through the same decode, target selection
+ * and tracking code the robot runs, and writes what came out as CSV.
+ * Without --realtime it runs as fast as it can and reports how long that took,
+ * which doubles as a benchmark of the pipeline against real match traffic.
+ *
+ * Run from the command line:
+ *   java frc.robot.Tools.ReplayVision vision-1234.vrec [--realtime]
+ *     [--selection closest|most_centered|sticky] [--csv out.csv]
+ */
+public class ReplayVision {
+
+	public static void main(String[] args) throws IOException {
+		if (args.length == 0) {
+			System.out.println("usage: ReplayVision <log> [--realtime] [--selection closest|most_centered|sticky] [--csv out.csv]");
+			return;
+		}
+		boolean realTime = false;
+		for (String arg : args) {
+			realTime |= arg.equals("--realtime");
+		}
+		String          csvPath   = VisionLoadGenerator.option(args, "--csv", null);
+		TargetSelection selection = TargetSelection.valueOf(VisionLoadGenerator.option(args, "--selection", "sticky").toUpperCase());
+
+		VisionReplay   replay   = new VisionReplay(Paths.get(args[0]));
+		TargetTracker  tracker  = new TargetTracker(Constants.TRACKER_ALPHA, Constants.TRACKER_BETA, Constants.TRACKER_GATE_DEGREES,
+		                                            Constants.TRACKER_GATE_INCHES, Constants.TRACKER_CONFIDENCE_GAIN,
+		                                            Constants.BACKUP_TRACKER_COAST_MS);
+		TargetEstimate estimate = new TargetEstimate();
+		PrintStream    csv      = csvPath == null ? null : new PrintStream(csvPath);
+		if (csv != null) {
+			csv.println("ms since start,sequence,valid,targets,x,y,distance,angle,tracking,tracked distance,tracked angle,confidence");
+		}
+
+		VisionProcessor processor = new VisionProcessor(snapshot -> {
+			tracker.update(snapshot);
+			if (csv != null) {
+				writeRow(csv, snapshot, tracker, estimate, replay.getStartMillis());
+			}
+		});
+		processor.setTargetSelection(selection);
+
+		long start = System.nanoTime();
+		replay.play(processor, realTime);
+		double seconds = (System.nanoTime() - start) / 1e9;
+		if (csv != null) {
+			csv.close();
+		}
+
+		ReceiverStats stats = processor.getStats();
+		System.out.printf("Replayed %d datagrams in %d bursts in %.3f s (%.2f us per datagram)%n",
+		                  replay.getDatagramCount(), replay.getBatchCount(), seconds,
+		                  seconds * 1e6 / Math.max(1, replay.getDatagramCount()));
+		System.out.printf("%d published, %d decode errors, %d sequence gaps, %d out of order%n",
+		                  stats.getValidCount(), stats.getErrorCount(), stats.getSequenceGapCount(), stats.getOutOfOrderCount());
+	}
+
+	private static void writeRow(PrintStream csv, VisionSnapshot snapshot, TargetTracker tracker, TargetEstimate estimate, long startMillis) {
+		long now = snapshot.getReceiveNanos();
+		tracker.read(estimate);
+		csv.printf("%d,%d,%b,%d,%.1f,%.1f,%.1f,%.2f,%b,%.1f,%.2f,%.2f%n",
+		           snapshot.getTimestamp() - startMillis, snapshot.getSequence(), snapshot.isValid(), snapshot.getTargetCount(),
+		           snapshot.getX(), snapshot.getY(), snapshot.getDistance(), snapshot.getAngle(),
+		           estimate.isTracking(now), estimate.getDistance(), estimate.getAngle(), estimate.getConfidence(now));
+	}
+}
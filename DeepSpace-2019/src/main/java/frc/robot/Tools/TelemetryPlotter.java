@@ -0,0 +1,140 @@
+package frc.robot.Tools;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.io.IOException;
+
+import javax.swing.JFrame;
+import javax.swing.JPanel;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+
+import frc.robot.Constants;
+
+/**
+ * Live strip chart of a few telemetry channels, fed by a TelemetryReceiver.
+ * Each channel gets its own color and is scaled to its own range over the window,
+ * so a 0-1 boolean and a 0-12 voltage can share the plot.
+ *
+ * Run from the command line:
+ *   java frc.robot.Tools.TelemetryPlotter [host] --channels "Battery Volts,Left Amps" [--port 5801] [--window 10]
+ * Without --channels it lists what the robot is sending and exits.
+ */
+public class TelemetryPlotter extends JPanel {
+
+	private static final long serialVersionUID = 1L;
+
+	private static final Color[] COLORS = { Color.RED, Color.BLUE, new Color(0, 150, 0), Color.MAGENTA, Color.ORANGE, Color.CYAN.darker(), Color.BLACK };
+	private static final int     REPAINT_MS = 50;
+
+	private final String[]   names;
+	private final int        capacity;
+	private final double[][] history;
+	private final int[]      channels;
+
+	private int head;  // next slot to write
+	private int count; // filled slots
+
+	/**
+	 * @param names    channels to plot
+	 * @param capacity frames to keep on screen
+	 */
+	public TelemetryPlotter(String[] names, int capacity) {
+		this.names    = names;
+		this.capacity = capacity;
+		history       = new double[names.length][capacity];
+		channels      = new int[names.length];
+		setPreferredSize(new Dimension(1000, 500));
+		setBackground(Color.WHITE);
+	}
+
+	/**
+	 * Adds the receiver's latest frame to the chart. Called on the receiving thread.
+	 */
+	private void add(TelemetryReceiver receiver) {
+		synchronized (history) {
+			for (int i = 0; i < names.length; i++) {
+				if (receiver.getFramesReceived() == 1 || channels[i] < 0) {
+					channels[i] = receiver.getChannel(names[i]);
+				}
+				history[i][head] = channels[i] < 0 ? Double.NaN : receiver.getValue(channels[i]);
+			}
+			head  = (head + 1) % capacity;
+			count = Math.min(count + 1, capacity);
+		}
+	}
+
+	@Override
+	protected void paintComponent(Graphics graphics) {
+		super.paintComponent(graphics);
+		Graphics2D g = (Graphics2D) graphics;
+		g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+		int width  = getWidth();
+		int height = getHeight() - 20;
+
+		synchronized (history) {
+			for (int i = 0; i < names.length; i++) {
+				double min = Double.POSITIVE_INFINITY;
+				double max = Double.NEGATIVE_INFINITY;
+				for (int n = 0; n < count; n++) {
+					double value = history[i][n];
+					if (!Double.isNaN(value)) {
+						min = Math.min(min, value);
+						max = Math.max(max, value);
+					}
+				}
+				if (min > max) { continue; } // nothing yet
+				double range = max - min == 0 ? 1 : max - min;
+
+				g.setColor(COLORS[i % COLORS.length]);
+				g.setStroke(new BasicStroke(1.5f));
+				int lastX = -1;
+				int lastY = 0;
+				for (int n = 0; n < count; n++) {
+					double value = history[i][(head - count + n + capacity) % capacity];
+					if (Double.isNaN(value)) { continue; }
+					int x = (int) ((long) n * width / capacity);
+					int y = 10 + (int) ((1 - (value - min) / range) * (height - 10));
+					if (lastX >= 0) {
+						g.drawLine(lastX, lastY, x, y);
+					}
+					lastX = x;
+					lastY = y;
+				}
+				double latest = history[i][(head - 1 + capacity) % capacity];
+				g.drawString(String.format("%s %.2f  [%.2f, %.2f]", names[i], latest, min, max), 10 + 250 * i, getHeight() - 5);
+			}
+		}
+	}
+
+	public static void main(String[] args) throws IOException {
+		int    port   = Integer.parseInt(VisionLoadGenerator.option(args, "--port", Integer.toString(Constants.TELEMETRY_STREAM_PORT)));
+		double window = Double.parseDouble(VisionLoadGenerator.option(args, "--window", "10"));
+		String wanted = VisionLoadGenerator.option(args, "--channels", null);
+
+		TelemetryReceiver receiver = new TelemetryReceiver(TelemetryReceiver.robotHost(args), port);
+		if (wanted == null) {
+			receiver.run(3000, r -> Thread.currentThread().interrupt());
+			for (String name : receiver.getNames()) {
+				System.out.println(name);
+			}
+			receiver.close();
+			return;
+		}
+
+		TelemetryPlotter plot = new TelemetryPlotter(wanted.split(","), (int) (window * Constants.TELEMETRY_STREAM_HZ));
+		SwingUtilities.invokeLater(() -> {
+			JFrame frame = new JFrame("Telemetry " + wanted);
+			frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+			frame.add(plot);
+			frame.pack();
+			frame.setVisible(true);
+			new Timer(REPAINT_MS, event -> plot.repaint()).start();
+		});
+		receiver.run(0, plot::add);
+	}
+}
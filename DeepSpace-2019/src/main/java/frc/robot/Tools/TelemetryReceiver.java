@@ -0,0 +1,269 @@
+package frc.robot.Tools;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import frc.robot.Constants;
+import frc.robot.Util.TelemetryStream;
+
+/**
+ * Laptop end of TelemetryStream: says HELLO to the robot, learns the channel names from the
+ * schema it sends back, then decodes every frame. Keeps saying HELLO so the robot keeps sending,
+ * and asks for the schema again if the robot restarts with different channels.
+ * Prints how many bytes the stream actually uses, and can write every frame to CSV.
+ *
+ * Run from the command line:
+ *   java frc.robot.Tools.TelemetryReceiver [host] [--port 5801] [--seconds 10] [--csv out.csv]
+ * host defaults to the roboRIO; use 127.0.0.1 against a robot program running in simulation.
+ */
+public class TelemetryReceiver {
+
+	/**
+	 * Called on the receiving thread after each frame is decoded
+	 */
+	public interface FrameListener {
+		void onFrame(TelemetryReceiver receiver);
+	}
+
+	private static final int RECEIVE_TIMEOUT_MS = 250;
+
+	private final DatagramSocket    socket;
+	private final InetSocketAddress robot;
+	private final DatagramPacket    packet = new DatagramPacket(new byte[65536], 65536);
+
+	// schema, filled in as parts arrive
+	private int       schemaId;
+	private String[]  names     = new String[0];
+	private boolean[] isBoolean = new boolean[0];
+	private boolean[] known     = new boolean[0];
+	private boolean   complete;
+
+	// latest frame, in channel order
+	private double[] values = new double[0];
+	private int      sequence;
+	private int      millis;
+
+	private long lastHello;
+	private long framesReceived;
+	private long bytesReceived;
+	private long sequenceGaps;
+
+	/**
+	 * @param host robot address
+	 * @param port port the robot's TelemetryStream is bound to
+	 * @throws IOException if the socket cannot be opened
+	 */
+	public TelemetryReceiver(String host, int port) throws IOException {
+		robot  = new InetSocketAddress(host, port);
+		socket = new DatagramSocket();
+		socket.setSoTimeout(RECEIVE_TIMEOUT_MS);
+	}
+
+	/**
+	 * Receives until the thread is interrupted or the time runs out
+	 * @param millis   how long to run, 0 for no limit
+	 * @param listener gets every frame, may be null
+	 */
+	public void run(long millis, FrameListener listener) throws IOException {
+		long end = System.currentTimeMillis() + millis;
+		while (!Thread.interrupted() && (millis == 0 || System.currentTimeMillis() < end)) {
+			if (System.currentTimeMillis() - lastHello >= TelemetryStream.HELLO_INTERVAL_MS) {
+				sendHello();
+			}
+			try {
+				socket.receive(packet);
+			} catch (SocketTimeoutException e) { //thrown when nothing arrived in time, so go around and say HELLO again
+				continue;
+			}
+			bytesReceived += packet.getLength();
+			if (decode(ByteBuffer.wrap(packet.getData(), 0, packet.getLength()).order(ByteOrder.LITTLE_ENDIAN)) && listener != null) {
+				listener.onFrame(this);
+			}
+		}
+	}
+
+	public void close() {
+		socket.close();
+	}
+
+	private void sendHello() throws IOException {
+		ByteBuffer hello = ByteBuffer.allocate(9).order(ByteOrder.LITTLE_ENDIAN);
+		hello.putInt(TelemetryStream.MAGIC);
+		hello.put((byte) TelemetryStream.HELLO);
+		hello.putInt(complete ? schemaId : 0);
+		socket.send(new DatagramPacket(hello.array(), hello.capacity(), robot));
+		lastHello = System.currentTimeMillis();
+	}
+
+	/**
+	 * @return true if it was a frame that could be decoded
+	 */
+	private boolean decode(ByteBuffer datagram) {
+		if (datagram.remaining() < 9 || datagram.getInt() != TelemetryStream.MAGIC) { return false; }
+		int kind = datagram.get();
+		int id   = datagram.getInt();
+		if (kind == TelemetryStream.SCHEMA) {
+			decodeSchema(datagram, id);
+			return false;
+		}
+		if (kind != TelemetryStream.FRAME) { return false; }
+		if (!complete || id != schemaId) {
+			return false; // the next HELLO carries the old id, so the robot answers it with the new schema
+		}
+
+		int next = datagram.getInt();
+		if (framesReceived > 0 && next != sequence + 1) {
+			sequenceGaps++;
+		}
+		sequence = next;
+		millis   = datagram.getInt();
+
+		int bits = 0;
+		int bit  = 8;
+		for (int i = 0; i < names.length; i++) {
+			if (!isBoolean[i]) { continue; }
+			if (bit == 8) {
+				bits = datagram.get();
+				bit  = 0;
+			}
+			values[i] = (bits >> bit++) & 1;
+		}
+		for (int i = 0; i < names.length; i++) {
+			if (!isBoolean[i]) {
+				values[i] = datagram.getFloat();
+			}
+		}
+		framesReceived++;
+		return true;
+	}
+
+	private void decodeSchema(ByteBuffer datagram, int id) {
+		int count = datagram.getShort();
+		int first = datagram.getShort();
+		int parts = datagram.getShort();
+		if (id != schemaId || names.length != count) {
+			schemaId  = id;
+			names     = new String[count];
+			isBoolean = new boolean[count];
+			known     = new boolean[count];
+			values    = new double[count];
+			complete  = false;
+		}
+		for (int i = first; i < first + parts; i++) {
+			isBoolean[i] = datagram.get() != 0;
+			byte[] name  = new byte[datagram.getShort()];
+			datagram.get(name);
+			names[i] = new String(name, StandardCharsets.UTF_8);
+			known[i] = true;
+		}
+		boolean all = true;
+		for (boolean channel : known) {
+			all &= channel;
+		}
+		complete = all;
+	}
+
+	public boolean hasSchema() {
+		return complete;
+	}
+
+	public String[] getNames() {
+		return names.clone();
+	}
+
+	/**
+	 * @return index into the latest frame, or -1 if the robot has no such channel
+	 */
+	public int getChannel(String name) {
+		return Arrays.asList(names).indexOf(name);
+	}
+
+	/**
+	 * @param channel index into getNames(); booleans read as 1 or 0
+	 */
+	public double getValue(int channel) {
+		return values[channel];
+	}
+
+	/**
+	 * @return ms since the robot's stream started, when the latest frame was sampled
+	 */
+	public int getMillis() {
+		return millis;
+	}
+
+	public long getFramesReceived() {
+		return framesReceived;
+	}
+
+	/**
+	 * @return UDP payload bytes received so far, frames and schemas
+	 */
+	public long getBytesReceived() {
+		return bytesReceived;
+	}
+
+	public long getSequenceGaps() {
+		return sequenceGaps;
+	}
+
+	/**
+	 * @return the host given on the command line, or the roboRIO's field address
+	 */
+	static String robotHost(String[] args) {
+		return args.length > 0 && !args[0].startsWith("--") ? args[0] : Constants.ROBOT_ADDRESS;
+	}
+
+	public static void main(String[] args) throws IOException {
+		int    port    = Integer.parseInt(VisionLoadGenerator.option(args, "--port", Integer.toString(Constants.TELEMETRY_STREAM_PORT)));
+		double seconds = Double.parseDouble(VisionLoadGenerator.option(args, "--seconds", "0"));
+		String csvPath = VisionLoadGenerator.option(args, "--csv", null);
+
+		TelemetryReceiver receiver = new TelemetryReceiver(robotHost(args), port);
+		PrintStream       csv      = csvPath == null ? null : new PrintStream(csvPath);
+		long[]            report   = { System.currentTimeMillis(), 0, 0 }; // time, bytes, frames at the last report
+
+		receiver.run((long) (seconds * 1000), r -> {
+			if (csv != null) {
+				if (r.getFramesReceived() == 1) {
+					csv.print("ms");
+					for (String name : r.names) {
+						csv.print(',');
+						csv.print(name.replace(',', ' '));
+					}
+					csv.println();
+				}
+				csv.print(r.getMillis());
+				for (int i = 0; i < r.names.length; i++) {
+					csv.print(',');
+					csv.print(r.getValue(i));
+				}
+				csv.println();
+			}
+			long now = System.currentTimeMillis();
+			if (now - report[0] >= 1000) {
+				double elapsed = (now - report[0]) / 1000.0;
+				long   frames  = r.getFramesReceived() - report[2];
+				System.out.printf("%d channels, %.0f frames/s, %.0f bytes/s (%.0f bytes per frame), %d gaps%n",
+				                  r.names.length, frames / elapsed, (r.getBytesReceived() - report[1]) / elapsed,
+				                  (r.getBytesReceived() - report[1]) / (double) Math.max(1, frames), r.getSequenceGaps());
+				report[0] = now;
+				report[1] = r.getBytesReceived();
+				report[2] = r.getFramesReceived();
+			}
+		});
+		if (csv != null) {
+			csv.close();
+		}
+		receiver.close();
+		System.out.printf("Received %d frames, %d bytes%n", receiver.getFramesReceived(), receiver.getBytesReceived());
+	}
+}
@@ -0,0 +1,265 @@
+package frc.robot.Tools;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.util.Random;
+import java.util.concurrent.locks.LockSupport;
+
+import frc.robot.Constants;
+import frc.robot.Enumeration.LoadProfile;
+import frc.robot.Util.VisionPacket;
+
+/**
+ * Stands in for the Pi on a laptop: sends made-up vision packets at the receiver, as fast
+ * and as badly behaved as you like. The target sweeps side to side while getting closer.
+ * Binary packets are stamped with System.nanoTime() / 1000 so a receiver on the same
+ * machine can measure latency exactly.
+ *
+ * Run from the command line:
+ *   java frc.robot.Tools.VisionLoadGenerator [--host 127.0.0.1] [--port 3695] [--rate 30]
+ *     [--format binary|ascii] [--targets 1] [--seconds 0 (forever)] [--seed 0]
+ *     [--profile clean|jittery|reordering|truncating|garbage|hostile]
+ *     [--jitter ms] [--reorder chance] [--truncate chance] [--garbage chance]
+ */
+public class VisionLoadGenerator implements Runnable {
+
+	private static final int MAX_GARBAGE_SIZE = 64;
+
+	private final DatagramChannel   channel;
+	private final InetSocketAddress target;
+	private final ByteBuffer        buffer;
+	private final ByteBuffer        held;
+	private final double[]          targets;
+	private final Random            random;
+
+	private boolean binary       = true;
+	private double  rate         = 30;
+	private int     targetCount  = 1;
+	private double  seconds      = 0;
+	private double  jitterMillis;
+	private double  reorderChance;
+	private double  truncateChance;
+	private double  garbageChance;
+
+	private boolean holding;
+	private long    sequence;
+
+	private volatile long sent;
+	private volatile long ioErrors;
+
+	/**
+	 * @param target where to send packets
+	 * @param seed   seed for everything random, so a run can be repeated
+	 * @throws IOException if the socket cannot be opened
+	 */
+	public VisionLoadGenerator(InetSocketAddress target, long seed) throws IOException {
+		this.target = target;
+		channel     = DatagramChannel.open();
+		buffer      = ByteBuffer.allocateDirect(1024);
+		held        = ByteBuffer.allocateDirect(1024);
+		targets     = new double[VisionPacket.MAX_TARGETS * 4];
+		random      = new Random(seed);
+	}
+
+	/**
+	 * Copies the misbehavior settings of a profile
+	 */
+	public VisionLoadGenerator setProfile(LoadProfile profile) {
+		jitterMillis   = profile.getJitterMillis();
+		reorderChance  = profile.getReorderChance();
+		truncateChance = profile.getTruncateChance();
+		garbageChance  = profile.getGarbageChance();
+		return this;
+	}
+
+	public VisionLoadGenerator setBinary(boolean binary) {
+		this.binary = binary;
+		return this;
+	}
+
+	/**
+	 * @param rate packets per second
+	 */
+	public VisionLoadGenerator setRate(double rate) {
+		this.rate = rate;
+		return this;
+	}
+
+	public VisionLoadGenerator setTargetCount(int targetCount) {
+		this.targetCount = Math.max(0, Math.min(targetCount, VisionPacket.MAX_TARGETS));
+		return this;
+	}
+
+	/**
+	 * @param seconds how long run() sends for, 0 for forever
+	 */
+	public VisionLoadGenerator setDuration(double seconds) {
+		this.seconds = seconds;
+		return this;
+	}
+
+	public VisionLoadGenerator setJitter(double jitterMillis) {
+		this.jitterMillis = jitterMillis;
+		return this;
+	}
+
+	public VisionLoadGenerator setReorderChance(double reorderChance) {
+		this.reorderChance = reorderChance;
+		return this;
+	}
+
+	public VisionLoadGenerator setTruncateChance(double truncateChance) {
+		this.truncateChance = truncateChance;
+		return this;
+	}
+
+	public VisionLoadGenerator setGarbageChance(double garbageChance) {
+		this.garbageChance = garbageChance;
+		return this;
+	}
+
+	@Override
+	public void run() {
+		long period = (long) (1e9 / rate);
+		long start  = System.nanoTime();
+		long end    = seconds > 0 ? start + (long) (seconds * 1e9) : Long.MAX_VALUE;
+		long next   = start;
+
+		while (!Thread.interrupted() && next < end) {
+			// jitter makes a packet late without pushing back the ones after it
+			waitUntil(next + (long) (random.nextDouble() * jitterMillis * 1e6));
+			next += period;
+
+			buffer.clear();
+			if (random.nextDouble() < garbageChance) {
+				int size = 1 + random.nextInt(MAX_GARBAGE_SIZE);
+				for (int i = 0; i < size; i++) {
+					buffer.put((byte) random.nextInt(256));
+				}
+			} else {
+				writePacket((System.nanoTime() - start) / 1e9);
+			}
+			buffer.flip();
+			if (random.nextDouble() < truncateChance && buffer.limit() > 1) {
+				buffer.limit(1 + random.nextInt(buffer.limit() - 1));
+			}
+
+			if (holding) { // send this one, then the one held back from last time
+				send(buffer);
+				send(held);
+				holding = false;
+			} else if (random.nextDouble() < reorderChance) {
+				held.clear();
+				held.put(buffer);
+				held.flip();
+				holding = true;
+			} else {
+				send(buffer);
+			}
+		}
+		if (holding) {
+			send(held);
+		}
+	}
+
+	private void writePacket(double time) {
+		for (int i = 0; i < targetCount; i++) {
+			double angle = 25 * Math.sin(time) + i * 20;
+			targets[i * 4]     = Constants.CAM_WIDTH / 2 + angle * 20;
+			targets[i * 4 + 1] = Constants.CAM_HEIGHT / 2;
+			targets[i * 4 + 2] = 20 + 100 * (1 - (time / 10) % 1);
+			targets[i * 4 + 3] = angle;
+		}
+		if (binary) {
+			VisionPacket.encodeBinary(buffer, sequence, System.nanoTime() / 1000, targetCount, targets);
+		} else {
+			VisionPacket.encodeAscii(buffer, targetCount, targets);
+		}
+		sequence++;
+	}
+
+	private void send(ByteBuffer packet) {
+		try {
+			channel.send(packet, target);
+			sent++;
+		} catch (IOException e) {
+			ioErrors++;
+		}
+	}
+
+	/**
+	 * Parks until close to the deadline, then spins the rest of the way so high rates stay accurate
+	 */
+	private static void waitUntil(long deadline) {
+		long remaining;
+		while ((remaining = deadline - System.nanoTime()) > 0) {
+			if (remaining > 200_000) {
+				LockSupport.parkNanos(remaining - 100_000);
+			} else {
+				Thread.onSpinWait();
+			}
+		}
+	}
+
+	/**
+	 * @return datagrams sent, garbage included
+	 */
+	public long getSentCount() {
+		return sent;
+	}
+
+	public long getIOErrorCount() {
+		return ioErrors;
+	}
+
+	/**
+	 * Closes the socket
+	 */
+	public void close() throws IOException {
+		channel.close();
+	}
+
+	/**
+	 * Builds a generator from "--name value" command line options. Anything not given keeps its default.
+	 * @param args        command line options
+	 * @param defaultPort port to send to if --port isn't given
+	 */
+	static VisionLoadGenerator fromArgs(String[] args, int defaultPort) throws IOException {
+		String host = option(args, "--host", "127.0.0.1");
+		int    port = Integer.parseInt(option(args, "--port", Integer.toString(defaultPort)));
+		long   seed = Long.parseLong(option(args, "--seed", "0"));
+
+		VisionLoadGenerator generator = new VisionLoadGenerator(new InetSocketAddress(host, port), seed)
+			.setProfile(LoadProfile.valueOf(option(args, "--profile", "clean").toUpperCase()))
+			.setBinary(!option(args, "--format", "binary").equalsIgnoreCase("ascii"))
+			.setRate(Double.parseDouble(option(args, "--rate", "30")))
+			.setTargetCount(Integer.parseInt(option(args, "--targets", "1")))
+			.setDuration(Double.parseDouble(option(args, "--seconds", "0")));
+		if (option(args, "--jitter", null) != null)   { generator.setJitter(Double.parseDouble(option(args, "--jitter", null))); }
+		if (option(args, "--reorder", null) != null)  { generator.setReorderChance(Double.parseDouble(option(args, "--reorder", null))); }
+		if (option(args, "--truncate", null) != null) { generator.setTruncateChance(Double.parseDouble(option(args, "--truncate", null))); }
+		if (option(args, "--garbage", null) != null)  { generator.setGarbageChance(Double.parseDouble(option(args, "--garbage", null))); }
+		return generator;
+	}
+
+	/**
+	 * @return the value after the given flag, or backup if the flag isn't there
+	 */
+	static String option(String[] args, String name, String backup) {
+		for (int i = 0; i < args.length - 1; i++) {
+			if (args[i].equals(name)) {
+				return args[i + 1];
+			}
+		}
+		return backup;
+	}
+
+	public static void main(String[] args) throws IOException {
+		VisionLoadGenerator generator = fromArgs(args, Constants.VISION_PORT);
+		generator.run();
+		System.out.println("Sent " + generator.getSentCount() + " packets, " + generator.getIOErrorCount() + " send errors");
+		generator.close();
+	}
+}
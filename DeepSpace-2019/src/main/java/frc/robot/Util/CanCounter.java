@@ -0,0 +1,186 @@
+package frc.robot.Util;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import frc.robot.Enumeration.CanCallType;
+
+/**
+ * Tallies motor controller calls per device and per CanCallType, so CAN-heavy code shows up
+ * before it starts causing stale frames in a match. CountingSparkMax and CountingTalonSRX
+ * report every call here. endLoop() closes out each loop: it keeps a one-second rolling total
+ * of every count and flags the loop if it sent more set and config frames than the budget.
+ * Calls can come from any thread; everything else is main loop thread only.
+ */
+public class CanCounter {
+
+	private static final CanCallType[] TYPES       = CanCallType.values();
+	private static final int           MAX_DEVICES = 16;
+
+	private final int window; // loops in the rolling totals
+
+	private final String[]           names    = new String[MAX_DEVICES];
+	private final AtomicIntegerArray counting = new AtomicIntegerArray(MAX_DEVICES * TYPES.length);
+	private final int[]              lastLoop = new int[MAX_DEVICES * TYPES.length];
+	private final int[][]            history;
+	private final long[]             rolling  = new long[MAX_DEVICES * TYPES.length];
+	private int                      devices;
+	private int                      slot;
+
+	private int    budget;
+	private int    lastFrames;
+	private long   overBudgetLoops;
+	private String lastOverBudget = "";
+
+	private final DashboardEntry setRate         = Dashboard.getEntry("CAN Sets/s");
+	private final DashboardEntry configRate      = Dashboard.getEntry("CAN Configs/s");
+	private final DashboardEntry getRate         = Dashboard.getEntry("CAN Gets/s");
+	private final DashboardEntry busiestEntry    = Dashboard.getEntry("CAN Busiest Device");
+	private final DashboardEntry overBudgetEntry = Dashboard.getEntry("CAN Over Budget Loops");
+	private final DashboardEntry lastOverEntry   = Dashboard.getEntry("CAN Last Over Budget");
+
+	/**
+	 * @param window loops to keep rolling totals over, LOOP_HZ for per-second rates
+	 * @param budget set and config frames allowed in one loop before it's flagged
+	 */
+	public CanCounter(int window, int budget) {
+		this.window = window;
+		this.budget = budget;
+		history     = new int[MAX_DEVICES * TYPES.length][window];
+	}
+
+	/**
+	 * Adds a device. Called by the counting wrappers when they're created.
+	 * @param name shown in reports, e.g. "Left Master"
+	 * @return id to pass to count()
+	 */
+	public synchronized int addDevice(String name) {
+		if (devices == MAX_DEVICES) {
+			throw new IllegalStateException("Too many CAN devices, " + name + " doesn't fit");
+		}
+		names[devices] = name;
+		return devices++;
+	}
+
+	public void count(int device, CanCallType type) {
+		counting.incrementAndGet(device * TYPES.length + type.ordinal());
+	}
+
+	/**
+	 * Closes out this loop's counts. Call once per loop from robotPeriodic().
+	 */
+	public void endLoop() {
+		int counters = devices * TYPES.length;
+		int frames   = 0;
+		for (int i = 0; i < counters; i++) {
+			int count = counting.getAndSet(i, 0);
+			lastLoop[i]       = count;
+			rolling[i]       += count - history[i][slot];
+			history[i][slot]  = count;
+			if (i % TYPES.length != CanCallType.GET.ordinal()) {
+				frames += count;
+			}
+		}
+		slot       = (slot + 1) % window;
+		lastFrames = frames;
+
+		if (frames > budget) {
+			overBudgetLoops++;
+			lastOverBudget = describeLastLoop();
+		}
+	}
+
+	private String describeLastLoop() {
+		StringBuilder text = new StringBuilder(lastFrames + " frames:");
+		for (int device = 0; device < devices; device++) {
+			int set    = lastLoop[device * TYPES.length + CanCallType.SET.ordinal()];
+			int config = lastLoop[device * TYPES.length + CanCallType.CONFIG.ordinal()];
+			if (set + config > 0) {
+				text.append(' ').append(names[device]).append(' ').append(set).append('/').append(config);
+			}
+		}
+		return text.toString();
+	}
+
+	/**
+	 * Puts the rolling totals on the dashboard. With a window of LOOP_HZ they're per second.
+	 */
+	public void report() {
+		setRate.setNumber(getRollingCount(CanCallType.SET));
+		configRate.setNumber(getRollingCount(CanCallType.CONFIG));
+		getRate.setNumber(getRollingCount(CanCallType.GET));
+		busiestEntry.setString(getBusiestDevice());
+		overBudgetEntry.setNumber(overBudgetLoops);
+		lastOverEntry.setString(lastOverBudget);
+	}
+
+	/**
+	 * @return calls of this type to this device over the last window of loops
+	 */
+	public long getRollingCount(int device, CanCallType type) {
+		return rolling[device * TYPES.length + type.ordinal()];
+	}
+
+	/**
+	 * @return calls of this type to every device over the last window of loops
+	 */
+	public long getRollingCount(CanCallType type) {
+		long total = 0;
+		for (int device = 0; device < devices; device++) {
+			total += getRollingCount(device, type);
+		}
+		return total;
+	}
+
+	/**
+	 * @return calls of this type to this device in the last loop
+	 */
+	public int getLoopCount(int device, CanCallType type) {
+		return lastLoop[device * TYPES.length + type.ordinal()];
+	}
+
+	/**
+	 * @return set and config frames sent in the last loop
+	 */
+	public int getLoopFrames() {
+		return lastFrames;
+	}
+
+	/**
+	 * @return the device with the most set and config frames over the last window, e.g. "Left Master 150/0"
+	 */
+	public String getBusiestDevice() {
+		int  busiest = -1;
+		long most    = -1;
+		for (int device = 0; device < devices; device++) {
+			long frames = getRollingCount(device, CanCallType.SET) + getRollingCount(device, CanCallType.CONFIG);
+			if (frames > most) {
+				most    = frames;
+				busiest = device;
+			}
+		}
+		return busiest < 0 ? "" : names[busiest] + " " + getRollingCount(busiest, CanCallType.SET) + "/" + getRollingCount(busiest, CanCallType.CONFIG);
+	}
+
+	public int getDeviceCount() {
+		return devices;
+	}
+
+	public String getDeviceName(int device) {
+		return names[device];
+	}
+
+	public void setBudget(int budget) {
+		this.budget = budget;
+	}
+
+	public long getOverBudgetCount() {
+		return overBudgetLoops;
+	}
+
+	/**
+	 * @return frames per device (set/config) in the most recent loop over budget
+	 */
+	public String getLastOverBudget() {
+		return lastOverBudget;
+	}
+}
@@ -0,0 +1,141 @@
+package frc.robot.Util;
+
+import java.util.ArrayList;
+import java.util.function.DoubleSupplier;
+
+/**
+ * The last few seconds of a handful of channels at full loop rate, kept in memory so
+ * other threads (the TelemetryServer) can read them without going near the main loop.
+ * The main loop writes one sample per channel per loop into fixed rings; readers copy
+ * out what they need and check afterwards that the writer didn't lap them while they
+ * were copying, so neither side ever waits on the other.
+ * Register every channel, then call record() once per loop.
+ */
+public class ChannelHistory {
+
+	private final ArrayList<String>         names   = new ArrayList<>();
+	private final ArrayList<DoubleSupplier> sources = new ArrayList<>();
+
+	private final int capacity;
+
+	// fixed on the first record()
+	private DoubleSupplier[] columns;
+	private double[][]       values;
+	private long[]           nanos;
+
+	private volatile long written; // bumped after a sample is complete, which publishes it to readers
+
+	/**
+	 * @param capacity samples each channel keeps, i.e. loops of history
+	 */
+	public ChannelHistory(int capacity) {
+		this.capacity = capacity;
+	}
+
+	/**
+	 * Adds a channel. Only before the first record().
+	 * @param name   how clients ask for it
+	 * @param source reads the value, called on the main loop thread every record()
+	 */
+	public void addChannel(String name, DoubleSupplier source) {
+		if (columns != null) {
+			throw new IllegalStateException("History channel " + name + " added after recording started");
+		}
+		if (names.contains(name)) {
+			throw new IllegalArgumentException("History channel " + name + " added twice");
+		}
+		names.add(name);
+		sources.add(source);
+	}
+
+	/**
+	 * Samples every channel. Call once per loop from robotPeriodic().
+	 */
+	public void record() {
+		if (columns == null) {
+			columns = sources.toArray(new DoubleSupplier[0]);
+			values  = new double[columns.length][capacity];
+			nanos   = new long[capacity];
+		}
+		long next = written;
+		int  slot = (int) (next % capacity);
+		nanos[slot] = System.nanoTime();
+		for (int i = 0; i < columns.length; i++) {
+			values[i][slot] = columns[i].getAsDouble();
+		}
+		written = next + 1;
+	}
+
+	/**
+	 * @return index into the channel list, or -1 if there's no such channel
+	 */
+	public int getChannel(String name) {
+		return names.indexOf(name);
+	}
+
+	public int getChannelCount() {
+		return names.size();
+	}
+
+	public String getName(int channel) {
+		return names.get(channel);
+	}
+
+	/**
+	 * @return samples recorded so far; sample n of every channel was taken in loop n
+	 */
+	public long getWritten() {
+		return written;
+	}
+
+	/**
+	 * @return oldest sample read() will still hand out
+	 */
+	public long getOldest() {
+		return Math.max(0, written - capacity + 1);
+	}
+
+	/**
+	 * Copies samples out, keeping only every step-th one. Any thread.
+	 * A sample is kept if its index is a multiple of step, so successive reads line up.
+	 * @param channels  indexes from getChannel()
+	 * @param cursor    cursor[0] is the first sample wanted, and is moved past the last one copied;
+	 *                  samples older than getOldest() are skipped. Start at 0 for everything there is.
+	 * @param step      1 for every sample, 5 for every fifth, ...
+	 * @param nanosOut  gets the System.nanoTime() of each sample kept
+	 * @param valuesOut valuesOut[c] gets channel c's samples
+	 * @return          samples copied
+	 */
+	public int read(int[] channels, long[] cursor, int step, long[] nanosOut, double[][] valuesOut) {
+		long end = written;
+		if (end == 0) { return 0; }
+		long start = Math.max(cursor[0], end - capacity + 1); // leave the writer a slot so it isn't overwriting the oldest one we read
+		start      = (start + step - 1) / step * step;
+
+		int count = 0;
+		for (long sample = start; sample < end && count < nanosOut.length; sample += step) {
+			int slot = (int) (sample % capacity);
+			nanosOut[count] = nanos[slot];
+			for (int c = 0; c < channels.length; c++) {
+				valuesOut[c][count] = values[channels[c]][slot];
+			}
+			count++;
+		}
+		cursor[0] = Math.max(cursor[0], start + (long) count * step);
+
+		// anything the writer reached while we were copying may be half new, so drop it from the front
+		long lapped = written - capacity + 1;
+		int  skip   = 0;
+		while (skip < count && start + (long) skip * step < lapped) {
+			skip++;
+		}
+		if (skip > 0) {
+			System.arraycopy(nanosOut, skip, nanosOut, 0, count - skip);
+			for (int c = 0; c < channels.length; c++) {
+				System.arraycopy(valuesOut[c], skip, valuesOut[c], 0, count - skip);
+			}
+			count -= skip;
+		}
+		return count;
+	}
+}
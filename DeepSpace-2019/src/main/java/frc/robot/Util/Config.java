@@ -0,0 +1,198 @@
+package frc.robot.Util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+import edu.wpi.first.networktables.EntryListenerFlags;
+import edu.wpi.first.networktables.NetworkTable;
+import edu.wpi.first.wpilibj.Preferences;
+import frc.robot.Enumeration.Tunable;
+
+/**
+ * Every Tunable's current value, kept in an immutable array that gets swapped for a new one
+ * whenever the Preferences table changes. Reading a value is an array load, so commands can
+ * read them every loop instead of caching them or going to Preferences each time.
+ * Building it checks the declarations (unique keys, defaults inside their ranges) and warns about
+ * stored keys that are one or two letters off a declared one, like "Murder Inhibtitor",
+ * since those are typos nothing reads, and lists the other stored keys nothing reads.
+ * Missing defaults are all found in one pass over the stored keys and go out through a
+ * PreferenceWriter, so loading never waits on a Preferences write.
+ */
+public class Config {
+
+	private static final Tunable[] TUNABLES = Tunable.values();
+
+	/**
+	 * One consistent set of values. Never changed once published.
+	 */
+	private static final class Snapshot {
+		private final double[] values;
+
+		private Snapshot(double[] values) {
+			this.values = values;
+		}
+	}
+
+	private final Preferences              preferences;
+	private final PreferenceWriter         writer;
+	private final Consumer<String>         warnings;
+	private final HashMap<String, Tunable> byKey = new HashMap<>();
+
+	private volatile Snapshot snapshot;
+	private volatile long     reloads;
+
+	/**
+	 * Reads every tunable, writing defaults for any that are missing, then listens for changes
+	 * @param preferences where the values live
+	 * @param writer      writes the defaults of tunables Preferences doesn't have yet
+	 * @param table       the Preferences NetworkTable, to listen on; null to only load once
+	 * @param warnings    told about out-of-range values and likely typos
+	 * @throws IllegalStateException if two tunables share a key or a default is outside its range
+	 */
+	public Config(Preferences preferences, PreferenceWriter writer, NetworkTable table, Consumer<String> warnings) {
+		this.preferences = preferences;
+		this.writer      = writer;
+		this.warnings    = warnings;
+
+		HashMap<String, Tunable> normalized = new HashMap<>();
+		for (Tunable tunable : TUNABLES) {
+			Tunable clash = normalized.put(normalize(tunable.toString()), tunable);
+			if (clash != null) {
+				throw new IllegalStateException("Tunables " + clash + " and " + tunable.name() + " have the same key");
+			}
+			if (tunable.getBackup() < tunable.getMin() || tunable.getBackup() > tunable.getMax()) {
+				throw new IllegalStateException("Tunable " + tunable.name() + " defaults to " + tunable.getBackup() + ", outside its range");
+			}
+			byKey.put(tunable.toString(), tunable);
+		}
+
+		HashSet<String> stored = new HashSet<>(preferences.getKeys());
+		double[]        values = new double[TUNABLES.length];
+		for (Tunable tunable : TUNABLES) {
+			values[tunable.ordinal()] = read(tunable, stored.contains(tunable.toString()));
+		}
+		snapshot = new Snapshot(values);
+
+		reportStrays(stored);
+
+		if (table != null) {
+			table.addEntryListener((changedTable, key, entry, value, flags) -> onChange(key),
+			                       EntryListenerFlags.kNew | EntryListenerFlags.kUpdate);
+		}
+	}
+
+	private static String normalize(String key) {
+		return key.replaceAll("\\s+", "").toLowerCase(Locale.ROOT);
+	}
+
+	/**
+	 * Reads one tunable from Preferences, clamped to its range, or queues its default if it isn't there yet
+	 * @param stored whether Preferences has it
+	 */
+	private double read(Tunable tunable, boolean stored) {
+		String key = tunable.toString();
+		if (!stored) {
+			if (tunable.isBoolean()) {
+				writer.putDefaultBoolean(key, tunable.getBackup() != 0);
+			} else {
+				writer.putDefaultDouble(key, tunable.getBackup());
+			}
+			return tunable.getBackup();
+		}
+		if (tunable.isBoolean()) {
+			return preferences.getBoolean(key, tunable.getBackup() != 0) ? 1 : 0;
+		}
+		double value = preferences.getDouble(key, tunable.getBackup());
+		if (value < tunable.getMin() || value > tunable.getMax() || Double.isNaN(value)) {
+			double clamped = Double.isNaN(value) ? tunable.getBackup() : Math.max(tunable.getMin(), Math.min(tunable.getMax(), value));
+			warnings.accept(key + " = " + value + " is outside " + tunable.getMin() + " to " + tunable.getMax() + ", using " + clamped);
+			return clamped;
+		}
+		return value;
+	}
+
+	/**
+	 * Called on the NetworkTables thread. Only that thread publishes after construction, so
+	 * copying the current snapshot and swapping in the copy can't lose another change.
+	 */
+	private void onChange(String key) {
+		Tunable tunable = byKey.get(key);
+		if (tunable == null) { return; }
+		double value = read(tunable, true); // it just changed, so it's there
+		if (value == snapshot.values[tunable.ordinal()]) { return; }
+		double[] values = snapshot.values.clone();
+		values[tunable.ordinal()] = value;
+		snapshot = new Snapshot(values);
+		reloads++;
+	}
+
+	/**
+	 * Warns about every stored key no tunable reads: one warning per likely typo, then one listing the rest
+	 */
+	private void reportStrays(HashSet<String> stored) {
+		ArrayList<String> orphans = new ArrayList<>();
+		for (String key : stored) {
+			if (byKey.containsKey(key) || key.startsWith(".")) { continue; } // .type belongs to the Preferences table itself
+			Tunable typo = null;
+			for (Tunable tunable : TUNABLES) {
+				if (distance(normalize(key), normalize(tunable.toString())) <= 2) {
+					typo = tunable;
+					break;
+				}
+			}
+			if (typo != null) {
+				warnings.accept("Preference \"" + key + "\" looks like a typo of \"" + typo + "\" and is ignored");
+			} else {
+				orphans.add(key);
+			}
+		}
+		if (!orphans.isEmpty()) {
+			orphans.sort(null);
+			warnings.accept("Preferences nothing reads, safe to delete: " + String.join(", ", orphans));
+		}
+	}
+
+	/**
+	 * Edit distance, for spotting typos
+	 */
+	private static int distance(String a, String b) {
+		if (Math.abs(a.length() - b.length()) > 2) { return 3; }
+		int[] previous = new int[b.length() + 1];
+		int[] current  = new int[b.length() + 1];
+		for (int j = 0; j <= b.length(); j++) {
+			previous[j] = j;
+		}
+		for (int i = 1; i <= a.length(); i++) {
+			current[0] = i;
+			for (int j = 1; j <= b.length(); j++) {
+				int substitute = previous[j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1);
+				current[j] = Math.min(substitute, Math.min(previous[j], current[j - 1]) + 1);
+			}
+			int[] swap = previous;
+			previous   = current;
+			current    = swap;
+		}
+		return previous[b.length()];
+	}
+
+	/**
+	 * @return the tunable's current value; a boolean reads as 1 or 0
+	 */
+	public double get(Tunable tunable) {
+		return snapshot.values[tunable.ordinal()];
+	}
+
+	public boolean getBoolean(Tunable tunable) {
+		return snapshot.values[tunable.ordinal()] != 0;
+	}
+
+	/**
+	 * @return times a change from the dashboard has been picked up
+	 */
+	public long getReloadCount() {
+		return reloads;
+	}
+}
@@ -0,0 +1,102 @@
+package frc.robot.Util;
+
+import com.revrobotics.CANEncoder;
+import com.revrobotics.CANError;
+import com.revrobotics.CANSparkMax;
+
+import frc.robot.Enumeration.CanCallType;
+
+/**
+ * A CANSparkMax that reports every call this robot makes on it to a CanCounter.
+ * A getEncoder() call counts as the read that always follows it.
+ * get() isn't counted; it returns the last set() without touching the bus.
+ */
+public class CountingSparkMax extends CANSparkMax {
+
+	private final CanCounter counter;
+	private final int        device;
+
+	/**
+	 * @param deviceID CAN id
+	 * @param type     brushed or brushless
+	 * @param name     shown in CAN reports
+	 * @param counter  where calls get tallied
+	 */
+	public CountingSparkMax(int deviceID, MotorType type, String name, CanCounter counter) {
+		super(deviceID, type);
+		this.counter = counter;
+		device       = counter.addDevice(name);
+	}
+
+	@Override
+	public void set(double speed) {
+		counter.count(device, CanCallType.SET);
+		super.set(speed);
+	}
+
+	@Override
+	public void setInverted(boolean isInverted) {
+		counter.count(device, CanCallType.CONFIG);
+		super.setInverted(isInverted);
+	}
+
+	@Override
+	public CANError setIdleMode(IdleMode mode) {
+		counter.count(device, CanCallType.CONFIG);
+		return super.setIdleMode(mode);
+	}
+
+	@Override
+	public CANError setOpenLoopRampRate(double rate) {
+		counter.count(device, CanCallType.CONFIG);
+		return super.setOpenLoopRampRate(rate);
+	}
+
+	@Override
+	public CANError setSmartCurrentLimit(int limit) {
+		counter.count(device, CanCallType.CONFIG);
+		return super.setSmartCurrentLimit(limit);
+	}
+
+	@Override
+	public CANEncoder getEncoder() {
+		counter.count(device, CanCallType.GET);
+		return super.getEncoder();
+	}
+
+	@Override
+	public double getOutputCurrent() {
+		counter.count(device, CanCallType.GET);
+		return super.getOutputCurrent();
+	}
+
+	@Override
+	public double getAppliedOutput() {
+		counter.count(device, CanCallType.GET);
+		return super.getAppliedOutput();
+	}
+
+	@Override
+	public double getMotorTemperature() {
+		counter.count(device, CanCallType.GET);
+		return super.getMotorTemperature();
+	}
+
+	@Override
+	public double getBusVoltage() {
+		counter.count(device, CanCallType.GET);
+		return super.getBusVoltage();
+	}
+
+	@Override
+	public short getStickyFaults() {
+		counter.count(device, CanCallType.GET);
+		return super.getStickyFaults();
+	}
+
+	@Override
+	public CANError clearFaults() {
+		counter.count(device, CanCallType.SET);
+		return super.clearFaults();
+	}
+}
@@ -0,0 +1,199 @@
+package frc.robot.Util;
+
+import com.ctre.phoenix.ErrorCode;
+import com.ctre.phoenix.motorcontrol.ControlMode;
+import com.ctre.phoenix.motorcontrol.NeutralMode;
+import com.ctre.phoenix.motorcontrol.SensorCollection;
+import com.ctre.phoenix.motorcontrol.can.TalonSRX;
+
+import frc.robot.Enumeration.CanCallType;
+
+/**
+ * A TalonSRX that reports every call this robot makes on it to a CanCounter.
+ * Only the config overloads that take a timeout are counted, since the short ones call them;
+ * that way each config counts once whichever overload the code uses.
+ * getSensorCollection() hands out a SensorCollection that counts its own calls, so a position
+ * read counts as a get and zeroing the encoder counts as a config.
+ */
+public class CountingTalonSRX extends TalonSRX {
+
+	private final CanCounter       counter;
+	private final int              device;
+	private final SensorCollection sensors;
+
+	/**
+	 * @param deviceID CAN id
+	 * @param name     shown in CAN reports
+	 * @param counter  where calls get tallied
+	 */
+	public CountingTalonSRX(int deviceID, String name, CanCounter counter) {
+		super(deviceID);
+		this.counter = counter;
+		device       = counter.addDevice(name);
+		sensors      = new CountingSensorCollection(this);
+	}
+
+	/**
+	 * The sensor calls this robot makes, counted
+	 */
+	private class CountingSensorCollection extends SensorCollection {
+		private CountingSensorCollection(TalonSRX talon) {
+			super(talon);
+		}
+
+		@Override
+		public int getQuadraturePosition() {
+			counter.count(device, CanCallType.GET);
+			return super.getQuadraturePosition();
+		}
+
+		@Override
+		public int getQuadratureVelocity() {
+			counter.count(device, CanCallType.GET);
+			return super.getQuadratureVelocity();
+		}
+
+		@Override
+		public ErrorCode setQuadraturePosition(int newPosition, int timeoutMs) {
+			counter.count(device, CanCallType.CONFIG);
+			return super.setQuadraturePosition(newPosition, timeoutMs);
+		}
+
+		@Override
+		public boolean isFwdLimitSwitchClosed() {
+			counter.count(device, CanCallType.GET);
+			return super.isFwdLimitSwitchClosed();
+		}
+
+		@Override
+		public boolean isRevLimitSwitchClosed() {
+			counter.count(device, CanCallType.GET);
+			return super.isRevLimitSwitchClosed();
+		}
+	}
+
+	@Override
+	public void set(ControlMode mode, double value) {
+		counter.count(device, CanCallType.SET);
+		super.set(mode, value);
+	}
+
+	@Override
+	public void setInverted(boolean invert) {
+		counter.count(device, CanCallType.CONFIG);
+		super.setInverted(invert);
+	}
+
+	@Override
+	public void setSensorPhase(boolean phase) {
+		counter.count(device, CanCallType.CONFIG);
+		super.setSensorPhase(phase);
+	}
+
+	@Override
+	public void setNeutralMode(NeutralMode mode) {
+		counter.count(device, CanCallType.CONFIG);
+		super.setNeutralMode(mode);
+	}
+
+	@Override
+	public ErrorCode config_kP(int slotIdx, double value, int timeoutMs) {
+		counter.count(device, CanCallType.CONFIG);
+		return super.config_kP(slotIdx, value, timeoutMs);
+	}
+
+	@Override
+	public ErrorCode config_kI(int slotIdx, double value, int timeoutMs) {
+		counter.count(device, CanCallType.CONFIG);
+		return super.config_kI(slotIdx, value, timeoutMs);
+	}
+
+	@Override
+	public ErrorCode config_kD(int slotIdx, double value, int timeoutMs) {
+		counter.count(device, CanCallType.CONFIG);
+		return super.config_kD(slotIdx, value, timeoutMs);
+	}
+
+	@Override
+	public ErrorCode config_kF(int slotIdx, double value, int timeoutMs) {
+		counter.count(device, CanCallType.CONFIG);
+		return super.config_kF(slotIdx, value, timeoutMs);
+	}
+
+	@Override
+	public ErrorCode configAllowableClosedloopError(int slotIdx, int allowableClosedLoopError, int timeoutMs) {
+		counter.count(device, CanCallType.CONFIG);
+		return super.configAllowableClosedloopError(slotIdx, allowableClosedLoopError, timeoutMs);
+	}
+
+	@Override
+	public ErrorCode configNominalOutputForward(double percentOut, int timeoutMs) {
+		counter.count(device, CanCallType.CONFIG);
+		return super.configNominalOutputForward(percentOut, timeoutMs);
+	}
+
+	@Override
+	public ErrorCode configNominalOutputReverse(double percentOut, int timeoutMs) {
+		counter.count(device, CanCallType.CONFIG);
+		return super.configNominalOutputReverse(percentOut, timeoutMs);
+	}
+
+	@Override
+	public ErrorCode configPeakOutputForward(double percentOut, int timeoutMs) {
+		counter.count(device, CanCallType.CONFIG);
+		return super.configPeakOutputForward(percentOut, timeoutMs);
+	}
+
+	@Override
+	public ErrorCode configPeakOutputReverse(double percentOut, int timeoutMs) {
+		counter.count(device, CanCallType.CONFIG);
+		return super.configPeakOutputReverse(percentOut, timeoutMs);
+	}
+
+	@Override
+	public ErrorCode configOpenloopRamp(double secondsFromNeutralToFull, int timeoutMs) {
+		counter.count(device, CanCallType.CONFIG);
+		return super.configOpenloopRamp(secondsFromNeutralToFull, timeoutMs);
+	}
+
+	@Override
+	public ErrorCode configContinuousCurrentLimit(int amps, int timeoutMs) {
+		counter.count(device, CanCallType.CONFIG);
+		return super.configContinuousCurrentLimit(amps, timeoutMs);
+	}
+
+	@Override
+	public SensorCollection getSensorCollection() {
+		return sensors;
+	}
+
+	@Override
+	public int getClosedLoopError(int pidIdx) {
+		counter.count(device, CanCallType.GET);
+		return super.getClosedLoopError(pidIdx);
+	}
+
+	@Override
+	public double getOutputCurrent() {
+		counter.count(device, CanCallType.GET);
+		return super.getOutputCurrent();
+	}
+
+	@Override
+	public double getMotorOutputPercent() {
+		counter.count(device, CanCallType.GET);
+		return super.getMotorOutputPercent();
+	}
+
+	@Override
+	public double getTemperature() {
+		counter.count(device, CanCallType.GET);
+		return super.getTemperature();
+	}
+
+	@Override
+	public boolean hasResetOccurred() {
+		counter.count(device, CanCallType.GET);
+		return super.hasResetOccurred();
+	}
+}
@@ -0,0 +1,40 @@
+package frc.robot.Util;
+
+import java.util.HashMap;
+
+import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
+
+/**
+ * Hands out DashboardEntry handles, one per key, so values only go over the radio when they change.
+ * Look a key up once (in a constructor or a static field) and keep the handle:
+ *   private static final DashboardEntry ALIGNING = Dashboard.getEntry("Aligning");
+ *   ALIGNING.setBoolean(true);
+ */
+public class Dashboard {
+
+	private static final HashMap<String, DashboardEntry> entries = new HashMap<>();
+
+	/**
+	 * @param key SmartDashboard key
+	 * @return    the handle for that key, the same one every time
+	 */
+	public static DashboardEntry getEntry(String key) {
+		return getEntry(key, 0);
+	}
+
+	/**
+	 * @param key     SmartDashboard key
+	 * @param epsilon numbers are only written once they move by more than this
+	 * @return        the handle for that key, the same one every time
+	 */
+	public static synchronized DashboardEntry getEntry(String key, double epsilon) {
+		DashboardEntry entry = entries.get(key);
+		if (entry == null) {
+			entry = new DashboardEntry(SmartDashboard.getEntry(key), epsilon);
+			entries.put(key, entry);
+		} else if (epsilon != 0) {
+			entry.setEpsilon(epsilon);
+		}
+		return entry;
+	}
+}
@@ -0,0 +1,122 @@
+package frc.robot.Util;
+
+import edu.wpi.first.networktables.NetworkTableEntry;
+
+/**
+ * One dashboard key, looked up once, that only writes to NetworkTables when its value actually changes.
+ * Get these from Dashboard.getEntry() so every writer of a key shares the same one,
+ * and keep them in a field instead of looking them up every loop.
+ * A key keeps the type it was first written as; NetworkTables won't change it either.
+ * Not thread safe; each key should only be written from one thread.
+ */
+public class DashboardEntry {
+
+	private final NetworkTableEntry entry;
+
+	private double epsilon;
+
+	private String   type; // what the key was first written as, null until then
+	private double   lastNumber;
+	private boolean  lastBoolean;
+	private String   lastString;
+	private double[] lastArray;
+
+	private long writes;
+	private long skipped;
+
+	DashboardEntry(NetworkTableEntry entry, double epsilon) {
+		this.entry   = entry;
+		this.epsilon = epsilon;
+	}
+
+	/**
+	 * @param epsilon numbers are only written once they move by more than this
+	 */
+	void setEpsilon(double epsilon) {
+		this.epsilon = epsilon;
+	}
+
+	public void setNumber(double value) {
+		if (written("number") && Math.abs(value - lastNumber) <= epsilon) {
+			skipped++;
+			return;
+		}
+		lastNumber = value;
+		entry.setDouble(value);
+		writes++;
+	}
+
+	public void setBoolean(boolean value) {
+		if (written("boolean") && value == lastBoolean) {
+			skipped++;
+			return;
+		}
+		lastBoolean = value;
+		entry.setBoolean(value);
+		writes++;
+	}
+
+	public void setString(String value) {
+		if (written("string") && value.equals(lastString)) {
+			skipped++;
+			return;
+		}
+		lastString = value;
+		entry.setString(value);
+		writes++;
+	}
+
+	/**
+	 * Writes the array if any element changed by more than epsilon. The array is copied, so it can be reused.
+	 */
+	public void setNumberArray(double[] value) {
+		if (written("number array") && lastArray.length == value.length && arrayWithinEpsilon(value)) {
+			skipped++;
+			return;
+		}
+		if (lastArray == null || lastArray.length != value.length) {
+			lastArray = new double[value.length];
+		}
+		System.arraycopy(value, 0, lastArray, 0, value.length);
+		entry.setDoubleArray(value);
+		writes++;
+	}
+
+	/**
+	 * Fixes the key's type on its first write
+	 * @param as what is being written now
+	 * @return   true if the key already has a value to compare against
+	 * @throws IllegalStateException if the key was first written as something else
+	 */
+	private boolean written(String as) {
+		if (type == null) {
+			type = as;
+			return false;
+		}
+		if (!type.equals(as)) {
+			throw new IllegalStateException("Dashboard key " + entry.getName() + " is a " + type + ", not a " + as);
+		}
+		return true;
+	}
+
+	private boolean arrayWithinEpsilon(double[] value) {
+		for (int i = 0; i < value.length; i++) {
+			if (Math.abs(value[i] - lastArray[i]) > epsilon) { return false; }
+		}
+		return true;
+	}
+
+	/**
+	 * @return writes that actually went to NetworkTables
+	 */
+	public long getWriteCount() {
+		return writes;
+	}
+
+	/**
+	 * @return writes skipped because nothing changed
+	 */
+	public long getSkippedCount() {
+		return skipped;
+	}
+}
@@ -0,0 +1,242 @@
+package frc.robot.Util;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import frc.robot.Enumeration.EventType;
+
+/**
+ * Typed events (a shift, a clamp, a bad vision packet...) logged without slowing down whoever logs them.
+ * Each thread that logs gets its own Producer, a preallocated ring only it writes to, so logging
+ * is a few array stores and no locks or allocation. A background thread drains every ring a few
+ * times a second into a CSV file, and passes events on to the Driver Station at most once per
+ * type per second so a burst of bad packets can't flood the console.
+ * Every event is stamped with the loop it happened in and System.nanoTime(), so it lines up
+ * with the flight log.
+ * Nothing in here touches WPILib; the Driver Station sink is passed in.
+ */
+public class EventLog implements Runnable {
+
+	private static final EventType[] TYPES = EventType.values();
+
+	/**
+	 * One thread's ring of events. Only the thread it was made for may call log().
+	 */
+	public static class Producer {
+
+		private final String   name;
+		private final int      mask;
+		private final int[]    types;
+		private final long[]   loops;
+		private final long[]   nanos;
+		private final double[] values;
+		private final EventLog log;
+
+		private volatile long head; // next slot to write, only the producer moves it
+		private volatile long tail; // next slot to read, only the drainer moves it
+		private volatile long dropped;
+
+		private Producer(EventLog log, String name, int capacity) {
+			int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1; // round up to a power of two
+			this.log  = log;
+			this.name = name;
+			mask      = size - 1;
+			types     = new int[size];
+			loops     = new long[size];
+			nanos     = new long[size];
+			values    = new double[size];
+		}
+
+		/**
+		 * Logs an event. Never blocks; if the ring is full because the drainer fell behind, the event is dropped and counted.
+		 */
+		public void log(EventType type, double value) {
+			long next = head;
+			if (next - tail > mask) {
+				dropped++;
+				return;
+			}
+			int slot     = (int) next & mask;
+			types[slot]  = type.ordinal();
+			loops[slot]  = log.loop;
+			nanos[slot]  = System.nanoTime();
+			values[slot] = value;
+			head         = next + 1; // publishes the slot to the drainer
+		}
+
+		public long getDroppedCount() {
+			return dropped;
+		}
+	}
+
+	private final CopyOnWriteArrayList<Producer> producers = new CopyOnWriteArrayList<>();
+
+	private final Writer           file;
+	private final Consumer<String> driverStation;
+	private final long             startNanos;
+	private final long             drainMillis;
+	private final long             reportNanos;
+	private final long             maxBytes;
+
+	private final long[] lastReported = new long[TYPES.length];
+	private final int[]  unreported   = new int[TYPES.length];
+
+	private volatile long loop;
+
+	private long    written;
+	private long    drained;
+	private boolean fileFailed;
+
+	private Thread thread;
+
+	/**
+	 * If the file can't be created the log still runs, just without it; check isFileOpen().
+	 * @param path          CSV file to write, null for no file
+	 * @param driverStation gets a message for at most one event per type per reportMillis, null for none
+	 * @param drainMillis   how often the background thread empties the rings
+	 * @param reportMillis  least time between two Driver Station messages of the same type
+	 * @param maxBytes      the file stops growing past this
+	 */
+	public EventLog(Path path, Consumer<String> driverStation, long drainMillis, long reportMillis, long maxBytes) {
+		this.driverStation = driverStation;
+		this.drainMillis   = drainMillis;
+		this.maxBytes      = maxBytes;
+		reportNanos        = reportMillis * 1_000_000;
+		startNanos         = System.nanoTime();
+		file               = path == null ? null : open(path);
+		for (int i = 0; i < TYPES.length; i++) {
+			lastReported[i] = startNanos - reportNanos;
+		}
+		if (file != null) {
+			write("loop,seconds,producer,event,value\n");
+		}
+	}
+
+	private static Writer open(Path path) {
+		try {
+			return Files.newBufferedWriter(path, StandardCharsets.UTF_8);
+		} catch (IOException e) { //thrown when the file cannot be created
+			return null;
+		}
+	}
+
+	public boolean isFileOpen() {
+		return file != null && !fileFailed;
+	}
+
+	/**
+	 * Makes a ring for one thread to log into. Call from setup code, before that thread starts logging.
+	 * @param name     shows up in the log so you can tell threads apart
+	 * @param capacity events it can hold between drains
+	 */
+	public Producer newProducer(String name, int capacity) {
+		Producer producer = new Producer(this, name, capacity);
+		producers.add(producer);
+		return producer;
+	}
+
+	/**
+	 * Sets the loop number stamped on events from now on. Call at the start of each loop.
+	 */
+	public void setLoop(long loop) {
+		this.loop = loop;
+	}
+
+	public long getLoop() {
+		return loop;
+	}
+
+	/**
+	 * Starts the drainer thread
+	 */
+	public void start() {
+		thread = new Thread(this, "Event Log");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	@Override
+	public void run() {
+		while (!Thread.interrupted()) {
+			try {
+				Thread.sleep(drainMillis);
+			} catch (InterruptedException e) {
+				break;
+			}
+			drain();
+		}
+		drain();
+	}
+
+	/**
+	 * Empties every ring into the file and the Driver Station. Drainer thread only, or after it has stopped.
+	 */
+	public void drain() {
+		long now = System.nanoTime();
+		for (Producer producer : producers) {
+			long head = producer.head;
+			for (long next = producer.tail; next < head; next++) {
+				int slot = (int) next & producer.mask;
+				handle(producer, producer.types[slot], producer.loops[slot], producer.nanos[slot], producer.values[slot], now);
+			}
+			producer.tail = head; // frees the slots for the producer
+		}
+		if (file != null && !fileFailed) {
+			try {
+				file.flush();
+			} catch (IOException e) {
+				fileFailed = true;
+			}
+		}
+	}
+
+	private void handle(Producer producer, int type, long loop, long nanos, double value, long now) {
+		drained++;
+		if (file != null) {
+			write(loop + "," + (nanos - startNanos) / 1e9 + "," + producer.name + "," + TYPES[type] + "," + value + "\n");
+		}
+		if (driverStation != null) {
+			if (now - lastReported[type] >= reportNanos) {
+				String more = unreported[type] == 0 ? "" : " (+" + unreported[type] + " more)";
+				driverStation.accept(TYPES[type] + " " + value + " at loop " + loop + more);
+				lastReported[type] = now;
+				unreported[type]   = 0;
+			} else {
+				unreported[type]++;
+			}
+		}
+	}
+
+	private void write(String line) {
+		if (fileFailed || written + line.length() > maxBytes) { return; }
+		try {
+			file.write(line);
+			written += line.length();
+		} catch (IOException e) {
+			fileFailed = true;
+		}
+	}
+
+	/**
+	 * @return events taken out of the rings so far
+	 */
+	public long getDrainedCount() {
+		return drained;
+	}
+
+	/**
+	 * @return events lost to full rings, over every producer
+	 */
+	public long getDroppedCount() {
+		long dropped = 0;
+		for (Producer producer : producers) {
+			dropped += producer.getDroppedCount();
+		}
+		return dropped;
+	}
+}
@@ -0,0 +1,140 @@
+package frc.robot.Util;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Writes one fixed-size record per loop into a memory-mapped ring file, so everything the
+ * robot saw during a match is still there afterwards. The file is sized once when it opens
+ * and then the oldest records get overwritten, so it never grows. Recording a loop is just
+ * a few puts into mapped memory: no allocation, no system calls. The OS writes the pages out,
+ * so a crashed robot program still leaves a complete file behind.
+ * Register every column, then open(). Main loop thread only.
+ *
+ * File layout (little-endian):
+ *   header: int MAGIC, int VERSION, int header size, int record size, int capacity, int column count,
+ *           long start System.currentTimeMillis(), long start System.nanoTime(), long records written,
+ *           then each column name as a short length and that many UTF-8 bytes
+ *   records, in a ring of capacity slots: long System.nanoTime(), then a double per column
+ * The written count is only bumped once a record is complete, so a reader trusts every slot
+ * it covers except the oldest, which may have been half overwritten.
+ */
+public class FlightRecorder {
+
+	public static final int
+		MAGIC           = 0x46524543, // "FREC"
+		VERSION         = 1,
+		COUNT_OFFSET    = 40,
+		NAMES_OFFSET    = 48;
+
+	public static final String EXTENSION = ".frec";
+
+	private final ArrayList<String>         names   = new ArrayList<>();
+	private final ArrayList<DoubleSupplier> sources = new ArrayList<>();
+
+	private DoubleSupplier[] columns;
+	private MappedByteBuffer map;
+	private int              headerSize;
+	private int              recordSize;
+	private int              capacity;
+	private long             written;
+
+	/**
+	 * Adds a column. Columns are recorded in the order they're added.
+	 * @param name   column name, as the decoder will show it
+	 * @param source reads the value, called on the main loop thread every record()
+	 */
+	public void addColumn(String name, DoubleSupplier source) {
+		if (map != null) {
+			throw new IllegalStateException("Flight recorder column " + name + " added after open()");
+		}
+		if (names.contains(name)) {
+			throw new IllegalArgumentException("Flight recorder column " + name + " added twice");
+		}
+		names.add(name);
+		sources.add(source);
+	}
+
+	/**
+	 * Creates a new log file and maps it. Older logs in the same directory are deleted
+	 * so there are never more than maxFiles of them.
+	 * @param directory where logs go
+	 * @param capacity  loops the ring holds before it starts overwriting
+	 * @param maxFiles  logs to keep, including this one
+	 * @throws IOException if the file cannot be created or mapped
+	 */
+	public void open(Path directory, int capacity, int maxFiles) throws IOException {
+		Util.deleteOldFiles(directory, "flight-*" + EXTENSION, maxFiles - 1); // names are start times, so oldest first
+
+		byte[][] encoded   = new byte[names.size()][];
+		int      namesSize = 0;
+		for (int i = 0; i < encoded.length; i++) {
+			encoded[i] = names.get(i).getBytes(StandardCharsets.UTF_8);
+			namesSize += 2 + encoded[i].length;
+		}
+
+		this.capacity = capacity;
+		columns    = sources.toArray(new DoubleSupplier[0]);
+		headerSize = (NAMES_OFFSET + namesSize + 7) & ~7;
+		recordSize = 8 + 8 * columns.length;
+
+		Path path = directory.resolve("flight-" + System.currentTimeMillis() + EXTENSION);
+		try (FileChannel file = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			map = file.map(FileChannel.MapMode.READ_WRITE, 0, headerSize + (long) capacity * recordSize);
+		}
+		map.order(ByteOrder.LITTLE_ENDIAN);
+
+		map.putInt(MAGIC);
+		map.putInt(VERSION);
+		map.putInt(headerSize);
+		map.putInt(recordSize);
+		map.putInt(capacity);
+		map.putInt(columns.length);
+		map.putLong(System.currentTimeMillis());
+		map.putLong(System.nanoTime());
+		map.putLong(0);
+		for (byte[] name : encoded) {
+			map.putShort((short) name.length);
+			map.put(name);
+		}
+	}
+
+	/**
+	 * Reads every column and writes one record. Does nothing if open() failed or wasn't called.
+	 */
+	public void record() {
+		if (map == null) { return; }
+		int position = headerSize + (int) (written % capacity) * recordSize;
+		map.putLong(position, System.nanoTime());
+		for (int i = 0; i < columns.length; i++) {
+			map.putDouble(position + 8 + 8 * i, columns[i].getAsDouble());
+		}
+		written++;
+		map.putLong(COUNT_OFFSET, written);
+	}
+
+	/**
+	 * Pushes everything recorded so far to disk. This blocks until the disk catches up,
+	 * so only call it when a stall doesn't matter, like on disable.
+	 */
+	public void force() {
+		if (map != null) {
+			map.force();
+		}
+	}
+
+	/**
+	 * @return records written since open(), including ones since overwritten
+	 */
+	public long getRecordCount() {
+		return written;
+	}
+}
@@ -0,0 +1,188 @@
+package frc.robot.Util;
+
+import java.util.Arrays;
+
+import com.ctre.phoenix.ErrorCode;
+import com.ctre.phoenix.motorcontrol.can.TalonSRX;
+
+/**
+ * Keeps the PIDF gains in some Talons' slots matching what the code wants, without the control
+ * loop making the config calls itself. The loop says what it wants every time through; that is
+ * only a few compares unless something changed. A background thread sends the gains that differ
+ * from what each Talon last acknowledged, one config call per changed gain, and retries any the
+ * Talon didn't acknowledge. A change made on the dashboard reaches the Talon a few ms after the
+ * next loop asks for it.
+ */
+public class GainSlots implements Runnable {
+
+	public static final int SLOTS = 4; // slots a Talon has
+
+	private static final int GAINS = 4; // kP, kI, kD, kF
+
+	private final TalonSRX[] talons;
+	private final String     name;
+	private final int        timeoutMs;
+	private final int        retryMs;
+
+	// [talon][slot * GAINS + gain]
+	private final double[][] wanted;  // main thread writes, under this
+	private final double[][] applied; // only the background thread touches it
+	private final double[][] sending; // background thread's copy of wanted
+
+	private final boolean[] reset;  // under this, set by invalidate()
+	private final boolean[] forget; // background thread's copy of reset
+
+	private boolean dirty; // under this
+
+	private volatile long sent;
+	private volatile long failed;
+	private volatile long pending; // gains not yet acknowledged after the last pass
+
+	private Thread thread;
+
+	/**
+	 * @param name      names the background thread
+	 * @param timeoutMs how long each config call waits for an acknowledgement
+	 * @param retryMs   how soon gains that weren't acknowledged are sent again
+	 * @param talons    Talons to manage; their index here is how set() refers to them
+	 */
+	public GainSlots(String name, int timeoutMs, int retryMs, TalonSRX... talons) {
+		this.name      = name;
+		this.timeoutMs = timeoutMs;
+		this.retryMs   = retryMs;
+		this.talons    = talons;
+		wanted         = new double[talons.length][SLOTS * GAINS];
+		applied        = new double[talons.length][SLOTS * GAINS];
+		sending        = new double[talons.length][SLOTS * GAINS];
+		reset          = new boolean[talons.length];
+		forget         = new boolean[talons.length];
+		for (int t = 0; t < talons.length; t++) {
+			Arrays.fill(wanted[t], Double.NaN);
+			Arrays.fill(applied[t], Double.NaN);
+		}
+	}
+
+	/**
+	 * Starts the background thread
+	 */
+	public void start() {
+		thread = new Thread(this, name);
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * Asks for a slot's gains. Cheap when nothing changed, so it can be called every loop.
+	 * @param talon index in the constructor's list
+	 * @param slot  0 to SLOTS - 1
+	 */
+	public void set(int talon, int slot, double kP, double kI, double kD, double kF) {
+		double[] gains = wanted[talon];
+		int      base  = slot * GAINS;
+		synchronized (this) {
+			if (gains[base] == kP && gains[base + 1] == kI && gains[base + 2] == kD && gains[base + 3] == kF) { return; }
+			gains[base]     = kP;
+			gains[base + 1] = kI;
+			gains[base + 2] = kD;
+			gains[base + 3] = kF;
+			dirty = true;
+			notifyAll();
+		}
+	}
+
+	/**
+	 * Forgets what a Talon has acknowledged, so every gain it has been asked for is sent again.
+	 * For after the Talon resets and loses its config.
+	 */
+	public synchronized void invalidate(int talon) {
+		reset[talon] = true;
+		dirty        = true;
+		notifyAll();
+	}
+
+	@Override
+	public void run() {
+		while (!Thread.interrupted()) {
+			synchronized (this) {
+				try {
+					while (!dirty) {
+						if (pending > 0) {
+							wait(retryMs);
+							break;
+						}
+						wait();
+					}
+				} catch (InterruptedException e) { //thrown when the robot shuts down
+					return;
+				}
+				for (int t = 0; t < talons.length; t++) {
+					System.arraycopy(wanted[t], 0, sending[t], 0, SLOTS * GAINS);
+					forget[t] = reset[t];
+					reset[t]  = false;
+				}
+				dirty = false;
+			}
+
+			long unacknowledged = 0;
+			for (int t = 0; t < talons.length; t++) {
+				if (forget[t]) {
+					Arrays.fill(applied[t], Double.NaN);
+				}
+				for (int i = 0; i < SLOTS * GAINS; i++) {
+					double value = sending[t][i];
+					if (Double.isNaN(value) || value == applied[t][i]) { continue; }
+					if (push(talons[t], i / GAINS, i % GAINS, value)) {
+						applied[t][i] = value;
+					} else {
+						unacknowledged++;
+					}
+				}
+			}
+			pending = unacknowledged;
+		}
+	}
+
+	private boolean push(TalonSRX talon, int slot, int gain, double value) {
+		ErrorCode result;
+		switch (gain) {
+		case 0:
+			result = talon.config_kP(slot, value, timeoutMs);
+			break;
+		case 1:
+			result = talon.config_kI(slot, value, timeoutMs);
+			break;
+		case 2:
+			result = talon.config_kD(slot, value, timeoutMs);
+			break;
+		default:
+			result = talon.config_kF(slot, value, timeoutMs);
+		}
+		sent++;
+		if (result != ErrorCode.OK) {
+			failed++;
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * @return config calls made so far
+	 */
+	public long getSentCount() {
+		return sent;
+	}
+
+	/**
+	 * @return config calls the Talon didn't acknowledge in time
+	 */
+	public long getFailedCount() {
+		return failed;
+	}
+
+	/**
+	 * @return gains still waiting on a retry
+	 */
+	public long getPendingCount() {
+		return pending;
+	}
+}
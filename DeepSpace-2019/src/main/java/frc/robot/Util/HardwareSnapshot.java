@@ -0,0 +1,110 @@
+package frc.robot.Util;
+
+import java.util.function.DoubleSupplier;
+
+import frc.robot.Enumeration.HardwareSignal;
+
+/**
+ * One read of every CAN value anything on the robot uses, taken at the start of the loop.
+ * Subsystems say how to read each of their signals with provide(); everything else reads the
+ * stored value with get(), so a signal costs one CAN read per loop no matter how many commands,
+ * telemetry channels and logs look at it. Signals nobody has asked for are never read.
+ * A signal is read from the first loop something asks for it.
+ * Main loop thread only.
+ */
+public class HardwareSnapshot {
+
+	private static final HardwareSignal[] SIGNALS = HardwareSignal.values();
+
+	private final DoubleSupplier[] readers = new DoubleSupplier[SIGNALS.length];
+	private final double[]         values  = new double[SIGNALS.length];
+	private final boolean[]        wanted  = new boolean[SIGNALS.length];
+
+	// indices of the signals refresh() reads, in the order they were first asked for
+	private final int[] readList = new int[SIGNALS.length];
+	private int         readCount;
+
+	private long refreshes;
+	private long refreshed; // System.nanoTime() when the last refresh() finished
+
+	/**
+	 * Says how to read a signal. Call once, from the subsystem that owns the hardware.
+	 * @param signal which one
+	 * @param reader does the actual CAN read
+	 */
+	public void provide(HardwareSignal signal, DoubleSupplier reader) {
+		if (readers[signal.ordinal()] != null) {
+			throw new IllegalStateException(signal + " already has a reader");
+		}
+		readers[signal.ordinal()] = reader;
+	}
+
+	/**
+	 * Makes sure a signal gets read every loop from now on, without reading it yet
+	 */
+	public void require(HardwareSignal signal) {
+		int index = signal.ordinal();
+		if (!wanted[index]) {
+			wanted[index]         = true;
+			readList[readCount++] = index;
+		}
+	}
+
+	/**
+	 * Reads every signal that has been asked for. Call once at the start of each loop,
+	 * before the scheduler runs.
+	 */
+	public void refresh() {
+		for (int i = 0; i < readCount; i++) {
+			int            index  = readList[i];
+			DoubleSupplier reader = readers[index];
+			if (reader != null) {
+				values[index] = reader.getAsDouble();
+			}
+		}
+		refreshed = System.nanoTime();
+		refreshes++;
+	}
+
+	/**
+	 * @return the signal's value as of the last refresh(). The first time a signal is asked for
+	 *         it's read right away instead.
+	 * @throws IllegalStateException if no subsystem provides the signal
+	 */
+	public double get(HardwareSignal signal) {
+		int index = signal.ordinal();
+		if (!wanted[index]) {
+			if (readers[index] == null) {
+				throw new IllegalStateException("Nothing provides " + signal);
+			}
+			require(signal);
+			values[index] = readers[index].getAsDouble();
+		}
+		return values[index];
+	}
+
+	/**
+	 * For signals provided as 1 or 0, like limit switches
+	 */
+	public boolean getBoolean(HardwareSignal signal) {
+		return get(signal) != 0;
+	}
+
+	/**
+	 * @return signals read each refresh(), i.e. CAN reads per loop
+	 */
+	public int getSignalCount() {
+		return readCount;
+	}
+
+	public long getRefreshCount() {
+		return refreshes;
+	}
+
+	/**
+	 * @return System.nanoTime() when the last refresh() finished, i.e. when its values were true
+	 */
+	public long getRefreshNanos() {
+		return refreshed;
+	}
+}
@@ -0,0 +1,341 @@
+package frc.robot.Util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Times the pieces of each loop so an overrun can be pinned on whatever caused it.
+ * Each named stage gets a histogram of how long it took, with fixed buckets from 1 us to
+ * about 100 ms, so recording a time never allocates. When a loop runs past its budget, the
+ * stages that took the longest in that loop are remembered as the culprits.
+ * Two sets of histograms are kept: one covering the current report() window, and one covering
+ * everything since the last resetSession(). report() puts the window on the dashboard.
+ * Main loop thread only.
+ *
+ *   long start = System.nanoTime();
+ *   ...
+ *   PROFILER.record(stage, System.nanoTime() - start);
+ */
+public class LoopProfiler {
+
+	private static final int MAX_STAGES = 64;
+	private static final int CULPRITS   = 3;
+
+	/** Upper edge of each bucket, in nanoseconds; each is 25% wider than the last */
+	private static final long[] BUCKET_LIMITS;
+	static {
+		ArrayList<Long> limits = new ArrayList<>();
+		for (double limit = 1000; limit < 100e6; limit *= 1.25) {
+			limits.add(Math.round(limit));
+		}
+		BUCKET_LIMITS = new long[limits.size()];
+		for (int i = 0; i < BUCKET_LIMITS.length; i++) {
+			BUCKET_LIMITS[i] = limits.get(i);
+		}
+	}
+	private static final int BUCKETS = BUCKET_LIMITS.length + 1; // last one catches everything slower
+
+	public static final int LOOP = 0; // stage id of the whole loop
+
+	private final long budgetNanos;
+
+	private final String[]   names         = new String[MAX_STAGES];
+	private final long[][]   window        = new long[MAX_STAGES][BUCKETS];
+	private final long[][]   session       = new long[MAX_STAGES][BUCKETS];
+	private final long[]     windowMax     = new long[MAX_STAGES];
+	private final long[]     sessionMax    = new long[MAX_STAGES];
+	private final long[]     thisLoop      = new long[MAX_STAGES];
+	private final long[]     blamed        = new long[MAX_STAGES];
+	private final boolean[]  container     = new boolean[MAX_STAGES];
+	private final int[]      culprits      = new int[CULPRITS];
+	private int              stages;
+
+	private long   loopStart;
+	private long   overruns;
+	private long   sessionOverruns;
+	private String lastOverrun = "";
+
+	private final DashboardEntry[] entries = new DashboardEntry[MAX_STAGES];
+	private final DashboardEntry   overrunsEntry;
+	private final DashboardEntry   lastOverrunEntry;
+	private final double[]         reportStats = new double[4];
+	private final double[]         reportArray = new double[3];
+
+	/**
+	 * @param budgetNanos a loop longer than this counts as an overrun
+	 */
+	public LoopProfiler(long budgetNanos) {
+		this.budgetNanos = budgetNanos;
+		names[LOOP]      = "Loop";
+		stages           = 1;
+
+		overrunsEntry    = Dashboard.getEntry("Loop Overruns");
+		lastOverrunEntry = Dashboard.getEntry("Last Overrun");
+	}
+
+	/**
+	 * Looks up a stage by name, adding it if it's new. Call once and keep the id.
+	 * @return id to pass to record()
+	 */
+	public int getStage(String name) {
+		for (int i = 0; i < stages; i++) {
+			if (names[i].equals(name)) { return i; }
+		}
+		if (stages == MAX_STAGES) {
+			throw new IllegalStateException("Too many profiler stages, " + name + " doesn't fit");
+		}
+		names[stages] = name;
+		return stages++;
+	}
+
+	/**
+	 * Marks a stage as one that other stages are timed inside of, like the scheduler around
+	 * the commands. It only gets blamed for an overrun if none of the stages inside it can be.
+	 */
+	public void setContainer(int stage) {
+		container[stage] = true;
+	}
+
+	/**
+	 * Marks the start of a loop. Call first thing in each periodic function the loop starts with.
+	 */
+	public void beginLoop() {
+		loopStart = System.nanoTime();
+	}
+
+	/**
+	 * Adds a time to a stage. A stage timed more than once in a loop adds up.
+	 * @param stage id from getStage()
+	 * @param nanos how long it took
+	 */
+	public void record(int stage, long nanos) {
+		int bucket = bucketOf(nanos);
+		window[stage][bucket]++;
+		session[stage][bucket]++;
+		windowMax[stage]  = Math.max(windowMax[stage], nanos);
+		sessionMax[stage] = Math.max(sessionMax[stage], nanos);
+		thisLoop[stage]  += nanos;
+	}
+
+	private static int bucketOf(long nanos) {
+		int low  = 0;
+		int high = BUCKET_LIMITS.length;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (nanos <= BUCKET_LIMITS[middle]) {
+				high = middle;
+			} else {
+				low = middle + 1;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Marks the end of a loop, records the whole loop's time and checks it against the budget.
+	 * Call last thing in robotPeriodic().
+	 */
+	public void endLoop() {
+		if (loopStart == 0) { return; }
+		long total = System.nanoTime() - loopStart;
+		record(LOOP, total);
+		loopStart = 0;
+
+		if (total > budgetNanos) {
+			overruns++;
+			sessionOverruns++;
+			findCulprits(false);
+			if (culprits[0] < 0) {
+				findCulprits(true);
+			}
+			if (culprits[0] >= 0) {
+				blamed[culprits[0]]++;
+			}
+			StringBuilder text = new StringBuilder(String.format("%.1f ms:", total / 1e6));
+			for (int culprit : culprits) {
+				if (culprit < 0) { break; }
+				text.append(String.format(" %s %.1f", names[culprit], thisLoop[culprit] / 1e6));
+			}
+			lastOverrun = text.toString();
+		}
+		for (int i = 0; i < stages; i++) {
+			thisLoop[i] = 0;
+		}
+	}
+
+	private void findCulprits(boolean includeContainers) {
+		for (int c = 0; c < CULPRITS; c++) {
+			culprits[c] = -1;
+			for (int i = 1; i < stages; i++) {
+				if (thisLoop[i] == 0 || (container[i] && !includeContainers) || isCulprit(i, c)) { continue; }
+				if (culprits[c] < 0 || thisLoop[i] > thisLoop[culprits[c]]) {
+					culprits[c] = i;
+				}
+			}
+		}
+	}
+
+	private boolean isCulprit(int stage, int before) {
+		for (int c = 0; c < before; c++) {
+			if (culprits[c] == stage) { return true; }
+		}
+		return false;
+	}
+
+	/**
+	 * @param fraction 0.5 for the median, 0.99 for p99
+	 * @return         nanoseconds, the upper edge of the bucket the percentile falls in, capped at the max seen
+	 */
+	private static long percentile(long[] histogram, long max, double fraction) {
+		long count = 0;
+		for (long bucket : histogram) {
+			count += bucket;
+		}
+		if (count == 0) { return 0; }
+		long target = (long) Math.ceil(count * fraction);
+		long seen   = 0;
+		for (int i = 0; i < histogram.length; i++) {
+			seen += histogram[i];
+			if (seen >= target) {
+				return i < BUCKET_LIMITS.length ? Math.min(BUCKET_LIMITS[i], max) : max;
+			}
+		}
+		return max;
+	}
+
+	public int getStageCount() {
+		return stages;
+	}
+
+	public String getStageName(int stage) {
+		return names[stage];
+	}
+
+	/**
+	 * Fills in a stage's numbers for the current report window
+	 * @param into [0] = p50 us, [1] = p99 us, [2] = max us, [3] = samples
+	 */
+	public void getWindowStats(int stage, double[] into) {
+		stats(window[stage], windowMax[stage], into);
+	}
+
+	/**
+	 * Same as getWindowStats(), but since the last resetSession()
+	 */
+	public void getSessionStats(int stage, double[] into) {
+		stats(session[stage], sessionMax[stage], into);
+	}
+
+	private static void stats(long[] histogram, long max, double[] into) {
+		long count = 0;
+		for (long bucket : histogram) {
+			count += bucket;
+		}
+		into[0] = percentile(histogram, max, .5) / 1000.0;
+		into[1] = percentile(histogram, max, .99) / 1000.0;
+		into[2] = max / 1000.0;
+		into[3] = count;
+	}
+
+	/**
+	 * @return overruns since the last resetWindow()
+	 */
+	public long getWindowOverruns() {
+		return overruns;
+	}
+
+	/**
+	 * @return loops timed since the last resetSession()
+	 */
+	public long getLoopCount() {
+		long count = 0;
+		for (long bucket : session[LOOP]) {
+			count += bucket;
+		}
+		return count;
+	}
+
+	public long getSessionOverruns() {
+		return sessionOverruns;
+	}
+
+	/**
+	 * @return how many overruns a stage was the biggest part of, since the last resetSession()
+	 */
+	public long getBlameCount(int stage) {
+		return blamed[stage];
+	}
+
+	/**
+	 * @return loop time and top stages of the most recent overrun, e.g. "23.4 ms: ManualCommandDrive.execute 18.7 Telemetry 1.2"
+	 */
+	public String getLastOverrun() {
+		return lastOverrun;
+	}
+
+	/**
+	 * Puts every stage's p50/p99/max for the current window on the dashboard
+	 * as "Profile/<stage>", in microseconds, then starts a new window
+	 */
+	public void report() {
+		for (int i = 0; i < stages; i++) {
+			if (entries[i] == null) {
+				entries[i] = Dashboard.getEntry("Profile/" + names[i]);
+			}
+			getWindowStats(i, reportStats);
+			if (reportStats[3] > 0) {
+				System.arraycopy(reportStats, 0, reportArray, 0, 3);
+				entries[i].setNumberArray(reportArray); // copied, so the array can be reused
+			}
+		}
+		overrunsEntry.setNumber(overruns);
+		lastOverrunEntry.setString(lastOverrun);
+		resetWindow();
+	}
+
+	/**
+	 * Starts a new report window
+	 */
+	public void resetWindow() {
+		for (int i = 0; i < stages; i++) {
+			Arrays.fill(window[i], 0);
+			windowMax[i] = 0;
+		}
+		overruns = 0;
+	}
+
+	/**
+	 * Starts a new session, e.g. on enable
+	 */
+	public void resetSession() {
+		resetWindow();
+		for (int i = 0; i < stages; i++) {
+			Arrays.fill(session[i], 0);
+			sessionMax[i] = 0;
+			blamed[i]     = 0;
+		}
+		sessionOverruns = 0;
+		lastOverrun     = "";
+	}
+
+	/**
+	 * @return a table of every stage since the last resetSession(), slowest p99 first
+	 */
+	public String getSessionReport() {
+		double[][] stats = new double[stages][4];
+		Integer[]  order = new Integer[stages];
+		for (int i = 0; i < stages; i++) {
+			getSessionStats(i, stats[i]);
+			order[i] = i;
+		}
+		Arrays.sort(order, (a, b) -> Double.compare(stats[b][1], stats[a][1]));
+
+		StringBuilder report = new StringBuilder(String.format("%d loop overruns%n%-40s %9s %9s %9s %9s %7s%n",
+		                                                       sessionOverruns, "stage", "p50 us", "p99 us", "max us", "samples", "blamed"));
+		for (int i : order) {
+			if (stats[i][3] == 0) { continue; }
+			report.append(String.format("%-40s %9.0f %9.0f %9.0f %9.0f %7d%n", names[i], stats[i][0], stats[i][1], stats[i][2], stats[i][3], blamed[i]));
+		}
+		return report.toString();
+	}
+}
@@ -0,0 +1,400 @@
+package frc.robot.Util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import com.ctre.phoenix.ErrorCode;
+import com.ctre.phoenix.motorcontrol.NeutralMode;
+import com.ctre.phoenix.motorcontrol.can.TalonSRX;
+import com.revrobotics.CANError;
+import com.revrobotics.CANSparkMax;
+import com.revrobotics.CANSparkMax.FaultID;
+import com.revrobotics.CANSparkMax.IdleMode;
+
+import frc.robot.Enumeration.EventType;
+import frc.robot.Enumeration.MotorSetting;
+
+/**
+ * Keeps every motor controller's settings (inverts, brake/coast, ramps, limits) the way
+ * the code wants them, without the control loop sending them itself. Subsystems say what they
+ * want, as often as they like; that is only a compare unless something changed. A background
+ * thread sends whatever differs from what each controller last acknowledged, retries anything
+ * it didn't acknowledge, and sends everything again when a controller resets or the robot
+ * browns out, since a reset controller has forgotten all of it.
+ * Resets are checked for by the main loop, every loop, so a controller that comes back with its
+ * factory invert and idle mode gets the right ones again before it is driven for another loop.
+ * Add every controller, then call start().
+ */
+public class MotorReconciler implements Runnable {
+
+	private static final MotorSetting[] SETTINGS = MotorSetting.values();
+
+	/**
+	 * A motor controller as far as its settings go
+	 */
+	private interface Target {
+		/**
+		 * @return true once the controller has acknowledged it
+		 */
+		boolean apply(MotorSetting setting, double value);
+
+		/**
+		 * @return true if the controller has reset since the last time this was asked
+		 */
+		boolean hasReset();
+
+		/**
+		 * @return sticky faults besides the reset that hasReset() had to clear to see the next one, one bit per fault
+		 */
+		int getClearedFaults();
+	}
+
+	private static final class Spark implements Target {
+		private static final int HAS_RESET = 1 << FaultID.kHasReset.ordinal();
+
+		private final CANSparkMax spark;
+
+		private int cleared;
+
+		private Spark(CANSparkMax spark) {
+			this.spark = spark;
+		}
+
+		@Override
+		public boolean apply(MotorSetting setting, double value) {
+			switch (setting) {
+			case INVERTED:
+				spark.setInverted(value != 0);
+				return true;
+			case BRAKE:
+				return spark.setIdleMode(value != 0 ? IdleMode.kBrake : IdleMode.kCoast) == CANError.kOK;
+			case OPEN_LOOP_RAMP:
+				return spark.setOpenLoopRampRate(value) == CANError.kOK;
+			case CURRENT_LIMIT:
+				return spark.setSmartCurrentLimit((int) value) == CANError.kOK;
+			default:
+				return true; // nothing to set
+			}
+		}
+
+		/**
+		 * A SPARK MAX can only clear all of its sticky faults at once, so the others (brownout,
+		 * overcurrent and so on) are kept here before they go, for the event log
+		 */
+		@Override
+		public boolean hasReset() {
+			int faults = spark.getStickyFaults();
+			if ((faults & HAS_RESET) == 0) { return false; }
+			cleared = faults & ~HAS_RESET & 0xFFFF;
+			spark.clearFaults();
+			return true;
+		}
+
+		@Override
+		public int getClearedFaults() {
+			return cleared;
+		}
+	}
+
+	private static final class Talon implements Target {
+		private final TalonSRX talon;
+		private final int      timeoutMs;
+
+		private Talon(TalonSRX talon, int timeoutMs) {
+			this.talon     = talon;
+			this.timeoutMs = timeoutMs;
+		}
+
+		@Override
+		public boolean apply(MotorSetting setting, double value) {
+			switch (setting) {
+			case INVERTED:
+				talon.setInverted(value != 0);
+				return true;
+			case SENSOR_PHASE:
+				talon.setSensorPhase(value != 0);
+				return true;
+			case BRAKE:
+				talon.setNeutralMode(value != 0 ? NeutralMode.Brake : NeutralMode.Coast);
+				return true;
+			case OPEN_LOOP_RAMP:
+				return talon.configOpenloopRamp(value, timeoutMs) == ErrorCode.OK;
+			case CURRENT_LIMIT:
+				return talon.configContinuousCurrentLimit((int) value, timeoutMs) == ErrorCode.OK;
+			case NOMINAL_OUTPUT:
+				return talon.configNominalOutputForward(value, timeoutMs) == ErrorCode.OK
+				     & talon.configNominalOutputReverse(-value, timeoutMs) == ErrorCode.OK;
+			case PEAK_OUTPUT:
+				return talon.configPeakOutputForward(value, timeoutMs) == ErrorCode.OK
+				     & talon.configPeakOutputReverse(-value, timeoutMs) == ErrorCode.OK;
+			case CLOSED_LOOP_ERROR:
+				return talon.configAllowableClosedloopError(0, (int) value, timeoutMs) == ErrorCode.OK;
+			default:
+				return true;
+			}
+		}
+
+		@Override
+		public boolean hasReset() {
+			return talon.hasResetOccurred();
+		}
+
+		@Override
+		public int getClearedFaults() {
+			return 0; // hasResetOccurred() leaves the sticky faults alone
+		}
+	}
+
+	private final EventLog.Producer events;
+	private final int               timeoutMs;
+	private final int               retryMs;
+
+	// one entry per device; wanted, reset, resend and dirty are under this, applied and sending are the background thread's
+	private final ArrayList<String>              names     = new ArrayList<>();
+	private final ArrayList<Target>              targets   = new ArrayList<>();
+	private final ArrayList<ArrayList<Runnable>> listeners = new ArrayList<>();
+	private final ArrayList<double[]>            wanted    = new ArrayList<>();
+	private final ArrayList<double[]>            applied   = new ArrayList<>();
+	private final ArrayList<double[]>            sending   = new ArrayList<>();
+	private final ArrayList<Integer>             faults    = new ArrayList<>(); // sticky faults cleared so far, set by the main loop
+	private final ArrayList<Boolean>             reset     = new ArrayList<>(); // reset seen by the main loop, not yet resent
+
+	private boolean resend;
+	private boolean dirty;
+	private boolean checked; // main loop; false until the power-on resets have been cleared
+
+	private volatile long sent;
+	private volatile long failed;
+	private volatile long resets;
+	private volatile long pending; // settings not yet acknowledged after the last pass
+
+	private Thread thread;
+
+	/**
+	 * @param events    gets a MOTOR_RESET when a controller resets; only used by checkResets(), so the main loop's
+	 * @param timeoutMs how long a Talon config call waits for an acknowledgement
+	 * @param retryMs   how soon settings that weren't acknowledged are sent again
+	 */
+	public MotorReconciler(EventLog.Producer events, int timeoutMs, int retryMs) {
+		this.events    = events;
+		this.timeoutMs = timeoutMs;
+		this.retryMs   = retryMs;
+	}
+
+	/**
+	 * Adds a SPARK MAX. Only before start().
+	 * @param name shown in warnings
+	 * @return     device index for set()
+	 */
+	public int addSparkMax(String name, CANSparkMax spark) {
+		return add(name, new Spark(spark));
+	}
+
+	/**
+	 * Adds a Talon SRX. Only before start().
+	 * @param name shown in warnings
+	 * @return     device index for set()
+	 */
+	public int addTalon(String name, TalonSRX talon) {
+		return add(name, new Talon(talon, timeoutMs));
+	}
+
+	private synchronized int add(String name, Target target) {
+		if (thread != null) {
+			throw new IllegalStateException("Motor controller " + name + " added after the reconciler started");
+		}
+		double[] nothing = new double[SETTINGS.length];
+		Arrays.fill(nothing, Double.NaN);
+		names.add(name);
+		targets.add(target);
+		listeners.add(new ArrayList<>());
+		wanted.add(nothing);
+		applied.add(nothing.clone());
+		sending.add(nothing.clone());
+		faults.add(0);
+		reset.add(false);
+		return targets.size() - 1;
+	}
+
+	/**
+	 * Runs something on the background thread after a device resets, for settings kept elsewhere
+	 * like its PIDF gains. Only before start().
+	 */
+	public synchronized void onReset(int device, Runnable listener) {
+		if (thread != null) {
+			throw new IllegalStateException("Reset listener added after the reconciler started");
+		}
+		listeners.get(device).add(listener);
+	}
+
+	/**
+	 * Starts the background thread, which sends everything wanted so far
+	 */
+	public synchronized void start() {
+		thread = new Thread(this, "Motor Reconciler");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * Asks for a setting. Cheap when nothing changed, so it can be called every loop. Any thread.
+	 * @param device index from addSparkMax() or addTalon()
+	 */
+	public void set(int device, MotorSetting setting, double value) {
+		synchronized (this) {
+			double[] settings = wanted.get(device);
+			if (settings[setting.ordinal()] == value) { return; }
+			settings[setting.ordinal()] = value;
+			dirty = true;
+			notifyAll();
+		}
+	}
+
+	public void set(int device, MotorSetting setting, boolean value) {
+		set(device, setting, value ? 1 : 0);
+	}
+
+	/**
+	 * Sends every setting again, for after a brownout when any controller might have reset
+	 * without it showing yet
+	 */
+	public synchronized void resendAll() {
+		resend = true;
+		dirty  = true;
+		notifyAll();
+	}
+
+	/**
+	 * Checks every controller for a reset. A controller that reset gets its invert and brake/coast
+	 * put back right away, since those decide which way and how it drives, and everything else
+	 * gets resent by the background thread. Call from the main loop, every loop, before anything
+	 * drives a motor; the checks read values the controllers already broadcast.
+	 */
+	public void checkResets() {
+		for (int d = 0; d < targets.size(); d++) {
+			Target target = targets.get(d);
+			if (!target.hasReset()) { continue; }
+
+			// every controller reports a reset after power on, which isn't news; whatever faults it cleared still are
+			int cleared = target.getClearedFaults();
+			if (cleared != 0) {
+				events.log(EventType.STICKY_FAULTS, d * 65536 + cleared);
+			}
+			double inverted;
+			double brake;
+			synchronized (this) {
+				faults.set(d, faults.get(d) | cleared);
+				if (!checked) { continue; }
+				double[] settings = wanted.get(d);
+				inverted = settings[MotorSetting.INVERTED.ordinal()];
+				brake    = settings[MotorSetting.BRAKE.ordinal()];
+				reset.set(d, true);
+				dirty = true;
+				notifyAll();
+			}
+			resets++;
+			events.log(EventType.MOTOR_RESET, d);
+			// the background thread sends these again with everything else, which retries them if they didn't take
+			if (!Double.isNaN(inverted)) {
+				target.apply(MotorSetting.INVERTED, inverted);
+			}
+			if (!Double.isNaN(brake)) {
+				target.apply(MotorSetting.BRAKE, brake);
+			}
+		}
+		checked = true;
+	}
+
+	@Override
+	public void run() {
+		boolean[] wasReset = new boolean[targets.size()];
+		while (!Thread.interrupted()) {
+			boolean forget;
+			synchronized (this) {
+				try {
+					if (!dirty) {
+						wait(pending > 0 ? retryMs : 0); // 0 waits until set(), checkResets() or resendAll() has something
+					}
+				} catch (InterruptedException e) { //thrown when the robot shuts down
+					return;
+				}
+				for (int d = 0; d < targets.size(); d++) {
+					System.arraycopy(wanted.get(d), 0, sending.get(d), 0, SETTINGS.length);
+					wasReset[d] = reset.get(d);
+					reset.set(d, false);
+				}
+				forget = resend;
+				resend = false;
+				dirty  = false;
+			}
+
+			long unacknowledged = 0;
+			for (int d = 0; d < targets.size(); d++) {
+				Target   target = targets.get(d);
+				double[] done   = applied.get(d);
+				if (wasReset[d]) {
+					for (Runnable listener : listeners.get(d)) {
+						listener.run();
+					}
+					Arrays.fill(done, Double.NaN);
+				} else if (forget) {
+					Arrays.fill(done, Double.NaN);
+				}
+
+				double[] settings = sending.get(d);
+				for (MotorSetting setting : SETTINGS) {
+					double value = settings[setting.ordinal()];
+					if (Double.isNaN(value) || value == done[setting.ordinal()]) { continue; }
+					sent++;
+					if (target.apply(setting, value)) {
+						done[setting.ordinal()] = value;
+					} else {
+						failed++;
+						unacknowledged++;
+					}
+				}
+			}
+			pending = unacknowledged;
+		}
+	}
+
+	public String getName(int device) {
+		return names.get(device);
+	}
+
+	/**
+	 * @return settings sent so far
+	 */
+	public long getSentCount() {
+		return sent;
+	}
+
+	/**
+	 * @return settings a controller didn't acknowledge in time
+	 */
+	public long getFailedCount() {
+		return failed;
+	}
+
+	/**
+	 * @return controller resets seen since start()
+	 */
+	public long getResetCount() {
+		return resets;
+	}
+
+	/**
+	 * @param device index from addSparkMax() or addTalon()
+	 * @return       sticky faults that had to be cleared to catch a reset, one bit per FaultID
+	 */
+	public synchronized int getClearedStickyFaults(int device) {
+		return faults.get(device);
+	}
+
+	/**
+	 * @return settings still waiting on a retry
+	 */
+	public long getPendingCount() {
+		return pending;
+	}
+}
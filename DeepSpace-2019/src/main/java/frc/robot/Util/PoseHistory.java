@@ -0,0 +1,112 @@
+package frc.robot.Util;
+
+/**
+ * Fixed-size ring buffer of drivetrain samples, indexed by time.
+ * Lets vision code ask "which way were we pointing when the camera took that frame?"
+ * Everything is stored in primitive arrays so recording never makes garbage.
+ * One thread records, any thread can query.
+ */
+public class PoseHistory {
+
+	private final long[]   times;
+	private final double[] headings;
+	private final double[] lefts;
+	private final double[] rights;
+
+	private int next; // slot the next sample goes into
+	private int size;
+
+	/**
+	 * @param capacity number of samples kept before the oldest gets overwritten
+	 */
+	public PoseHistory(int capacity) {
+		times    = new long[capacity];
+		headings = new double[capacity];
+		lefts    = new double[capacity];
+		rights   = new double[capacity];
+	}
+
+	/**
+	 * Adds a sample. Samples must be recorded in time order.
+	 * @param time    System.nanoTime() when the sample was taken
+	 * @param heading robot heading in degrees (positive = CW)
+	 * @param left    left side position in inches
+	 * @param right   right side position in inches
+	 */
+	public synchronized void record(long time, double heading, double left, double right) {
+		times[next]    = time;
+		headings[next] = heading;
+		lefts[next]    = left;
+		rights[next]   = right;
+		next = (next + 1) % times.length;
+		if (size < times.length) { size++; }
+	}
+
+	/**
+	 * @return heading of the newest sample, 0 if nothing has been recorded
+	 */
+	public synchronized double getLatestHeading() {
+		return size == 0 ? 0 : headings[index(size - 1)];
+	}
+
+	/**
+	 * Heading at an arbitrary time, linearly interpolated between the two samples around it.
+	 * Times outside the buffer clamp to the oldest or newest sample.
+	 * @param time System.nanoTime() to look up
+	 * @return     heading in degrees (positive = CW), 0 if nothing has been recorded
+	 */
+	public synchronized double getHeadingAt(long time) {
+		return interpolate(headings, time);
+	}
+
+	/**
+	 * Distance travelled (average of both sides) at an arbitrary time, interpolated like getHeadingAt()
+	 * @param time System.nanoTime() to look up
+	 * @return     average side position in inches, 0 if nothing has been recorded
+	 */
+	public synchronized double getDistanceAt(long time) {
+		return (interpolate(lefts, time) + interpolate(rights, time)) / 2;
+	}
+
+	/**
+	 * How far the robot has turned since the given time
+	 * @param time System.nanoTime() to measure from
+	 * @return     degrees turned since then (positive = CW)
+	 */
+	public synchronized double getHeadingChangeSince(long time) {
+		return getLatestHeading() - getHeadingAt(time);
+	}
+
+	/**
+	 * Empties the buffer
+	 */
+	public synchronized void clear() {
+		next = 0;
+		size = 0;
+	}
+
+	private double interpolate(double[] values, long time) {
+		if (size == 0) { return 0; }
+
+		// walk back from the newest sample; vision lookups are only ever a few samples old
+		int newer = size - 1;
+		if (time >= times[index(newer)]) { return values[index(newer)]; }
+		while (newer > 0 && times[index(newer - 1)] > time) { newer--; }
+		if (newer == 0) { return values[index(0)]; }
+
+		int  a    = index(newer - 1);
+		int  b    = index(newer);
+		long span = times[b] - times[a];
+		if (span <= 0) { return values[b]; }
+		double fraction = (double) (time - times[a]) / span;
+		return values[a] + (values[b] - values[a]) * fraction;
+	}
+
+	/**
+	 * Converts an age order (0 = oldest) into an array index
+	 */
+	private int index(int order) {
+		int oldest = (next - size + times.length) % times.length;
+		return (oldest + order) % times.length;
+	}
+}
@@ -0,0 +1,145 @@
+package frc.robot.Util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import edu.wpi.first.wpilibj.Preferences;
+
+/**
+ * Writes default values to Preferences from a background thread, a batch at a time. Every put is
+ * a persistent NetworkTables value, so the roboRIO ends up saving its preferences file to flash;
+ * letting robotInit or a command's first loop do that means a stall. Puts here only queue the
+ * value. Once nothing new has been queued for the debounce time, the thread writes the whole
+ * batch in one go, leaving out any key that got a value some other way in the meantime, so a
+ * default never overwrites something typed on the dashboard.
+ */
+public class PreferenceWriter implements Runnable {
+
+	private final Preferences preferences;
+	private final long        debounceMs;
+	private final long        maxDelayMs;
+
+	// under this
+	private final LinkedHashMap<String, Object> pending = new LinkedHashMap<>();
+	private long                                lastPutMs;
+	private long                                firstPutMs;
+
+	private volatile long flushes;
+	private volatile long writes;
+	private final AtomicLong skipped = new AtomicLong();
+
+	private Thread thread;
+
+	/**
+	 * @param preferences where the values go
+	 * @param debounceMs  quiet time before a batch is written
+	 * @param maxDelayMs  longest a value waits, however busy the puts are
+	 */
+	public PreferenceWriter(Preferences preferences, long debounceMs, long maxDelayMs) {
+		this.preferences = preferences;
+		this.debounceMs  = debounceMs;
+		this.maxDelayMs  = maxDelayMs;
+	}
+
+	/**
+	 * Starts the background thread; anything put before this is written in its first batch
+	 */
+	public void start() {
+		thread = new Thread(this, "Preference Writer");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * Queues a value for a key Preferences doesn't have yet. Any thread.
+	 */
+	public void putDefaultDouble(String key, double value) {
+		put(key, value);
+	}
+
+	public void putDefaultBoolean(String key, boolean value) {
+		put(key, value);
+	}
+
+	private synchronized void put(String key, Object value) {
+		if (value.equals(pending.get(key))) {
+			skipped.incrementAndGet();
+			return;
+		}
+		long now = System.currentTimeMillis();
+		if (pending.isEmpty()) {
+			firstPutMs = now;
+		}
+		pending.put(key, value);
+		lastPutMs = now;
+		notifyAll();
+	}
+
+	@Override
+	public void run() {
+		LinkedHashMap<String, Object> batch = new LinkedHashMap<>();
+		while (!Thread.interrupted()) {
+			synchronized (this) {
+				try {
+					while (pending.isEmpty()) {
+						wait();
+					}
+					long now = System.currentTimeMillis();
+					while (now - lastPutMs < debounceMs && now - firstPutMs < maxDelayMs) {
+						wait(Math.min(debounceMs - (now - lastPutMs), maxDelayMs - (now - firstPutMs)));
+						now = System.currentTimeMillis();
+					}
+				} catch (InterruptedException e) { //thrown when the robot shuts down
+					return;
+				}
+				batch.putAll(pending);
+				pending.clear();
+			}
+
+			for (Map.Entry<String, Object> entry : batch.entrySet()) {
+				String key = entry.getKey();
+				if (preferences.containsKey(key)) {
+					skipped.incrementAndGet();
+					continue;
+				}
+				if (entry.getValue() instanceof Boolean) {
+					preferences.putBoolean(key, (Boolean) entry.getValue());
+				} else {
+					preferences.putDouble(key, (Double) entry.getValue());
+				}
+				writes++;
+			}
+			batch.clear();
+			flushes++;
+		}
+	}
+
+	/**
+	 * @return batches written so far
+	 */
+	public long getFlushCount() {
+		return flushes;
+	}
+
+	/**
+	 * @return values written so far
+	 */
+	public long getWriteCount() {
+		return writes;
+	}
+
+	/**
+	 * @return defaults left out because they were already queued or the key turned up before the batch
+	 */
+	public long getSkippedCount() {
+		return skipped.get();
+	}
+
+	/**
+	 * @return values waiting for the next batch
+	 */
+	public synchronized int getPendingCount() {
+		return pending.size();
+	}
+}
@@ -0,0 +1,247 @@
+package frc.robot.Util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import frc.robot.Enumeration.PacketError;
+
+/**
+ * Health counters for the vision receiver.
+ * Only the listener thread writes, so nothing here takes a lock; the main loop reads
+ * whenever it wants and publishes at a low rate. Enough to tell "Pi is slow" from "Pi is dead".
+ */
+public class ReceiverStats {
+
+	/** Upper edge of each histogram bucket in ms. One extra bucket at the end catches everything above. */
+	public static final double[] BUCKET_LIMITS_MS = {5, 10, 20, 30, 40, 50, 75, 100, 200, 500};
+
+	// a sequence number this far backwards means the Pi restarted, not that a packet got reordered
+	private static final long SEQUENCE_RESTART_THRESHOLD = 1000;
+
+	// a capture time this far backwards (in microseconds) means the Pi's clock started over
+	private static final long CAPTURE_RESTART_MICROS = 1000000;
+
+	// this many stale packets in a row is a Pi that restarted early, not reordering
+	private static final int STALE_RESTART_COUNT = 10;
+
+	private final PacketError[]   errorTypes;
+	private final AtomicLongArray errors;
+	private final AtomicLongArray intervalHistogram;
+	private final AtomicLongArray latencyHistogram;
+
+	private volatile long received;
+	private volatile long valid;
+	private volatile long dropped;
+	private volatile long sequenceGaps;
+	private volatile long outOfOrder;
+	private volatile long restarts;
+	private volatile long ioErrors;
+	private volatile long lastValidNanos;
+
+	// listener thread only
+	private long lastSequence = -1;
+	private long lastCaptureMicros;
+	private int  stale;
+
+	// reader side, for working out rates between calls to updateRates()
+	private long   rateReceived;
+	private long   rateValid;
+	private long   rateNanos;
+	private double receivedRate;
+	private double validRate;
+
+	public ReceiverStats() {
+		errorTypes        = PacketError.values();
+		errors            = new AtomicLongArray(errorTypes.length);
+		intervalHistogram = new AtomicLongArray(BUCKET_LIMITS_MS.length + 1);
+		latencyHistogram  = new AtomicLongArray(BUCKET_LIMITS_MS.length + 1);
+		rateNanos         = System.nanoTime();
+	}
+
+	/* ---- listener thread ---- */
+
+	public void recordReceived() {
+		received++;
+	}
+
+	public void recordError(PacketError error) {
+		errors.incrementAndGet(error.ordinal());
+	}
+
+	public void recordDropped() {
+		dropped++;
+	}
+
+	public void recordIOError() {
+		ioErrors++;
+	}
+
+	/**
+	 * Tracks sequence numbers of good packets. A packet that is behind the last one is thrown away
+	 * as reordered, unless it looks like the Pi restarted: the sequence went back a long way, the
+	 * capture clock went back, or nothing but old packets has arrived for a while. Then the
+	 * sequence starts over from this packet.
+	 * @param sequence      the packet's sequence number, negative if it has none
+	 * @param captureMicros the packet's capture time on the Pi's clock, 0 if it has none
+	 * @return              false if the packet is older than one already seen and should be thrown away
+	 */
+	public boolean recordSequence(long sequence, long captureMicros) {
+		if (sequence < 0) { return true; }
+		if (lastSequence >= 0) {
+			long step = sequence - lastSequence;
+			if (step <= 0) {
+				boolean restarted = step <= -SEQUENCE_RESTART_THRESHOLD
+				                 || (captureMicros != 0 && lastCaptureMicros - captureMicros > CAPTURE_RESTART_MICROS)
+				                 || ++stale >= STALE_RESTART_COUNT;
+				if (!restarted) {
+					outOfOrder++;
+					return false;
+				}
+				restarts++;
+			} else if (step > 1) {
+				sequenceGaps += step - 1;
+			}
+		}
+		lastSequence      = sequence;
+		lastCaptureMicros = captureMicros;
+		stale             = 0;
+		return true;
+	}
+
+	/**
+	 * Records a good packet being published
+	 * @param receiveNanos System.nanoTime() it arrived
+	 * @param captureNanos estimated System.nanoTime() it was captured
+	 */
+	public void recordValid(long receiveNanos, long captureNanos) {
+		if (valid > 0) {
+			intervalHistogram.incrementAndGet(bucket((receiveNanos - lastValidNanos) / 1e6));
+		}
+		latencyHistogram.incrementAndGet(bucket((receiveNanos - captureNanos) / 1e6));
+		lastValidNanos = receiveNanos;
+		valid++;
+	}
+
+	private static int bucket(double ms) {
+		for (int i = 0; i < BUCKET_LIMITS_MS.length; i++) {
+			if (ms < BUCKET_LIMITS_MS[i]) { return i; }
+		}
+		return BUCKET_LIMITS_MS.length;
+	}
+
+	/* ---- any thread ---- */
+
+	/**
+	 * Works out packet rates since the last call. Call from one thread only, at a low rate.
+	 */
+	public void updateRates() {
+		long   now     = System.nanoTime();
+		double seconds = (now - rateNanos) / 1e9;
+		if (seconds <= 0) { return; }
+		long received = this.received;
+		long valid    = this.valid;
+		receivedRate  = (received - rateReceived) / seconds;
+		validRate     = (valid - rateValid) / seconds;
+		rateReceived  = received;
+		rateValid     = valid;
+		rateNanos     = now;
+	}
+
+	/**
+	 * @return datagrams per second as of the last updateRates()
+	 */
+	public double getReceivedRate() {
+		return receivedRate;
+	}
+
+	/**
+	 * @return good packets per second as of the last updateRates()
+	 */
+	public double getValidRate() {
+		return validRate;
+	}
+
+	/**
+	 * @return ms since the last good packet, or -1 if there hasn't been one
+	 */
+	public double getMillisSinceValid() {
+		return valid == 0 ? -1 : (System.nanoTime() - lastValidNanos) / 1e6;
+	}
+
+	public long getReceivedCount() {
+		return received;
+	}
+
+	public long getValidCount() {
+		return valid;
+	}
+
+	/**
+	 * @return good packets thrown away because a newer one was queued behind them
+	 */
+	public long getDroppedCount() {
+		return dropped;
+	}
+
+	/**
+	 * @return packets the Pi sent that never showed up, going by sequence number
+	 */
+	public long getSequenceGapCount() {
+		return sequenceGaps;
+	}
+
+	/**
+	 * @return packets that arrived after a newer one and were ignored
+	 */
+	public long getOutOfOrderCount() {
+		return outOfOrder;
+	}
+
+	/**
+	 * @return times the sequence started over because the Pi restarted
+	 */
+	public long getRestartCount() {
+		return restarts;
+	}
+
+	public long getIOErrorCount() {
+		return ioErrors;
+	}
+
+	/**
+	 * @return datagrams that failed to decode for the given reason
+	 */
+	public long getErrorCount(PacketError error) {
+		return errors.get(error.ordinal());
+	}
+
+	/**
+	 * @return datagrams that failed to decode for any reason
+	 */
+	public long getErrorCount() {
+		long total = 0;
+		for (int i = 0; i < errorTypes.length; i++) {
+			total += errors.get(i);
+		}
+		return total;
+	}
+
+	/**
+	 * Copies the time-between-packets histogram into the given array
+	 * @param counts array of at least BUCKET_LIMITS_MS.length + 1
+	 */
+	public void getIntervalHistogram(double[] counts) {
+		for (int i = 0; i < intervalHistogram.length(); i++) {
+			counts[i] = intervalHistogram.get(i);
+		}
+	}
+
+	/**
+	 * Copies the capture-to-receive latency histogram into the given array
+	 * @param counts array of at least BUCKET_LIMITS_MS.length + 1
+	 */
+	public void getLatencyHistogram(double[] counts) {
+		for (int i = 0; i < latencyHistogram.length(); i++) {
+			counts[i] = latencyHistogram.get(i);
+		}
+	}
+}
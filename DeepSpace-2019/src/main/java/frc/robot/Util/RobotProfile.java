@@ -0,0 +1,232 @@
+package frc.robot.Util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import frc.robot.Enumeration.ProfileValue;
+
+/**
+ * The values that make this robot this robot (CAN IDs, inverts, mast scale and heights), read from
+ * a profile file instead of Constants so one jar runs on both robots. Which profile to use comes
+ * from an identity file that stays on each roboRIO; the profiles themselves are deployed from
+ * src/main/deploy/profiles. Every value is parsed once into an array, so reading one is an array
+ * load, and a changed profile is loaded again on a background thread and swapped in whole, so a
+ * new mast height can be deployed without a new jar or a restart.
+ */
+public class RobotProfile implements Runnable {
+
+	private static final ProfileValue[] VALUES    = ProfileValue.values();
+	private static final String         EXTENSION = ".properties";
+
+	/**
+	 * One consistent set of values. Never changed once published.
+	 */
+	private static final class Snapshot {
+		private final double[] values;
+
+		private Snapshot(double[] values) {
+			this.values = values;
+		}
+	}
+
+	private final Path             directory;
+	private final Path             file;
+	private final String           name;
+	private final long             settleMs;
+	private final Consumer<String> warnings;
+
+	private final ArrayList<Runnable> listeners = new ArrayList<>();
+
+	private volatile Snapshot snapshot;
+	private volatile long     reloads;
+
+	private Thread thread;
+
+	/**
+	 * Loads the profile named in the identity file, or the backup one if there's no identity file.
+	 * Anything missing or unreadable falls back to its backup from Constants, with a warning.
+	 * @param directory  where the profiles are, one NAME.properties each
+	 * @param identity   file holding the name of this robot's profile
+	 * @param backupName profile to use when there's no identity file
+	 * @param settleMs   how long to let a deploy finish writing before reloading
+	 * @param warnings   told about anything that had to fall back
+	 */
+	public RobotProfile(Path directory, Path identity, String backupName, long settleMs, Consumer<String> warnings) {
+		this.directory = directory;
+		this.settleMs  = settleMs;
+		this.warnings  = warnings;
+
+		String chosen = backupName;
+		try {
+			chosen = new String(Files.readAllBytes(identity), StandardCharsets.UTF_8).trim();
+		} catch (NoSuchFileException e) { //thrown when this roboRIO has never been told which robot it is
+			warnings.accept("No " + identity + ", using the " + backupName + " profile");
+		} catch (IOException e) { //thrown when the identity file can't be read
+			warnings.accept("Could not read " + identity + ", using the " + backupName + " profile");
+		}
+		name = chosen;
+		file = directory.resolve(name + EXTENSION);
+
+		double[] backups = new double[VALUES.length];
+		for (ProfileValue value : VALUES) {
+			backups[value.ordinal()] = value.getBackup();
+		}
+		double[] values = load(backups);
+		snapshot = new Snapshot(values == null ? backups : values);
+	}
+
+	/**
+	 * Parses the profile file
+	 * @param previous what each value falls back to if the file doesn't have it
+	 * @return         the values, or null if the file couldn't be read at all
+	 */
+	private double[] load(double[] previous) {
+		Properties properties = new Properties();
+		try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+			properties.load(reader);
+		} catch (IOException | IllegalArgumentException e) { //thrown when the file is missing, unreadable or has a bad escape
+			warnings.accept("Could not read robot profile " + file + ", keeping the values it has: " + e.getMessage());
+			return null;
+		}
+
+		double[]        values = previous.clone();
+		HashSet<String> known  = new HashSet<>();
+		for (ProfileValue value : VALUES) {
+			String key  = value.toString();
+			String text = properties.getProperty(key);
+			known.add(key);
+			if (text == null) {
+				warnings.accept("Robot profile " + name + " has no " + key + ", using " + previous[value.ordinal()]);
+				continue;
+			}
+			text = text.trim();
+			if (value.isBoolean()) {
+				if (text.equalsIgnoreCase("true") || text.equalsIgnoreCase("false")) {
+					values[value.ordinal()] = Boolean.parseBoolean(text) ? 1 : 0;
+				} else {
+					warnings.accept("Robot profile " + name + " " + key + " = " + text + " isn't true or false, using " + (previous[value.ordinal()] != 0));
+				}
+				continue;
+			}
+			try {
+				values[value.ordinal()] = Double.parseDouble(text);
+			} catch (NumberFormatException e) { //thrown when the value isn't a number
+				warnings.accept("Robot profile " + name + " " + key + " = " + text + " isn't a number, using " + previous[value.ordinal()]);
+			}
+		}
+		for (String key : properties.stringPropertyNames()) {
+			if (!known.contains(key)) {
+				warnings.accept("Robot profile " + name + " has " + key + ", which nothing reads");
+			}
+		}
+		return values;
+	}
+
+	/**
+	 * Runs something on the background thread after every reload, for values that have to be
+	 * pushed somewhere, like inverts. Only before start().
+	 */
+	public void onReload(Runnable listener) {
+		if (thread != null) {
+			throw new IllegalStateException("Profile listener added after watching started");
+		}
+		listeners.add(listener);
+	}
+
+	/**
+	 * Starts watching the profile directory
+	 */
+	public void start() {
+		thread = new Thread(this, "Robot Profile");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	@Override
+	public void run() {
+		try (WatchService watcher = FileSystems.getDefault().newWatchService()) {
+			directory.register(watcher, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+			while (!Thread.interrupted()) {
+				WatchKey key = watcher.take();
+				boolean changed = false;
+				do {
+					for (WatchEvent<?> event : key.pollEvents()) {
+						if (file.getFileName().equals(event.context()) || event.kind() == StandardWatchEventKinds.OVERFLOW) {
+							changed = true;
+						}
+					}
+					key.reset();
+					key = watcher.poll(settleMs, TimeUnit.MILLISECONDS); // a deploy writes in pieces, so wait for it to go quiet
+				} while (key != null);
+				if (changed) {
+					reload();
+				}
+			}
+		} catch (InterruptedException | ClosedWatchServiceException e) { //thrown when the robot shuts down
+		} catch (IOException e) { //thrown when the directory can't be watched, e.g. nothing has been deployed to it
+			warnings.accept("Not watching " + directory + " for profile changes: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Loads the profile again and swaps it in. Values that only count at startup keep what
+	 * the robot is actually running with.
+	 */
+	void reload() {
+		double[] current = snapshot.values;
+		double[] values  = load(current);
+		if (values == null) { return; }
+		for (ProfileValue value : VALUES) {
+			if (value.isRestartOnly() && values[value.ordinal()] != current[value.ordinal()]) {
+				warnings.accept("Robot profile " + name + " " + value + " changed to " + values[value.ordinal()] + ", restart the robot code to use it");
+				values[value.ordinal()] = current[value.ordinal()];
+			}
+		}
+		snapshot = new Snapshot(values);
+		reloads++;
+		for (Runnable listener : listeners) {
+			listener.run();
+		}
+	}
+
+	public double get(ProfileValue value) {
+		return snapshot.values[value.ordinal()];
+	}
+
+	public int getInt(ProfileValue value) {
+		return (int) snapshot.values[value.ordinal()];
+	}
+
+	public boolean getBoolean(ProfileValue value) {
+		return snapshot.values[value.ordinal()] != 0;
+	}
+
+	/**
+	 * @return the profile in use, e.g. "practice"
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * @return times the profile has been loaded again since startup
+	 */
+	public long getReloadCount() {
+		return reloads;
+	}
+}
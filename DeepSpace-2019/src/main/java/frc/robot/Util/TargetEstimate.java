@@ -0,0 +1,104 @@
+package frc.robot.Util;
+
+/**
+ * Where the TargetTracker thinks the target is, as of one frame.
+ * Each reader keeps one of these and has TargetTracker.read() fill it once per loop, so it gets
+ * an angle, distance and capture time that all belong to the same frame without the tracker
+ * making garbage for every packet. Until the first read() it says there's no target.
+ * One thread per instance.
+ */
+public class TargetEstimate {
+
+	private boolean tracking;
+	private double  angle;
+	private double  angleRate;
+	private double  distance;
+	private double  distanceRate;
+	private long    measurementNanos;
+	private double  confidence;
+	private long    coastNanos;
+
+	/**
+	 * @param tracking         false once the track has been dropped
+	 * @param angle            smoothed angle from center (in degrees; positive = CW)
+	 * @param angleRate        degrees per second
+	 * @param distance         smoothed distance from target (in inches)
+	 * @param distanceRate     inches per second
+	 * @param measurementNanos capture time of the last frame that showed the target, on the System.nanoTime() clock
+	 * @param confidence       0 - 1, as of that frame
+	 * @param coastNanos       how long the track survives without seeing the target
+	 */
+	void set(boolean tracking, double angle, double angleRate, double distance, double distanceRate,
+	         long measurementNanos, double confidence, long coastNanos) {
+		this.tracking         = tracking;
+		this.angle            = angle;
+		this.angleRate        = angleRate;
+		this.distance         = distance;
+		this.distanceRate     = distanceRate;
+		this.measurementNanos = measurementNanos;
+		this.confidence       = confidence;
+		this.coastNanos       = coastNanos;
+	}
+
+	/**
+	 * Makes this a copy of another estimate
+	 */
+	void set(TargetEstimate other) {
+		set(other.tracking, other.angle, other.angleRate, other.distance, other.distanceRate,
+		    other.measurementNanos, other.confidence, other.coastNanos);
+	}
+
+	/**
+	 * @param now System.nanoTime()
+	 * @return    true if the target was seen recently enough to keep steering at it
+	 */
+	public boolean isTracking(long now) {
+		return tracking && now - measurementNanos < coastNanos;
+	}
+
+	/**
+	 * How much to trust the track right now. Builds up over consecutive hits,
+	 * drops on misses, and fades to 0 as the last hit gets older than the coast time.
+	 * @param now System.nanoTime()
+	 * @return    0 - 1
+	 */
+	public double getConfidence(long now) {
+		if (!isTracking(now)) { return 0; }
+		return confidence * (1 - (double) (now - measurementNanos) / coastNanos);
+	}
+
+	/**
+	 * @return smoothed angle from center at getMeasurementNanos() (in degrees; positive = CW)
+	 */
+	public double getAngle() {
+		return angle;
+	}
+
+	/**
+	 * @return how fast the angle is changing, in degrees per second
+	 */
+	public double getAngleRate() {
+		return angleRate;
+	}
+
+	/**
+	 * @return smoothed distance from target at getMeasurementNanos() (in inches)
+	 */
+	public double getDistance() {
+		return distance;
+	}
+
+	/**
+	 * @return how fast the distance is changing, in inches per second
+	 */
+	public double getDistanceRate() {
+		return distanceRate;
+	}
+
+	/**
+	 * @return capture time of the last frame that showed the target, on the System.nanoTime() clock
+	 */
+	public long getMeasurementNanos() {
+		return measurementNanos;
+	}
+}
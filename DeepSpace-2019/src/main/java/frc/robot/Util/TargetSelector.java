@@ -0,0 +1,100 @@
+package frc.robot.Util;
+
+import frc.robot.Constants;
+import frc.robot.Enumeration.TargetSelection;
+
+/**
+ * Picks which of the targets in a vision packet the robot should go after.
+ * Runs on the receiver thread once per packet. Apart from STICKY, which has to check even
+ * a lone target against the lock, it does nothing at all when there is only one target.
+ */
+public class TargetSelector {
+
+	private boolean locked;
+	private double  lockedAngle;
+	private double  lockedDistance;
+	private long    lockedTime;
+
+	/**
+	 * @param packet    freshly decoded packet
+	 * @param selection how to choose between targets
+	 * @param timeNanos System.nanoTime() the packet arrived
+	 * @return          index of the chosen target, -1 if the packet has none worth chasing
+	 */
+	public int select(VisionPacket packet, TargetSelection selection, long timeNanos) {
+		int count = packet.getTargetCount();
+		if (count == 0) {
+			return -1;
+		}
+
+		int chosen = 0;
+		if (selection == TargetSelection.STICKY) {
+			chosen = sticky(packet, timeNanos);
+		} else if (count > 1) {
+			switch (selection) {
+				case MOST_CENTERED:
+					chosen = mostCentered(packet);
+					break;
+				case CLOSEST:
+				default:
+					chosen = closest(packet);
+					break;
+			}
+		}
+
+		if (chosen >= 0) {
+			locked         = true;
+			lockedAngle    = packet.getAngle(chosen);
+			lockedDistance = packet.getDistance(chosen);
+			lockedTime     = timeNanos;
+		}
+		return chosen;
+	}
+
+	/**
+	 * Forgets the locked target so the next packet starts fresh
+	 */
+	public void reset() {
+		locked = false;
+	}
+
+	private int closest(VisionPacket packet) {
+		int best = 0;
+		for (int i = 1; i < packet.getTargetCount(); i++) {
+			if (packet.getDistance(i) < packet.getDistance(best)) { best = i; }
+		}
+		return best;
+	}
+
+	private int mostCentered(VisionPacket packet) {
+		int best = 0;
+		for (int i = 1; i < packet.getTargetCount(); i++) {
+			if (Math.abs(packet.getAngle(i)) < Math.abs(packet.getAngle(best))) { best = i; }
+		}
+		return best;
+	}
+
+	/**
+	 * Stays with whichever target is nearest to the one we locked last time, so the align loop
+	 * doesn't jump between hatches partway through an approach. If none of them is near enough,
+	 * the locked one has dropped out of this frame and nothing is chosen; the lock only moves to
+	 * another target once it has gone STICKY_TARGET_TIMEOUT_MS without being seen.
+	 */
+	private int sticky(VisionPacket packet, long timeNanos) {
+		if (!locked || timeNanos - lockedTime > Constants.STICKY_TARGET_TIMEOUT_MS * 1e6) {
+			return closest(packet);
+		}
+
+		int    best      = -1;
+		double bestError = Constants.STICKY_TARGET_GATE_DEGREES;
+		for (int i = 0; i < packet.getTargetCount(); i++) {
+			double error = Math.abs(packet.getAngle(i) - lockedAngle)
+			             + Math.abs(packet.getDistance(i) - lockedDistance) * Constants.STICKY_TARGET_DEGREES_PER_INCH;
+			if (error < bestError) {
+				best      = i;
+				bestError = error;
+			}
+		}
+		return best;
+	}
+}
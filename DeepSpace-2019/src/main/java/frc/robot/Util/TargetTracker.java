@@ -0,0 +1,136 @@
+package frc.robot.Util;
+
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Alpha-beta filter on the chosen vision target's angle and distance.
+ * Fed every snapshot the receiver publishes, on the receiver's thread, and smooths out
+ * the frame-to-frame noise while keeping a rate of change for each value. When frames
+ * stop showing the target the track coasts for a while instead of dropping out at once,
+ * and the confidence value fades to 0 over that time.
+ * Every change is published into one TargetEstimate kept here; anything that needs more than
+ * one value should copy it out with read() once and take them all from the copy, so they come
+ * from the same frame. The copy is checked against a StampedLock instead of taking a lock, so
+ * neither side waits on the other and neither makes garbage.
+ * One thread updates, any thread can read.
+ */
+public class TargetTracker {
+
+	private final double alpha;
+	private final double beta;
+	private final double gateDegrees;
+	private final double gateInches;
+	private final double confidenceGain;
+
+	private volatile long coastNanos;
+
+	private boolean tracking;
+	private double  angle;
+	private double  angleRate;    // degrees per second
+	private double  distance;
+	private double  distanceRate; // inches per second
+	private long    measurementNanos;
+	private double  confidence;
+
+	private final TargetEstimate published = new TargetEstimate(); // written only under the write lock
+	private final StampedLock    lock      = new StampedLock();
+
+	/**
+	 * @param alpha          how much of each new measurement goes into the value, 0 - 1
+	 * @param beta           how much of each new measurement goes into the rate, 0 - 1
+	 * @param gateDegrees    a measurement this many degrees from the prediction starts a new track instead of bending the old one
+	 * @param gateInches     so does one this many inches from it, like the other target behind on the same bearing
+	 * @param confidenceGain how far confidence moves toward 1 on a hit, or toward 0 on a miss, 0 - 1
+	 * @param coastMillis    how long a track survives without seeing the target
+	 */
+	public TargetTracker(double alpha, double beta, double gateDegrees, double gateInches, double confidenceGain, double coastMillis) {
+		this.alpha          = alpha;
+		this.beta           = beta;
+		this.gateDegrees    = gateDegrees;
+		this.gateInches     = gateInches;
+		this.confidenceGain = confidenceGain;
+		setCoastTime(coastMillis);
+	}
+
+	/**
+	 * Feeds in one snapshot from the receiver
+	 */
+	public synchronized void update(VisionSnapshot snapshot) {
+		if (!snapshot.hasTarget()) {
+			confidence *= 1 - confidenceGain;
+			publish();
+			return;
+		}
+
+		long   time = snapshot.getCaptureNanos();
+		double dt   = (time - measurementNanos) / 1e9;
+		if (!tracking || time - measurementNanos > coastNanos || dt <= 0) {
+			start(snapshot, time);
+			return;
+		}
+
+		double angleResidual    = snapshot.getAngle() - (angle + angleRate * dt);
+		double distanceResidual = snapshot.getDistance() - (distance + distanceRate * dt);
+		if (Math.abs(angleResidual) > gateDegrees || Math.abs(distanceResidual) > gateInches) { // jumped to a different target
+			start(snapshot, time);
+			return;
+		}
+
+		angle            += angleRate * dt + alpha * angleResidual;
+		angleRate        += beta * angleResidual / dt;
+		distance         += distanceRate * dt + alpha * distanceResidual;
+		distanceRate     += beta * distanceResidual / dt;
+		measurementNanos  = time;
+		confidence       += (1 - confidence) * confidenceGain;
+		publish();
+	}
+
+	private void start(VisionSnapshot snapshot, long time) {
+		tracking         = true;
+		angle            = snapshot.getAngle();
+		angleRate        = 0;
+		distance         = snapshot.getDistance();
+		distanceRate     = 0;
+		measurementNanos = time;
+		confidence       = confidenceGain;
+		publish();
+	}
+
+	private void publish() {
+		long stamp = lock.writeLock();
+		published.set(tracking, angle, angleRate, distance, distanceRate, measurementNanos, confidence, coastNanos);
+		lock.unlockWrite(stamp);
+	}
+
+	/**
+	 * Forgets the current track
+	 */
+	public synchronized void reset() {
+		tracking   = false;
+		confidence = 0;
+		publish();
+	}
+
+	/**
+	 * @param coastMillis how long a track survives without seeing the target
+	 */
+	public synchronized void setCoastTime(double coastMillis) {
+		coastNanos = (long) (coastMillis * 1e6);
+		publish();
+	}
+
+	/**
+	 * Copies out the track as of the last frame, all from that one frame. Any thread; doesn't wait
+	 * on update() unless it catches it in the middle of publishing.
+	 * @param into the caller's own estimate, filled in place
+	 */
+	public void read(TargetEstimate into) {
+		long stamp = lock.tryOptimisticRead();
+		into.set(published);
+		if (!lock.validate(stamp)) { // update() published while this was copying
+			stamp = lock.readLock();
+			into.set(published);
+			lock.unlockRead(stamp);
+		}
+	}
+}
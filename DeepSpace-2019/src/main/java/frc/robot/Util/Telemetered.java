@@ -0,0 +1,33 @@
+package frc.robot.Util;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import frc.robot.Enumeration.TelemetryRate;
+
+/**
+ * Marks a getter to be sampled by Telemetry. The getter must take no arguments and
+ * return a primitive (boolean, int, long, float or double).
+ * TelemetryRegistry finds these once at startup; after that they're called like any other channel.
+ *
+ *   @Telemetered(value = "Left Amps", rate = TelemetryRate.MEDIUM, deadband = .5)
+ *   public double getLeftAmps() { ... }
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Telemetered {
+
+	/** Dashboard key */
+	String value();
+
+	/** How often to sample it */
+	TelemetryRate rate() default TelemetryRate.MEDIUM;
+
+	/** It's only sent again once it moves by more than this, after scaling. Ignored for booleans. */
+	double deadband() default 0;
+
+	/** Numbers get multiplied by this before they're published, e.g. 100 to show an output as a percent */
+	double scale() default 1;
+}
@@ -0,0 +1,322 @@
+package frc.robot.Util;
+
+import java.util.ArrayList;
+import java.util.function.BooleanSupplier;
+import java.util.function.DoubleSupplier;
+
+import frc.robot.Constants;
+import frc.robot.Enumeration.TelemetryRate;
+
+/**
+ * Dashboard values, without the dashboard cost landing on the main loop.
+ * Each channel is registered once with how often it should be sampled and how much it has
+ * to change before it's worth sending. Every loop, sample() reads only the channels that are
+ * due into a preallocated buffer; a background thread does the actual NetworkTables writes.
+ * Channels of the same rate are spread across loops so they don't all land in the same one.
+ * Register everything in robotInit(), then call start().
+ * Anything else that wants the same values (logs, health checks) should read them back
+ * instead of calling the getter again: getLatest() for what the dashboard last got, or
+ * getLoopValue() for this loop's raw value. Values that aren't on the dashboard but are
+ * wanted every loop are added with addLoopValue(), so the same pass reads them too.
+ */
+public class Telemetry implements Runnable {
+
+	private static final int NUMBER  = 0;
+	private static final int BOOLEAN = 1;
+
+	// filled in by the add methods
+	private final ArrayList<String>        keys         = new ArrayList<>();
+	private final ArrayList<Object>        sources      = new ArrayList<>();
+	private final ArrayList<TelemetryRate> rates        = new ArrayList<>();
+	private final ArrayList<Double>        deadbandList = new ArrayList<>();
+	private final ArrayList<Double>        scaleList    = new ArrayList<>();
+	private final ArrayList<Boolean>       loopList     = new ArrayList<>();
+
+	// read every loop but never published; they go after the channels in raw
+	private final ArrayList<String>         loopNames   = new ArrayList<>();
+	private final ArrayList<DoubleSupplier> loopSources = new ArrayList<>();
+
+	// fixed once start() is called
+	private int                 size;
+	private int[]               types;
+	private DoubleSupplier[]    numberSources;
+	private BooleanSupplier[]   booleanSources;
+	private int[]               divisors;
+	private double[]            deadbands;
+	private double[]            scales;
+	private boolean[]           everyLoop;
+	private DoubleSupplier[]    loopValues;
+	private DashboardEntry[]    entries;
+
+	// loop thread only
+	private long      loop;
+	private double[]  raw; // this loop's unscaled value of every channel read this loop, then every loop value
+	private double[]  lastSampled;
+	private boolean[] everSampled;
+
+	// handed from the loop thread to the publisher under lock
+	private final Object lock = new Object();
+	private double[]     pending;
+	private boolean[]    pendingChanged;
+	private boolean      anyPending;
+
+	// publisher thread only
+	private double[]  publishing;
+	private boolean[] publishingChanged;
+
+	private volatile long sampleNanos;
+	private volatile long published;
+
+	private Thread thread;
+
+	/**
+	 * Registers a number
+	 * @param key      dashboard key
+	 * @param rate     how often to sample it
+	 * @param deadband it's only sent again once it moves by more than this
+	 * @param source   reads the value, called on the main loop thread
+	 */
+	public void addNumber(String key, TelemetryRate rate, double deadband, DoubleSupplier source) {
+		add(key, rate, deadband, 1, source);
+	}
+
+	/**
+	 * Registers a number that's shown scaled, e.g. a percent output as 0 - 100.
+	 * getLoopValue() hands out the unscaled value.
+	 * @param scale what the source's value is multiplied by before it goes to the dashboard
+	 */
+	public void addNumber(String key, TelemetryRate rate, double deadband, double scale, DoubleSupplier source) {
+		add(key, rate, deadband, scale, source);
+	}
+
+	/**
+	 * Registers a true/false indicator. It's only sent when it flips.
+	 * @param key    dashboard key
+	 * @param rate   how often to sample it
+	 * @param source reads the value, called on the main loop thread
+	 */
+	public void addBoolean(String key, TelemetryRate rate, BooleanSupplier source) {
+		add(key, rate, 0, 1, source);
+	}
+
+	private void add(String key, TelemetryRate rate, double deadband, double scale, Object source) {
+		checkNew(key);
+		keys.add(key);
+		rates.add(rate);
+		deadbandList.add(deadband);
+		scaleList.add(scale);
+		loopList.add(false);
+		sources.add(source);
+	}
+
+	/**
+	 * Registers a value that isn't on the dashboard but is wanted every loop, by the flight
+	 * recorder or the telemetry server. Read it back with getLoopValue().
+	 * @param name   what getLoopValue() knows it by; can't be a dashboard key too
+	 * @param source reads the value, called on the main loop thread every sample()
+	 */
+	public void addLoopValue(String name, DoubleSupplier source) {
+		checkNew(name);
+		loopNames.add(name);
+		loopSources.add(source);
+	}
+
+	private void checkNew(String key) {
+		if (thread != null) {
+			throw new IllegalStateException("Telemetry channel " + key + " registered after start()");
+		}
+		if (keys.contains(key) || loopNames.contains(key)) {
+			throw new IllegalArgumentException("Telemetry channel " + key + " registered twice");
+		}
+	}
+
+	/**
+	 * Hands out a channel's or loop value's raw value as of the last sample(), unscaled and not
+	 * deadbanded; booleans read as 1 or 0. A channel asked for here gets read every loop instead
+	 * of at its rate, still only once. Only before start(); the reader is for the main loop
+	 * thread, after sample().
+	 * @param key dashboard key or addLoopValue() name
+	 * @throws IllegalArgumentException if there's no such channel or loop value
+	 */
+	public DoubleSupplier getLoopValue(String key) {
+		if (thread != null) {
+			throw new IllegalStateException("Telemetry loop value " + key + " asked for after start()");
+		}
+		int channel = keys.indexOf(key);
+		if (channel >= 0) {
+			loopList.set(channel, true);
+			return () -> raw[channel];
+		}
+		int value = loopNames.indexOf(key);
+		if (value < 0) {
+			throw new IllegalArgumentException("No telemetry channel or loop value " + key);
+		}
+		return () -> raw[keys.size() + value];
+	}
+
+	/**
+	 * Freezes the channel list and starts the publisher thread
+	 */
+	public void start() {
+		size              = keys.size();
+		types             = new int[size];
+		numberSources     = new DoubleSupplier[size];
+		booleanSources    = new BooleanSupplier[size];
+		divisors          = new int[size];
+		deadbands         = new double[size];
+		scales            = new double[size];
+		everyLoop         = new boolean[size];
+		loopValues        = loopSources.toArray(new DoubleSupplier[0]);
+		entries           = new DashboardEntry[size];
+		raw               = new double[size + loopValues.length];
+		lastSampled       = new double[size];
+		everSampled       = new boolean[size];
+		pending           = new double[size];
+		pendingChanged    = new boolean[size];
+		publishing        = new double[size];
+		publishingChanged = new boolean[size];
+
+		for (int i = 0; i < size; i++) {
+			Object source = sources.get(i);
+			if (source instanceof BooleanSupplier) {
+				types[i]          = BOOLEAN;
+				booleanSources[i] = (BooleanSupplier) source;
+			} else {
+				types[i]         = NUMBER;
+				numberSources[i] = (DoubleSupplier) source;
+			}
+			divisors[i]  = Math.max(1, Constants.LOOP_HZ / rates.get(i).toInt());
+			deadbands[i] = deadbandList.get(i);
+			scales[i]    = scaleList.get(i);
+			everyLoop[i] = loopList.get(i);
+			entries[i]   = Dashboard.getEntry(keys.get(i));
+		}
+
+		thread = new Thread(this, "Telemetry");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * Samples every channel that's due this loop, and every loop value. Call once per loop from robotPeriodic().
+	 */
+	public void sample() {
+		if (thread == null) { return; }
+		long start = System.nanoTime();
+		loop++;
+
+		for (int i = 0; i < loopValues.length; i++) {
+			raw[size + i] = loopValues[i].getAsDouble();
+		}
+
+		boolean changed = false;
+		for (int i = 0; i < size; i++) {
+			boolean due = (loop + i) % divisors[i] == 0;
+			if (!due && !everyLoop[i]) { continue; }
+			raw[i] = types[i] == BOOLEAN ? (booleanSources[i].getAsBoolean() ? 1 : 0) : numberSources[i].getAsDouble();
+			if (!due) { continue; }
+			double value = raw[i] * scales[i];
+			if (!everSampled[i] || Math.abs(value - lastSampled[i]) > deadbands[i]) {
+				lastSampled[i] = value;
+				everSampled[i] = true;
+				synchronized (lock) {
+					pending[i]        = value;
+					pendingChanged[i] = true;
+				}
+				changed = true;
+			}
+		}
+
+		if (changed) {
+			synchronized (lock) {
+				anyPending = true;
+				lock.notify();
+			}
+		}
+		sampleNanos = System.nanoTime() - start;
+	}
+
+	@Override
+	public void run() {
+		while (!Thread.interrupted()) {
+			synchronized (lock) {
+				while (!anyPending) {
+					try {
+						lock.wait();
+					} catch (InterruptedException e) {
+						return;
+					}
+				}
+				for (int i = 0; i < size; i++) {
+					if (pendingChanged[i]) {
+						publishing[i]        = pending[i];
+						publishingChanged[i] = true;
+						pendingChanged[i]    = false;
+					}
+				}
+				anyPending = false;
+			}
+
+			for (int i = 0; i < size; i++) {
+				if (publishingChanged[i]) {
+					publishingChanged[i] = false;
+					if (types[i] == BOOLEAN) {
+						entries[i].setBoolean(publishing[i] != 0);
+					} else {
+						entries[i].setNumber(publishing[i]);
+					}
+					published++;
+				}
+			}
+		}
+	}
+
+	/**
+	 * @param key dashboard key the channel was registered with
+	 * @return the channel's index for getLatest(), or -1 if there isn't one
+	 */
+	public int getChannel(String key) {
+		return keys.indexOf(key);
+	}
+
+	/**
+	 * @return number of channels registered
+	 */
+	public int getChannelCount() {
+		return keys.size();
+	}
+
+	public String getKey(int channel) {
+		return keys.get(channel);
+	}
+
+	/**
+	 * @return true if the channel was registered with addBoolean()
+	 */
+	public boolean isBoolean(int channel) {
+		return sources.get(channel) instanceof BooleanSupplier;
+	}
+
+	/**
+	 * The value the channel had the last time it changed by more than its deadband.
+	 * Booleans read as 1 or 0. Main loop thread only, like sample().
+	 * @param channel index from getChannel()
+	 */
+	public double getLatest(int channel) {
+		return lastSampled[channel];
+	}
+
+	/**
+	 * @return how long the last sample() took, in nanoseconds
+	 */
+	public long getSampleNanos() {
+		return sampleNanos;
+	}
+
+	/**
+	 * @return NetworkTables writes made so far
+	 */
+	public long getPublishedCount() {
+		return published;
+	}
+}
@@ -0,0 +1,76 @@
+package frc.robot.Util;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Turns every @Telemetered getter on an object into a Telemetry channel.
+ * The reflection happens once, here; each getter is bound to its object as a MethodHandle,
+ * so sampling it later costs a direct call and nothing else.
+ */
+public class TelemetryRegistry {
+
+	private static final MethodHandles.Lookup LOOKUP = MethodHandles.publicLookup();
+
+	/**
+	 * Registers every @Telemetered getter declared on the source's class
+	 * @param telemetry where the channels go; must not be started yet
+	 * @param source    the object whose getters get called, usually a subsystem
+	 * @return          number of channels registered
+	 * @throws IllegalArgumentException if an annotated method isn't a public no-argument primitive getter
+	 */
+	public static int register(Telemetry telemetry, Object source) {
+		int count = 0;
+		for (Method method : source.getClass().getDeclaredMethods()) {
+			Telemetered annotation = method.getAnnotation(Telemetered.class);
+			if (annotation == null) { continue; }
+
+			Class<?> type = method.getReturnType();
+			if (method.getParameterCount() != 0 || !type.isPrimitive() || type == void.class || type == char.class
+			    || !Modifier.isPublic(method.getModifiers()) || Modifier.isStatic(method.getModifiers())) {
+				throw new IllegalArgumentException("@Telemetered " + method + " must be a public, non-static, "
+				                                   + "no-argument getter returning a primitive");
+			}
+
+			MethodHandle handle;
+			try {
+				handle = LOOKUP.unreflect(method).bindTo(source);
+			} catch (IllegalAccessException e) {
+				throw new IllegalArgumentException("@Telemetered " + method + " is not accessible", e);
+			}
+
+			if (type == boolean.class) {
+				MethodHandle getter = handle.asType(MethodType.methodType(boolean.class));
+				telemetry.addBoolean(annotation.value(), annotation.rate(), () -> invokeBoolean(getter));
+			} else {
+				MethodHandle getter = handle.asType(MethodType.methodType(double.class));
+				telemetry.addNumber(annotation.value(), annotation.rate(), annotation.deadband(), annotation.scale(), () -> invokeDouble(getter));
+			}
+			count++;
+		}
+		return count;
+	}
+
+	private static double invokeDouble(MethodHandle getter) {
+		try {
+			return (double) getter.invokeExact();
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable t) { // getters don't throw checked exceptions, but invokeExact says they might
+			throw new IllegalStateException(t);
+		}
+	}
+
+	private static boolean invokeBoolean(MethodHandle getter) {
+		try {
+			return (boolean) getter.invokeExact();
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable t) { // getters don't throw checked exceptions, but invokeExact says they might
+			throw new IllegalStateException(t);
+		}
+	}
+}
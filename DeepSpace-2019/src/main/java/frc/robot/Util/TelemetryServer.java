@@ -0,0 +1,336 @@
+package frc.robot.Util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A tiny HTTP server for looking at ChannelHistory from a browser or a notebook while tuning,
+ * at full loop rate and without NetworkTables in the way. Everything runs on its own threads
+ * and only ever copies out of the history's rings, so the main loop never waits on a client.
+ *
+ *   GET /channels                               JSON list of channel names
+ *   GET /snapshot?channels=a,b&hz=50&seconds=5  JSON of the last few seconds:
+ *                                               {"t":[seconds...],"a":[...],"b":[...]}
+ *   GET /stream?channels=a,b&hz=10              Server-Sent Events, one event every
+ *                                               STREAM_PERIOD_MS with everything new since
+ *                                               the last one, in the same shape as /snapshot
+ *
+ * hz decimates to at most that many samples per second, by keeping every n-th loop.
+ * channels defaults to all of them. Times are seconds since the server started.
+ * From a browser: new EventSource("http://10.36.95.2:5800/stream?channels=Left%20Velocity").
+ * Nothing in here touches WPILib.
+ */
+public class TelemetryServer implements Runnable {
+
+	private static final int MAX_CLIENTS        = 4;
+	private static final int STREAM_PERIOD_MS   = 100;
+	private static final int MAX_SAMPLES        = 4096; // per response or event
+	private static final int REQUEST_TIMEOUT_MS = 2000; // a client that hasn't sent its whole request by then is dropped
+
+	private final ChannelHistory history;
+	private final ServerSocket   server;
+	private final int            loopHz;
+	private final long           startNanos = System.nanoTime();
+
+	private final AtomicInteger clients = new AtomicInteger();
+
+	private volatile long served;
+	private volatile long rejected;
+
+	private Thread thread;
+
+	/**
+	 * Binds the server socket. Call start() to begin accepting.
+	 * @param history what to serve
+	 * @param port    TCP port to listen on
+	 * @param loopHz  how often the history is recorded, to turn hz into a step
+	 * @throws IOException if the socket cannot be opened
+	 */
+	public TelemetryServer(ChannelHistory history, int port, int loopHz) throws IOException {
+		this.history = history;
+		this.loopHz  = loopHz;
+		server = new ServerSocket();
+		server.setReuseAddress(true);
+		server.bind(new InetSocketAddress(port));
+	}
+
+	/**
+	 * Starts the accepting thread
+	 */
+	public void start() {
+		thread = new Thread(this, "Telemetry Server");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * Stops accepting and closes the server socket. Open streams end on their next write.
+	 */
+	public void stop() {
+		if (thread != null) {
+			thread.interrupt();
+		}
+		try {
+			server.close();
+		} catch (IOException e) { //thrown when the socket is already broken, which is fine on the way out
+		}
+	}
+
+	@Override
+	public void run() {
+		while (!Thread.interrupted() && !server.isClosed()) {
+			Socket socket;
+			try {
+				socket = server.accept();
+			} catch (IOException e) { //thrown when the server socket is closed
+				return;
+			}
+			if (clients.incrementAndGet() > MAX_CLIENTS) {
+				clients.decrementAndGet();
+				rejected++;
+				respond(socket, "503 Service Unavailable", "text/plain", "too many clients\n");
+				continue;
+			}
+			served++;
+			Thread client = new Thread(() -> {
+				try {
+					handle(socket);
+				} finally {
+					clients.decrementAndGet();
+				}
+			}, "Telemetry Server Client");
+			client.setDaemon(true);
+			client.start();
+		}
+	}
+
+	private void handle(Socket socket) {
+		try {
+			socket.setTcpNoDelay(true);
+			socket.setSoTimeout(REQUEST_TIMEOUT_MS);
+			BufferedReader in      = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+			String         request = in.readLine();
+			for (String header = in.readLine(); header != null && !header.isEmpty(); header = in.readLine()) {
+				// headers don't matter here
+			}
+			String[] parts = request == null ? new String[0] : request.split(" ");
+			if (parts.length < 2 || !parts[0].equals("GET")) {
+				respond(socket, "405 Method Not Allowed", "text/plain", "GET only\n");
+				return;
+			}
+
+			String path  = parts[1];
+			String query = "";
+			int    mark  = path.indexOf('?');
+			if (mark >= 0) {
+				query = path.substring(mark + 1);
+				path  = path.substring(0, mark);
+			}
+			switch (path) {
+			case "/channels":
+				respond(socket, "200 OK", "application/json", channelList());
+				break;
+			case "/snapshot":
+				snapshot(socket, query);
+				break;
+			case "/stream":
+				stream(socket, query);
+				break;
+			default:
+				respond(socket, "404 Not Found", "text/plain", "try /channels, /snapshot or /stream\n");
+			}
+		} catch (NumberFormatException e) { //thrown when hz or seconds isn't a number
+			respond(socket, "400 Bad Request", "text/plain", e.getMessage() + "\n");
+		} catch (IOException e) { //thrown when the client goes away or is too slow sending its request, which just ends it
+		} finally {
+			close(socket);
+		}
+	}
+
+	private String channelList() {
+		StringBuilder json = new StringBuilder("[");
+		for (int i = 0; i < history.getChannelCount(); i++) {
+			if (i > 0) { json.append(','); }
+			appendString(json, history.getName(i));
+		}
+		return json.append("]\n").toString();
+	}
+
+	private void snapshot(Socket socket, String query) throws IOException {
+		int[] channels = channels(socket, query);
+		if (channels == null) { return; }
+		int    step    = step(query);
+		double seconds = Double.parseDouble(parameter(query, "seconds", "5"));
+
+		long[]     cursor = { Math.max(0, history.getWritten() - (long) (seconds * loopHz)) };
+		long[]     nanos  = new long[MAX_SAMPLES];
+		double[][] values = new double[channels.length][MAX_SAMPLES];
+		int        count  = history.read(channels, cursor, step, nanos, values);
+		respond(socket, "200 OK", "application/json", json(channels, nanos, values, count).append('\n').toString());
+	}
+
+	private void stream(Socket socket, String query) throws IOException {
+		int[] channels = channels(socket, query);
+		if (channels == null) { return; }
+		int step = step(query);
+
+		OutputStream out = socket.getOutputStream();
+		out.write(("HTTP/1.1 200 OK\r\nContent-Type: text/event-stream\r\nCache-Control: no-cache\r\n"
+		         + "Access-Control-Allow-Origin: *\r\nConnection: close\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+		out.flush();
+
+		long[]        cursor = { history.getWritten() };
+		long[]        nanos  = new long[MAX_SAMPLES];
+		double[][]    values = new double[channels.length][MAX_SAMPLES];
+		StringBuilder event  = new StringBuilder();
+		while (!Thread.interrupted() && !server.isClosed()) {
+			try {
+				Thread.sleep(STREAM_PERIOD_MS);
+			} catch (InterruptedException e) {
+				return;
+			}
+			int count = history.read(channels, cursor, step, nanos, values);
+			if (count == 0) { continue; }
+			event.setLength(0);
+			event.append("data: ");
+			event.append(json(channels, nanos, values, count));
+			event.append("\n\n");
+			out.write(event.toString().getBytes(StandardCharsets.UTF_8));
+			out.flush();
+		}
+	}
+
+	/**
+	 * @return the channels the query asks for, or null after answering 404 for one that doesn't exist
+	 */
+	private int[] channels(Socket socket, String query) {
+		String wanted = parameter(query, "channels", null);
+		if (wanted == null) {
+			int[] all = new int[history.getChannelCount()];
+			for (int i = 0; i < all.length; i++) {
+				all[i] = i;
+			}
+			return all;
+		}
+		String[] names    = wanted.split(",");
+		int[]    channels = new int[names.length];
+		for (int i = 0; i < names.length; i++) {
+			channels[i] = history.getChannel(names[i]);
+			if (channels[i] < 0) {
+				respond(socket, "404 Not Found", "text/plain", "no channel " + names[i] + ", see /channels\n");
+				return null;
+			}
+		}
+		return channels;
+	}
+
+	private int step(String query) {
+		double hz = Double.parseDouble(parameter(query, "hz", Integer.toString(loopHz)));
+		return hz <= 0 ? 1 : Math.max(1, (int) Math.round(loopHz / hz));
+	}
+
+	private StringBuilder json(int[] channels, long[] nanos, double[][] values, int count) {
+		StringBuilder json = new StringBuilder(32 + count * 10 * (channels.length + 1));
+		json.append("{\"t\":[");
+		for (int n = 0; n < count; n++) {
+			if (n > 0) { json.append(','); }
+			json.append(Math.round((nanos[n] - startNanos) / 1e6) / 1e3); // to the ms
+		}
+		json.append(']');
+		for (int c = 0; c < channels.length; c++) {
+			json.append(',');
+			appendString(json, history.getName(channels[c]));
+			json.append(":[");
+			for (int n = 0; n < count; n++) {
+				if (n > 0) { json.append(','); }
+				double value = values[c][n];
+				if (Double.isNaN(value) || Double.isInfinite(value)) {
+					json.append("null");
+				} else {
+					json.append(value);
+				}
+			}
+			json.append(']');
+		}
+		return json.append('}');
+	}
+
+	private static void appendString(StringBuilder json, String value) {
+		json.append('"');
+		for (char c : value.toCharArray()) {
+			if (c == '"' || c == '\\') {
+				json.append('\\');
+			}
+			json.append(c);
+		}
+		json.append('"');
+	}
+
+	/**
+	 * @return the decoded value of name in a query string, or backup if it isn't there
+	 */
+	static String parameter(String query, String name, String backup) {
+		for (String pair : query.split("&")) {
+			int equals = pair.indexOf('=');
+			if (equals > 0 && pair.substring(0, equals).equals(name)) {
+				try {
+					return URLDecoder.decode(pair.substring(equals + 1), "UTF-8");
+				} catch (UnsupportedEncodingException e) { //never thrown, UTF-8 is always there
+					return backup;
+				}
+			}
+		}
+		return backup;
+	}
+
+	private static void respond(Socket socket, String status, String type, String body) {
+		try {
+			byte[] content = body.getBytes(StandardCharsets.UTF_8);
+			OutputStream out = socket.getOutputStream();
+			out.write(("HTTP/1.1 " + status + "\r\nContent-Type: " + type + "\r\nContent-Length: " + content.length
+			         + "\r\nAccess-Control-Allow-Origin: *\r\nConnection: close\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+			out.write(content);
+			out.flush();
+		} catch (IOException e) { //thrown when the client has already gone
+		} finally {
+			close(socket);
+		}
+	}
+
+	private static void close(Socket socket) {
+		try {
+			socket.close();
+		} catch (IOException e) { //thrown when the socket is already broken
+		}
+	}
+
+	/**
+	 * @return clients connected right now, streams included
+	 */
+	public int getClientCount() {
+		return clients.get();
+	}
+
+	/**
+	 * @return connections accepted so far
+	 */
+	public long getServedCount() {
+		return served;
+	}
+
+	/**
+	 * @return connections turned away because MAX_CLIENTS were already connected
+	 */
+	public long getRejectedCount() {
+		return rejected;
+	}
+}
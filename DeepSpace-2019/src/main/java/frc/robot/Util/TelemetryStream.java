@@ -0,0 +1,359 @@
+package frc.robot.Util;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.DatagramChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.zip.CRC32;
+
+/**
+ * Streams every telemetry channel as one small binary UDP datagram per frame, for a laptop
+ * running frc.robot.Tools.TelemetryReceiver or TelemetryPlotter. A frame is just the values
+ * in channel order, numbers as floats and booleans as bits, so it's a few bytes per channel
+ * where NetworkTables sends a string-keyed update for each one.
+ * Nothing is sent until a receiver says HELLO, and a receiver that stops repeating it is
+ * dropped, so the stream costs nothing on the field unless someone is watching.
+ * The receiver learns the channel names from the SCHEMA reply to its HELLO; every frame
+ * carries the schema id, so a receiver holding an old schema knows to ask again.
+ * sample() copies values on the main loop thread; a background thread does the sending.
+ * Nothing in here touches WPILib.
+ *
+ * Datagrams (little-endian), each starting with int MAGIC, byte kind:
+ *   HELLO  receiver to robot: int schema id the receiver has, 0 for none
+ *   SCHEMA robot to receiver: int schema id, short channel count, short first channel, short channels in this part,
+ *          then for each: byte 1 if boolean, short length and that many UTF-8 bytes of name.
+ *          Split into parts when the names don't fit in one datagram.
+ *   FRAME  robot to receiver: int schema id, int sequence, int ms since the stream started,
+ *          the boolean channels as bits (first one in bit 0 of the first byte), then a float per number channel
+ */
+public class TelemetryStream implements Runnable {
+
+	public static final int
+		MAGIC             = 0x544c4d53, // "TLMS"
+		HELLO             = 1,
+		SCHEMA            = 2,
+		FRAME             = 3,
+		FRAME_HEADER_SIZE = 17,
+		MAX_DATAGRAM_SIZE = 1400,  // stays under the usual MTU so nothing gets fragmented
+		HELLO_INTERVAL_MS = 1000,  // how often a receiver should repeat HELLO
+		CLIENT_TIMEOUT_MS = 3000;  // a receiver not heard from for this long stops getting frames
+
+	private static final int MAX_CLIENTS = 4;
+	private static final int POLL_MS     = 100; // longest a HELLO waits for an answer when no frames are going out
+
+	private final Telemetry       telemetry;
+	private final DatagramChannel channel;
+	private final int             divisor;
+	private final int             schemaId;
+	private final ByteBuffer[]    schemaParts;
+
+	// channel layout, fixed in the constructor
+	private final int[] booleanChannels;
+	private final int[] numberChannels;
+
+	// loop thread only
+	private long loop;
+
+	// handed from the loop thread to the sender under lock
+	private final Object    lock = new Object();
+	private final boolean[] pendingBooleans;
+	private final float[]   pendingNumbers;
+	private int             pendingMillis;
+	private boolean         framePending;
+
+	// sender thread only
+	private final boolean[]       sendingBooleans;
+	private final float[]         sendingNumbers;
+	private final ByteBuffer      frame;
+	private final ByteBuffer      received  = ByteBuffer.allocate(64).order(ByteOrder.LITTLE_ENDIAN);
+	private final SocketAddress[] clients   = new SocketAddress[MAX_CLIENTS];
+	private final long[]          lastHeard = new long[MAX_CLIENTS];
+	private int                   sequence;
+
+	private final long startNanos = System.nanoTime();
+
+	private volatile int  clientCount;
+	private volatile long framesSent;
+	private volatile long bytesSent;
+	private volatile long ioErrors;
+
+	private Thread thread;
+
+	/**
+	 * Binds the socket and works out the schema. Every channel has to be registered with the telemetry by now.
+	 * @param telemetry where the values come from
+	 * @param port      UDP port receivers send HELLO to
+	 * @param divisor   a frame goes out every this many loops
+	 * @throws IOException if the socket cannot be opened
+	 */
+	public TelemetryStream(Telemetry telemetry, int port, int divisor) throws IOException {
+		this.telemetry = telemetry;
+		this.divisor   = Math.max(1, divisor);
+
+		int count    = telemetry.getChannelCount();
+		int booleans = 0;
+		for (int i = 0; i < count; i++) {
+			if (telemetry.isBoolean(i)) { booleans++; }
+		}
+		booleanChannels = new int[booleans];
+		numberChannels  = new int[count - booleans];
+		for (int i = 0, b = 0, n = 0; i < count; i++) {
+			if (telemetry.isBoolean(i)) {
+				booleanChannels[b++] = i;
+			} else {
+				numberChannels[n++] = i;
+			}
+		}
+
+		int frameSize = FRAME_HEADER_SIZE + (booleans + 7) / 8 + 4 * numberChannels.length;
+		if (frameSize > MAX_DATAGRAM_SIZE) {
+			throw new IllegalArgumentException("Telemetry frame of " + frameSize + " bytes doesn't fit in one datagram");
+		}
+		frame           = ByteBuffer.allocateDirect(frameSize).order(ByteOrder.LITTLE_ENDIAN);
+		pendingBooleans = new boolean[booleans];
+		pendingNumbers  = new float[numberChannels.length];
+		sendingBooleans = new boolean[booleans];
+		sendingNumbers  = new float[numberChannels.length];
+
+		schemaId    = schemaId(telemetry);
+		schemaParts = schemaParts(telemetry, schemaId);
+
+		channel = DatagramChannel.open();
+		channel.bind(new InetSocketAddress(port));
+		channel.configureBlocking(false);
+	}
+
+	/**
+	 * A hash of every channel's name and type, so it changes whenever the channel list does. Never 0.
+	 */
+	private static int schemaId(Telemetry telemetry) {
+		CRC32 crc = new CRC32();
+		for (int i = 0; i < telemetry.getChannelCount(); i++) {
+			crc.update(telemetry.getKey(i).getBytes(StandardCharsets.UTF_8));
+			crc.update(telemetry.isBoolean(i) ? 1 : 0);
+		}
+		int id = (int) crc.getValue();
+		return id == 0 ? 1 : id;
+	}
+
+	private static ByteBuffer[] schemaParts(Telemetry telemetry, int schemaId) {
+		int        count  = telemetry.getChannelCount();
+		ByteBuffer all    = ByteBuffer.allocate(64 * 1024).order(ByteOrder.LITTLE_ENDIAN);
+		int[]      starts = new int[count + 1];
+		for (int i = 0; i < count; i++) {
+			starts[i] = all.position();
+			byte[] name = telemetry.getKey(i).getBytes(StandardCharsets.UTF_8);
+			all.put((byte) (telemetry.isBoolean(i) ? 1 : 0));
+			all.putShort((short) name.length);
+			all.put(name);
+		}
+		starts[count] = all.position();
+
+		int headerSize = 15; // magic, kind, schema id, count, first, channels in part
+		ArrayList<ByteBuffer> parts = new ArrayList<>();
+		int first = 0;
+		do {
+			int last = first;
+			while (last < count && headerSize + starts[last + 1] - starts[first] <= MAX_DATAGRAM_SIZE) {
+				last++;
+			}
+			ByteBuffer part = ByteBuffer.allocate(headerSize + starts[last] - starts[first]).order(ByteOrder.LITTLE_ENDIAN);
+			part.putInt(MAGIC);
+			part.put((byte) SCHEMA);
+			part.putInt(schemaId);
+			part.putShort((short) count);
+			part.putShort((short) first);
+			part.putShort((short) (last - first));
+			part.put(all.array(), starts[first], starts[last] - starts[first]);
+			part.flip();
+			parts.add(part);
+			first = last;
+		} while (first < count);
+		return parts.toArray(new ByteBuffer[0]);
+	}
+
+	/**
+	 * Starts the sender thread
+	 */
+	public void start() {
+		thread = new Thread(this, "Telemetry Stream");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * Stops the sender thread and closes the socket
+	 */
+	public void stop() {
+		if (thread != null) {
+			thread.interrupt();
+		}
+		try {
+			channel.close();
+		} catch (IOException e) {
+			ioErrors++;
+		}
+	}
+
+	/**
+	 * Copies the latest value of every channel into the next frame when one is due.
+	 * Call once per loop from robotPeriodic(), after Telemetry.sample().
+	 */
+	public void sample() {
+		loop++;
+		if (clientCount == 0 || loop % divisor != 0) { return; }
+		synchronized (lock) {
+			for (int i = 0; i < booleanChannels.length; i++) {
+				pendingBooleans[i] = telemetry.getLatest(booleanChannels[i]) != 0;
+			}
+			for (int i = 0; i < numberChannels.length; i++) {
+				pendingNumbers[i] = (float) telemetry.getLatest(numberChannels[i]);
+			}
+			pendingMillis = (int) ((System.nanoTime() - startNanos) / 1_000_000);
+			framePending  = true;
+			lock.notify();
+		}
+	}
+
+	@Override
+	public void run() {
+		while (!Thread.interrupted() && channel.isOpen()) {
+			boolean send;
+			int     millis;
+			synchronized (lock) {
+				if (!framePending) {
+					try {
+						lock.wait(POLL_MS);
+					} catch (InterruptedException e) {
+						return;
+					}
+				}
+				send   = framePending;
+				millis = pendingMillis;
+				if (send) {
+					System.arraycopy(pendingBooleans, 0, sendingBooleans, 0, sendingBooleans.length);
+					System.arraycopy(pendingNumbers, 0, sendingNumbers, 0, sendingNumbers.length);
+					framePending = false;
+				}
+			}
+
+			try {
+				receiveHellos();
+				if (send) {
+					sendFrame(millis);
+				}
+			} catch (IOException e) { //thrown when the socket cannot send or receive
+				ioErrors++;
+			}
+		}
+	}
+
+	/**
+	 * Takes every queued HELLO, adding new receivers and sending the schema to any that need it,
+	 * then drops receivers that have gone quiet
+	 */
+	private void receiveHellos() throws IOException {
+		long now = System.nanoTime();
+		while (true) {
+			received.clear();
+			SocketAddress from = channel.receive(received);
+			if (from == null) { break; }
+			received.flip();
+			if (received.remaining() < 9 || received.getInt() != MAGIC || received.get() != HELLO) { continue; }
+			int known = received.getInt();
+
+			int client = indexOf(from);
+			if (client < 0) {
+				client = indexOf(null);
+				if (client < 0) { continue; } // full, it'll be let in once someone times out
+				clients[client] = from;
+			}
+			lastHeard[client] = now;
+			if (known != schemaId) {
+				for (ByteBuffer part : schemaParts) {
+					bytesSent += channel.send(part.duplicate(), from);
+				}
+			}
+		}
+
+		int count = 0;
+		for (int i = 0; i < MAX_CLIENTS; i++) {
+			if (clients[i] != null && now - lastHeard[i] > CLIENT_TIMEOUT_MS * 1_000_000L) {
+				clients[i] = null;
+			}
+			if (clients[i] != null) { count++; }
+		}
+		clientCount = count;
+	}
+
+	private int indexOf(SocketAddress address) {
+		for (int i = 0; i < MAX_CLIENTS; i++) {
+			if (address == null ? clients[i] == null : address.equals(clients[i])) { return i; }
+		}
+		return -1;
+	}
+
+	private void sendFrame(int millis) throws IOException {
+		frame.clear();
+		frame.putInt(MAGIC);
+		frame.put((byte) FRAME);
+		frame.putInt(schemaId);
+		frame.putInt(sequence++);
+		frame.putInt(millis);
+		for (int i = 0; i < sendingBooleans.length; i += 8) {
+			int bits = 0;
+			for (int bit = 0; bit < 8 && i + bit < sendingBooleans.length; bit++) {
+				if (sendingBooleans[i + bit]) { bits |= 1 << bit; }
+			}
+			frame.put((byte) bits);
+		}
+		for (float value : sendingNumbers) {
+			frame.putFloat(value);
+		}
+		frame.flip();
+
+		for (SocketAddress client : clients) {
+			if (client == null) { continue; }
+			frame.rewind();
+			bytesSent += channel.send(frame, client);
+		}
+		framesSent++;
+	}
+
+	/**
+	 * @return size of one frame datagram, in bytes
+	 */
+	public int getFrameSize() {
+		return frame.capacity();
+	}
+
+	public int getSchemaId() {
+		return schemaId;
+	}
+
+	/**
+	 * @return receivers currently getting frames
+	 */
+	public int getClientCount() {
+		return clientCount;
+	}
+
+	public long getFramesSent() {
+		return framesSent;
+	}
+
+	/**
+	 * @return bytes of UDP payload sent so far, frames and schemas, over every receiver
+	 */
+	public long getBytesSent() {
+		return bytesSent;
+	}
+
+	public long getIOErrorCount() {
+		return ioErrors;
+	}
+}
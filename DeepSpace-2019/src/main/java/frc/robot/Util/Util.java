@@ -1,6 +1,14 @@
 package frc.robot.Util;
 
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+
 import edu.wpi.first.wpilibj.Preferences;
+import frc.robot.Robot;
 
 /** if our code is colonial America, this class is Rhode Island */
 public class Util {
@@ -27,17 +35,47 @@ public class Util {
 		return (celsius * (9/5)) + 32;
 	}
 
+	/**
+	 * Deletes all but the newest few of a kind of log, so each boot doesn't leave one more file on the roboRIO
+	 * @param directory where the logs are
+	 * @param glob      matches the logs, whose names have to sort oldest first, e.g. "events-*.csv" with a start time in ms
+	 * @param keep      how many of the newest to leave
+	 * @throws IOException if the directory can't be listed or a log can't be deleted
+	 */
+	public static void deleteOldFiles(Path directory, String glob, int keep) throws IOException {
+		ArrayList<Path> logs = new ArrayList<>();
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, glob)) {
+			for (Path log : stream) {
+				logs.add(log);
+			}
+		}
+		Collections.sort(logs);
+		for (int i = 0; i < logs.size() - Math.max(0, keep); i++) {
+			Files.deleteIfExists(logs.get(i));
+		}
+	}
+
 	/**
 	 *	Kind of self explanatory, but with some spice
 	 *	Use this mainly as a get method to retrieve values the user types into the smart dash
 	 *		(the 'Set' part is only in case the value doesn't exist, backup is a default to use and set if it isn't there)
+	 *	Anything the robot reads while running should be a Tunable read through Config instead; this goes to Preferences every call
+	 *	The default is written by Robot.PREFERENCES in the background, so this never waits on a write
 	 */
 	static Preferences pref = Preferences.getInstance();
 	public static double getAndSetDouble(String key, double backup) {
-		if(!pref.containsKey(key)) pref.putDouble(key, backup);
+		if(!pref.containsKey(key)) Robot.PREFERENCES.putDefaultDouble(key, backup);
 		return pref.getDouble(key, backup);
 	}
 
+	/**
+	 * Same as getAndSetDouble, but for on/off switches
+	 */
+	public static boolean getAndSetBoolean(String key, boolean backup) {
+		if(!pref.containsKey(key)) Robot.PREFERENCES.putDefaultBoolean(key, backup);
+		return pref.getBoolean(key, backup);
+	}
+
 	/**
      * Really stupid but needed to round a double to n places
      * @param value  original value
@@ -0,0 +1,168 @@
+package frc.robot.Util;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.function.Consumer;
+
+import frc.robot.Enumeration.TargetSelection;
+
+/**
+ * Background thread that listens for vision packets from the Pi.
+ * Every time the socket wakes up it reads every datagram that is queued and hands the
+ * whole burst to a VisionProcessor, which keeps only the newest one that decodes and
+ * publishes that as a VisionSnapshot. If the Pi bursts a backlog after a Wi-Fi hiccup,
+ * the robot jumps straight to the freshest target.
+ * Can also log every datagram to a VisionRecorder so the match can be replayed later.
+ * Nothing in here or in the VisionProcessor and TargetSelector it feeds calls WPILib, so it can
+ * run on a laptop too, but they are not standalone: their latency and sticky target values come
+ * from frc.robot.Constants, so the desktop tools that use them build against the robot code.
+ */
+public class VisionListener implements Runnable {
+
+	private static final int MAX_DATAGRAM_SIZE = 1024;
+
+	private final DatagramChannel channel;
+	private final Selector        selector;
+	private final ByteBuffer      buffer;
+
+	private final VisionProcessor processor;
+
+	private volatile VisionRecorder recorder;
+
+	private Thread thread;
+
+	/**
+	 * Binds the listening socket. Call start() to begin receiving.
+	 * @param port      UDP port to listen on
+	 * @param onPublish called on the listener thread with every snapshot that gets published, may be null
+	 * @throws IOException if the socket cannot be opened
+	 */
+	public VisionListener(int port, Consumer<VisionSnapshot> onPublish) throws IOException {
+		channel = DatagramChannel.open();
+		channel.bind(new InetSocketAddress(port));
+		channel.configureBlocking(false);
+		selector = Selector.open();
+		channel.register(selector, SelectionKey.OP_READ);
+
+		buffer    = ByteBuffer.allocateDirect(MAX_DATAGRAM_SIZE);
+		processor = new VisionProcessor(onPublish);
+	}
+
+	/**
+	 * Starts the listener thread
+	 */
+	public void start() {
+		thread = new Thread(this, "Vision Listener");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * Stops the listener thread and closes the socket
+	 */
+	public void stop() {
+		if (thread != null) {
+			thread.interrupt();
+		}
+		try {
+			selector.close();
+			channel.close();
+		} catch (IOException e) {
+			processor.getStats().recordIOError();
+		}
+	}
+
+	@Override
+	public void run() {
+		while (!Thread.interrupted() && channel.isOpen()) {
+			try {
+				if (selector.select() > 0) {
+					selector.selectedKeys().clear();
+					drain();
+				}
+			} catch (IOException e) { //thrown when the socket cannot receive the packet
+				processor.getStats().recordIOError();
+			}
+		}
+		VisionRecorder recorder = this.recorder;
+		if (recorder != null) {
+			recorder.close();
+		}
+	}
+
+	/**
+	 * Reads everything queued on the socket and lets the processor publish the newest good packet
+	 */
+	private void drain() throws IOException {
+		VisionRecorder recorder = this.recorder;
+		while (true) {
+			buffer.clear();
+			if (channel.receive(buffer) == null) {
+				break;
+			}
+			buffer.flip();
+			if (recorder != null) {
+				recorder.recordDatagram(buffer, System.nanoTime());
+			}
+			processor.accept(buffer);
+		}
+
+		long nowNanos = System.nanoTime();
+		if (recorder != null) {
+			recorder.recordBatchEnd(nowNanos);
+		}
+		processor.endBatch(System.currentTimeMillis(), nowNanos);
+	}
+
+	/**
+	 * Starts logging every datagram to the given recorder. The listener closes it when it stops.
+	 * @param recorder where to log, null to stop logging
+	 */
+	public void setRecorder(VisionRecorder recorder) {
+		this.recorder = recorder;
+	}
+
+	/**
+	 * Logs decode errors as events. Give it a producer of its own, since it's fed from the listener thread.
+	 * @param events where to log, null to stop logging
+	 */
+	public void setEvents(EventLog.Producer events) {
+		processor.setEvents(events);
+	}
+
+	/**
+	 * Changes how one target gets picked out of a packet with several. Takes effect on the next packet.
+	 */
+	public void setTargetSelection(TargetSelection selection) {
+		processor.setTargetSelection(selection);
+	}
+
+	public TargetSelection getTargetSelection() {
+		return processor.getTargetSelection();
+	}
+
+	/**
+	 * Forgets the target STICKY has locked onto, so the next packet picks one fresh
+	 */
+	public void resetTargetLock() {
+		processor.resetTargetLock();
+	}
+
+	/**
+	 * @return the most recently published snapshot, never null
+	 */
+	public VisionSnapshot getLatestSnapshot() {
+		return processor.getLatestSnapshot();
+	}
+
+	/**
+	 * @return health counters for this listener
+	 */
+	public ReceiverStats getStats() {
+		return processor.getStats();
+	}
+}
@@ -0,0 +1,294 @@
+package frc.robot.Util;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import frc.robot.Enumeration.PacketError;
+
+/**
+ * Decoder for the Pi-to-Rio vision stream on port 3695.
+ * One of these gets reused for every datagram, so decoding never makes garbage.
+ *
+ * Binary layout (little-endian), version 1:
+ *   [0]  int   magic number (MAGIC)
+ *   [4]  byte  version
+ *   [5]  byte  target count
+ *   [6]  short flags (reserved, send 0)
+ *   [8]  int   sequence number
+ *   [12] long  capture timestamp (microseconds on the coprocessor's clock)
+ *   [20] target count * { float x, float y, float distance, float angle }
+ *
+ * Old coprocessor images send ASCII ":X,Y,D,A;" instead, which is still accepted.
+ * Several of those back to back (":X,Y,D,A;:X,Y,D,A;") are read as several targets.
+ * Anything past MAX_TARGETS is ignored.
+ */
+public class VisionPacket {
+
+	public static final int
+		MAGIC       = 0x36955644,
+		VERSION     = 1,
+		HEADER_SIZE = 20,
+		TARGET_SIZE = 16,
+		MAX_TARGETS = 8;
+
+	public static final int
+		FORMAT_ASCII  = 0,
+		FORMAT_BINARY = 1;
+
+	private PacketError error = PacketError.NONE;
+
+	private int    format;
+	private int    version;
+	private int    targetCount;
+	private long   sequence;
+	private long   captureTimestamp;
+
+	private final double[] x        = new double[MAX_TARGETS];
+	private final double[] y        = new double[MAX_TARGETS];
+	private final double[] distance = new double[MAX_TARGETS];
+	private final double[] angle    = new double[MAX_TARGETS];
+
+	/**
+	 * Decodes one datagram. Reads from the buffer's position up to its limit
+	 * and leaves the position wherever decoding stopped.
+	 * @param buffer the received bytes
+	 * @return       true if the datagram was a well-formed packet in either format,
+	 *               otherwise getError() says what was wrong
+	 */
+	public boolean decode(ByteBuffer buffer) {
+		buffer.order(ByteOrder.LITTLE_ENDIAN);
+		if (buffer.remaining() >= 4 && buffer.getInt(buffer.position()) == MAGIC) {
+			return decodeBinary(buffer);
+		}
+		return decodeAscii(buffer);
+	}
+
+	private boolean decodeBinary(ByteBuffer buffer) {
+		if (buffer.remaining() < HEADER_SIZE) { return fail(PacketError.TRUNCATED); }
+		buffer.getInt(); // magic
+		int  version = buffer.get() & 0xFF;
+		int  count   = buffer.get() & 0xFF;
+		buffer.getShort(); // flags
+		long sequence = buffer.getInt() & 0xFFFFFFFFL;
+		long capture  = buffer.getLong();
+		if (version != VERSION) { return fail(PacketError.BAD_VERSION); }
+		if (buffer.remaining() < count * TARGET_SIZE) { return fail(PacketError.TRUNCATED); }
+
+		this.error            = PacketError.NONE;
+		this.format           = FORMAT_BINARY;
+		this.version          = version;
+		this.targetCount      = Math.min(count, MAX_TARGETS);
+		this.sequence         = sequence;
+		this.captureTimestamp = capture;
+		for (int i = 0; i < targetCount; i++) {
+			x[i]        = buffer.getFloat();
+			y[i]        = buffer.getFloat();
+			distance[i] = buffer.getFloat();
+			angle[i]    = buffer.getFloat();
+		}
+		return true;
+	}
+
+	/**
+	 * Decodes one or more ":X,Y,D,A;" segments straight out of the bytes. Whitespace is ignored.
+	 * A segment with a distance of -1 is the Pi saying it sees nothing.
+	 */
+	private boolean decodeAscii(ByteBuffer buffer) {
+		int end   = buffer.limit();
+		int i     = buffer.position();
+		int count = 0;
+		boolean any = false;
+
+		while (true) {
+			while (i < end && buffer.get(i) != ':') { i++; }
+			if (i >= end) { break; }
+			i++;
+
+			double fx = 0, fy = 0, fd = 0, fa = 0;
+			for (int field = 0; field < 4; field++) {
+				long    value    = 0;
+				boolean negative = false;
+				boolean digits   = false;
+				while (i < end && Character.isWhitespace(buffer.get(i))) { i++; }
+				if (i < end && buffer.get(i) == '-') {
+					negative = true;
+					i++;
+				}
+				while (i < end && buffer.get(i) >= '0' && buffer.get(i) <= '9') {
+					value = value * 10 + (buffer.get(i) - '0');
+					digits = true;
+					i++;
+				}
+				while (i < end && Character.isWhitespace(buffer.get(i))) { i++; }
+				byte expected = (byte) (field == 3 ? ';' : ',');
+				if (!digits || i >= end || buffer.get(i) != expected) {
+					buffer.position(Math.min(i, end));
+					return fail(PacketError.MALFORMED_ASCII);
+				}
+				i++;
+				double number = negative ? -value : value;
+				switch (field) {
+					case 0: fx = number; break;
+					case 1: fy = number; break;
+					case 2: fd = number; break;
+					case 3: fa = number; break;
+				}
+			}
+			any = true;
+			if (fd != -1 && count < MAX_TARGETS) {
+				x[count]        = fx;
+				y[count]        = fy;
+				distance[count] = fd;
+				angle[count]    = fa;
+				count++;
+			}
+		}
+		buffer.position(i);
+		if (!any) { return fail(PacketError.MALFORMED_ASCII); }
+
+		this.error            = PacketError.NONE;
+		this.format           = FORMAT_ASCII;
+		this.version          = 0;
+		this.targetCount      = count;
+		this.sequence         = -1;
+		this.captureTimestamp = 0;
+		return true;
+	}
+
+	/**
+	 * Writes a binary packet the same way the Pi does, for tools that stand in for it
+	 * @param buffer           written from its position on, must hold HEADER_SIZE + count * TARGET_SIZE more bytes
+	 * @param sequence         packet sequence number
+	 * @param captureTimestamp capture time in microseconds
+	 * @param count            number of targets, at most MAX_TARGETS
+	 * @param targets          x, y, distance, angle of each target, back to back
+	 */
+	public static void encodeBinary(ByteBuffer buffer, long sequence, long captureTimestamp, int count, double[] targets) {
+		buffer.order(ByteOrder.LITTLE_ENDIAN);
+		buffer.putInt(MAGIC);
+		buffer.put((byte) VERSION);
+		buffer.put((byte) count);
+		buffer.putShort((short) 0);
+		buffer.putInt((int) sequence);
+		buffer.putLong(captureTimestamp);
+		for (int i = 0; i < count * 4; i++) {
+			buffer.putFloat((float) targets[i]);
+		}
+	}
+
+	/**
+	 * Writes a legacy ":X,Y,D,A;" packet, one segment per target, for tools that stand in for the Pi.
+	 * Values are truncated to whole numbers like the Pi does. No targets writes the "nothing seen" segment.
+	 * @param buffer  written from its position on
+	 * @param count   number of targets
+	 * @param targets x, y, distance, angle of each target, back to back
+	 */
+	public static void encodeAscii(ByteBuffer buffer, int count, double[] targets) {
+		if (count == 0) {
+			putAsciiSegment(buffer, -1, -1, -1, 180);
+		}
+		for (int i = 0; i < count; i++) {
+			putAsciiSegment(buffer, targets[i * 4], targets[i * 4 + 1], targets[i * 4 + 2], targets[i * 4 + 3]);
+		}
+	}
+
+	private static void putAsciiSegment(ByteBuffer buffer, double x, double y, double distance, double angle) {
+		buffer.put((byte) ':');
+		putAsciiNumber(buffer, (long) x);
+		buffer.put((byte) ',');
+		putAsciiNumber(buffer, (long) y);
+		buffer.put((byte) ',');
+		putAsciiNumber(buffer, (long) distance);
+		buffer.put((byte) ',');
+		putAsciiNumber(buffer, (long) angle);
+		buffer.put((byte) ';');
+	}
+
+	private static void putAsciiNumber(ByteBuffer buffer, long value) {
+		if (value < 0) {
+			buffer.put((byte) '-');
+			value = -value;
+		}
+		long place = 1;
+		while (place * 10 <= value) { place *= 10; }
+		for (; place > 0; place /= 10) {
+			buffer.put((byte) ('0' + value / place % 10));
+		}
+	}
+
+	private boolean fail(PacketError error) {
+		this.error = error;
+		return false;
+	}
+
+	/**
+	 * @return why the last decode() failed, NONE if it didn't
+	 */
+	public PacketError getError() {
+		return error;
+	}
+
+	/**
+	 * Freezes one target of the last decoded packet into a snapshot the main loop can read
+	 * @param target       index of the chosen target, -1 for none
+	 * @param timestamp    System.currentTimeMillis() when the datagram arrived
+	 * @param receiveNanos System.nanoTime() when the datagram arrived
+	 * @param captureNanos estimated System.nanoTime() when the frame was captured
+	 */
+	public VisionSnapshot toSnapshot(int target, long timestamp, long receiveNanos, long captureNanos) {
+		if (target < 0 || target >= targetCount) {
+			// same "nothing seen" values the Pi has always sent
+			return new VisionSnapshot(-1, -1, -1, 180, 0, sequence, captureTimestamp, timestamp, receiveNanos, captureNanos, true);
+		}
+		return new VisionSnapshot(x[target], y[target], distance[target], angle[target], targetCount, sequence, captureTimestamp,
+		                          timestamp, receiveNanos, captureNanos, true);
+	}
+
+	/**
+	 * @return FORMAT_ASCII or FORMAT_BINARY
+	 */
+	public int getFormat() {
+		return format;
+	}
+
+	/**
+	 * @return wire format version, 0 for ASCII
+	 */
+	public int getVersion() {
+		return version;
+	}
+
+	public int getTargetCount() {
+		return targetCount;
+	}
+
+	public double getX(int target) {
+		return x[target];
+	}
+
+	public double getY(int target) {
+		return y[target];
+	}
+
+	public double getDistance(int target) {
+		return distance[target];
+	}
+
+	public double getAngle(int target) {
+		return angle[target];
+	}
+
+	/**
+	 * @return sequence number, -1 for ASCII
+	 */
+	public long getSequence() {
+		return sequence;
+	}
+
+	/**
+	 * @return capture time in microseconds on the coprocessor's clock, 0 for ASCII
+	 */
+	public long getCaptureTimestamp() {
+		return captureTimestamp;
+	}
+}
@@ -0,0 +1,182 @@
+package frc.robot.Util;
+
+import java.nio.ByteBuffer;
+import java.util.function.Consumer;
+
+import frc.robot.Constants;
+import frc.robot.Enumeration.EventType;
+import frc.robot.Enumeration.TargetSelection;
+
+/**
+ * Everything the receiver does with a datagram once it has one: decode it, keep the newest
+ * good packet out of each burst, pick a target, work out when the frame was captured,
+ * and publish a VisionSnapshot. Fed by VisionListener off the socket, or by VisionReplay
+ * out of a recording, so both go through exactly the same code.
+ * Call accept() for each datagram in a burst and endBatch() once the burst is over.
+ * Not thread safe apart from the getters, setTargetSelection() and resetTargetLock(); feed it from one thread.
+ */
+public class VisionProcessor {
+
+	private final Consumer<VisionSnapshot> onPublish;
+
+	// decode into scratch, then swap it with newest when it turns out to be good
+	private VisionPacket scratch;
+	private VisionPacket newest;
+
+	private final TargetSelector     targetSelector;
+	private volatile TargetSelection selection;
+	private volatile boolean         unlock;
+
+	private volatile VisionSnapshot latestSnapshot;
+
+	// smallest (receive time - capture time) seen, i.e. clock offset plus the fastest trip
+	private long    captureOffset;
+	private boolean haveCaptureOffset;
+
+	private final ReceiverStats stats;
+
+	private volatile EventLog.Producer events;
+
+	// state of the current burst
+	private boolean gotAny;
+	private boolean gotValid;
+	private boolean gotBad;
+
+	/**
+	 * @param onPublish called with every snapshot that gets published, may be null
+	 */
+	public VisionProcessor(Consumer<VisionSnapshot> onPublish) {
+		this.onPublish = onPublish;
+
+		scratch = new VisionPacket();
+		newest  = new VisionPacket();
+
+		stats          = new ReceiverStats();
+		targetSelector = new TargetSelector();
+		selection      = TargetSelection.CLOSEST;
+
+		latestSnapshot = VisionSnapshot.invalid(System.currentTimeMillis(), System.nanoTime());
+	}
+
+	/**
+	 * Decodes one datagram of the current burst
+	 * @param datagram the received bytes, from position to limit
+	 */
+	public void accept(ByteBuffer datagram) {
+		stats.recordReceived();
+		gotAny = true;
+
+		if (!scratch.decode(datagram)) {
+			stats.recordError(scratch.getError());
+			EventLog.Producer events = this.events;
+			if (events != null) {
+				events.log(EventType.PARSE_ERROR, scratch.getError().ordinal());
+			}
+			gotBad = true;
+		} else if (stats.recordSequence(scratch.getSequence(), scratch.getCaptureTimestamp())) {
+			if (gotValid) {
+				stats.recordDropped(); // superseded by this one
+			}
+			VisionPacket swap = newest;
+			newest   = scratch;
+			scratch  = swap;
+			gotValid = true;
+		}
+	}
+
+	/**
+	 * Publishes the newest good packet of the burst, if there was one
+	 * @param timestamp    System.currentTimeMillis() when the burst arrived
+	 * @param receiveNanos System.nanoTime() when the burst arrived
+	 */
+	public void endBatch(long timestamp, long receiveNanos) {
+		if (gotAny) {
+			if (gotValid) {
+				if (unlock) {
+					unlock = false;
+					targetSelector.reset();
+				}
+				int  target       = targetSelector.select(newest, selection, receiveNanos);
+				long captureNanos = estimateCaptureNanos(newest, receiveNanos);
+				stats.recordValid(receiveNanos, captureNanos);
+				publish(newest.toSnapshot(target, timestamp, receiveNanos, captureNanos));
+			} else if (gotBad) { // a batch of nothing but stale packets leaves the last snapshot alone
+				publish(VisionSnapshot.invalid(timestamp, receiveNanos));
+			}
+		}
+		gotAny   = false;
+		gotValid = false;
+		gotBad   = false;
+	}
+
+	/**
+	 * Converts the Pi's capture timestamp into our System.nanoTime() clock.
+	 * The two clocks are unrelated, so this tracks the smallest gap between capture and
+	 * receive seen so far (clock offset + fastest trip) and relaxes it slowly to follow drift.
+	 * Legacy ASCII packets have no timestamp and get a fixed latency instead.
+	 */
+	private long estimateCaptureNanos(VisionPacket packet, long receiveNanos) {
+		if (packet.getFormat() != VisionPacket.FORMAT_BINARY || packet.getCaptureTimestamp() == 0) {
+			return receiveNanos - (long) (Constants.VISION_LEGACY_LATENCY_MS * 1e6);
+		}
+
+		long captureNanos = packet.getCaptureTimestamp() * 1000;
+		long offset       = receiveNanos - captureNanos;
+		if (!haveCaptureOffset || offset < captureOffset || offset - captureOffset > 1e9) { // new low, or the Pi rebooted
+			captureOffset     = offset;
+			haveCaptureOffset = true;
+		} else {
+			captureOffset += (offset - captureOffset) / 1000;
+		}
+
+		long estimate = captureNanos + captureOffset - (long) (Constants.VISION_MIN_NETWORK_LATENCY_MS * 1e6);
+		return Math.min(estimate, receiveNanos);
+	}
+
+	private void publish(VisionSnapshot snapshot) {
+		latestSnapshot = snapshot;
+		if (onPublish != null) {
+			onPublish.accept(snapshot);
+		}
+	}
+
+	/**
+	 * Changes how one target gets picked out of a packet with several. Takes effect on the next packet.
+	 */
+	public void setTargetSelection(TargetSelection selection) {
+		this.selection = selection;
+	}
+
+	public TargetSelection getTargetSelection() {
+		return selection;
+	}
+
+	/**
+	 * Forgets the target STICKY has locked onto, so the next packet picks one fresh. Any thread.
+	 */
+	public void resetTargetLock() {
+		unlock = true;
+	}
+
+	/**
+	 * Logs a PARSE_ERROR event for every datagram that fails to decode
+	 * @param events a producer owned by whichever thread feeds this processor, null for none
+	 */
+	public void setEvents(EventLog.Producer events) {
+		this.events = events;
+	}
+
+	/**
+	 * @return the most recently published snapshot, never null
+	 */
+	public VisionSnapshot getLatestSnapshot() {
+		return latestSnapshot;
+	}
+
+	/**
+	 * @return health counters for this processor
+	 */
+	public ReceiverStats getStats() {
+		return stats;
+	}
+}
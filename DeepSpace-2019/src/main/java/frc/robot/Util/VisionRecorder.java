@@ -0,0 +1,148 @@
+package frc.robot.Util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Appends every raw vision datagram, with the time it arrived, to a log file so a match
+ * can be replayed later through VisionReplay. Called from the listener thread only.
+ * Records are buffered in memory and written out when the buffer fills or once a second,
+ * so a crash loses at most about a second. Recording stops quietly at the size limit
+ * or on the first write error.
+ *
+ * File layout (little-endian):
+ *   header: int MAGIC, int VERSION, long start System.currentTimeMillis(), long start System.nanoTime()
+ *   then records, each starting with a byte type and a long System.nanoTime():
+ *     TYPE_DATAGRAM:  short length, then that many bytes
+ *     TYPE_BATCH_END: nothing else; the receiver published whatever came before it
+ */
+public class VisionRecorder {
+
+	public static final int
+		MAGIC          = 0x56524543, // "VREC"
+		VERSION        = 1,
+		HEADER_SIZE    = 24,
+		TYPE_DATAGRAM  = 0,
+		TYPE_BATCH_END = 1;
+
+	private static final int  BUFFER_SIZE    = 64 * 1024;
+	private static final long FLUSH_INTERVAL = 1_000_000_000L;
+
+	private final FileChannel file;
+	private final ByteBuffer  buffer;
+	private final long        maxBytes;
+
+	private long    written;
+	private long    lastFlush;
+	private boolean stopped;
+
+	private volatile long recorded;
+	private volatile long ioErrors;
+
+	/**
+	 * Creates (or overwrites) the log file and writes its header
+	 * @param path     file to record into
+	 * @param maxBytes recording stops once the file reaches this size
+	 * @throws IOException if the file cannot be created
+	 */
+	public VisionRecorder(Path path, long maxBytes) throws IOException {
+		this.maxBytes = maxBytes;
+		file   = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+		buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+		lastFlush = System.nanoTime();
+		buffer.putInt(MAGIC);
+		buffer.putInt(VERSION);
+		buffer.putLong(System.currentTimeMillis());
+		buffer.putLong(lastFlush);
+		flush();
+	}
+
+	/**
+	 * Logs one datagram. Leaves the datagram's position where it was.
+	 * @param datagram     the received bytes, from position to limit
+	 * @param receiveNanos System.nanoTime() when it arrived
+	 */
+	public void recordDatagram(ByteBuffer datagram, long receiveNanos) {
+		int length = datagram.remaining();
+		if (!makeRoom(11 + length)) { return; }
+		int position = datagram.position();
+		buffer.put((byte) TYPE_DATAGRAM);
+		buffer.putLong(receiveNanos);
+		buffer.putShort((short) length);
+		buffer.put(datagram);
+		datagram.position(position);
+		recorded++;
+	}
+
+	/**
+	 * Logs the end of a burst, i.e. the point where the receiver published
+	 * @param receiveNanos System.nanoTime() the receiver used for the burst
+	 */
+	public void recordBatchEnd(long receiveNanos) {
+		if (!makeRoom(9)) { return; }
+		buffer.put((byte) TYPE_BATCH_END);
+		buffer.putLong(receiveNanos);
+		if (receiveNanos - lastFlush > FLUSH_INTERVAL) {
+			flush();
+		}
+	}
+
+	private boolean makeRoom(int size) {
+		if (stopped) { return false; }
+		if (written + buffer.position() + size > maxBytes) {
+			flush();
+			stopped = true;
+			return false;
+		}
+		if (buffer.remaining() < size) {
+			flush();
+		}
+		return !stopped;
+	}
+
+	/**
+	 * Writes out everything buffered so far
+	 */
+	public void flush() {
+		buffer.flip();
+		try {
+			while (buffer.hasRemaining()) {
+				written += file.write(buffer);
+			}
+		} catch (IOException e) {
+			ioErrors++;
+			stopped = true;
+		}
+		buffer.clear();
+		lastFlush = System.nanoTime();
+	}
+
+	/**
+	 * Flushes and closes the file
+	 */
+	public void close() {
+		flush();
+		stopped = true;
+		try {
+			file.close();
+		} catch (IOException e) {
+			ioErrors++;
+		}
+	}
+
+	/**
+	 * @return datagrams logged so far
+	 */
+	public long getRecordedCount() {
+		return recorded;
+	}
+
+	public long getIOErrorCount() {
+		return ioErrors;
+	}
+}
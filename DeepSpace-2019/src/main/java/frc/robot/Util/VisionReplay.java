@@ -0,0 +1,107 @@
+package frc.robot.Util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Plays a VisionRecorder log back through a VisionProcessor, burst for burst, exactly the
+ * way the listener fed it live. As fast as possible, every run with the same log gives
+ * the same snapshots. In real time, the recorded timing is kept and shifted onto the
+ * current clock, so anything that compares snapshot times to System.nanoTime() still works.
+ * A log cut short by a crash plays up to the last complete record.
+ */
+public class VisionReplay {
+
+	private final ByteBuffer log;
+	private final long       startMillis;
+	private final long       startNanos;
+
+	private long datagrams;
+	private long batches;
+
+	/**
+	 * Opens a log
+	 * @param path file written by VisionRecorder
+	 * @throws IOException if the file cannot be read or isn't a vision log
+	 */
+	public VisionReplay(Path path) throws IOException {
+		try (FileChannel file = FileChannel.open(path, StandardOpenOption.READ)) {
+			log = file.map(FileChannel.MapMode.READ_ONLY, 0, file.size()).order(ByteOrder.LITTLE_ENDIAN);
+		}
+		if (log.remaining() < VisionRecorder.HEADER_SIZE || log.getInt() != VisionRecorder.MAGIC) {
+			throw new IOException(path + " is not a vision log");
+		}
+		if (log.getInt() != VisionRecorder.VERSION) {
+			throw new IOException(path + " is from a different version of the recorder");
+		}
+		startMillis = log.getLong();
+		startNanos  = log.getLong();
+	}
+
+	/**
+	 * Feeds the whole log through the processor
+	 * @param processor where datagrams go
+	 * @param realTime  true to wait out the recorded gaps between datagrams, false to go as fast as possible
+	 */
+	public void play(VisionProcessor processor, boolean realTime) {
+		ByteBuffer records  = log.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+		ByteBuffer datagram = log.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+		long       shift    = realTime ? System.nanoTime() - startNanos : 0;
+
+		while (records.remaining() >= 9) {
+			int  type = records.get();
+			long time = records.getLong() + shift;
+
+			if (type == VisionRecorder.TYPE_DATAGRAM) {
+				if (records.remaining() < 2) { break; }
+				int length = records.getShort() & 0xFFFF;
+				if (records.remaining() < length) { break; }
+				if (realTime) { waitUntil(time); }
+				datagram.limit(records.position() + length);
+				datagram.position(records.position());
+				records.position(records.position() + length);
+				processor.accept(datagram);
+				datagrams++;
+			} else if (type == VisionRecorder.TYPE_BATCH_END) {
+				if (realTime) { waitUntil(time); }
+				processor.endBatch(startMillis + (time - shift - startNanos) / 1_000_000, time);
+				batches++;
+			} else {
+				break; // corrupt, nothing after this can be trusted
+			}
+		}
+	}
+
+	private static void waitUntil(long deadline) {
+		long remaining;
+		while ((remaining = deadline - System.nanoTime()) > 0) {
+			LockSupport.parkNanos(remaining);
+		}
+	}
+
+	/**
+	 * @return System.currentTimeMillis() when recording started
+	 */
+	public long getStartMillis() {
+		return startMillis;
+	}
+
+	/**
+	 * @return datagrams fed to the processor by play() so far
+	 */
+	public long getDatagramCount() {
+		return datagrams;
+	}
+
+	/**
+	 * @return bursts ended by play() so far
+	 */
+	public long getBatchCount() {
+		return batches;
+	}
+}
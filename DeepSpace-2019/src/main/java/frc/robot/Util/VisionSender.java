@@ -0,0 +1,139 @@
+package frc.robot.Util;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+
+/**
+ * Background thread that tells the Pi which pipeline to run.
+ * The mode byte goes out the moment it changes, and otherwise repeats as a slow heartbeat
+ * so a Pi that restarts picks it back up. The thread sleeps between sends, so it costs
+ * nothing while nothing changes. Uses one socket for its whole life.
+ * Nothing in here touches WPILib so it can run on a laptop too.
+ */
+public class VisionSender implements Runnable {
+
+	private final DatagramChannel   channel;
+	private final InetSocketAddress target;
+	private final ByteBuffer        buffer;
+
+	private final Object lock = new Object();
+	private byte         mode;
+	private boolean      changed;
+	private long         heartbeatMillis;
+
+	private volatile long sent;
+	private volatile long ioErrors;
+
+	private Thread thread;
+
+	/**
+	 * Opens the sending socket. Call start() to begin sending.
+	 * @param target          address and port of the Pi
+	 * @param mode            mode byte to send until setMode() is called
+	 * @param heartbeatMillis time between repeats when the mode isn't changing
+	 * @throws IOException if the socket cannot be opened
+	 */
+	public VisionSender(InetSocketAddress target, byte mode, double heartbeatMillis) throws IOException {
+		this.target = target;
+		this.mode   = mode;
+		changed     = true; // send the starting mode straight away
+		channel     = DatagramChannel.open();
+		buffer      = ByteBuffer.allocateDirect(1);
+		setHeartbeat(heartbeatMillis);
+	}
+
+	/**
+	 * Starts the sender thread
+	 */
+	public void start() {
+		thread = new Thread(this, "Vision Sender");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * Stops the sender thread and closes the socket
+	 */
+	public void stop() {
+		if (thread != null) {
+			thread.interrupt();
+		}
+		try {
+			channel.close();
+		} catch (IOException e) {
+			ioErrors++;
+		}
+	}
+
+	@Override
+	public void run() {
+		while (!Thread.interrupted() && channel.isOpen()) {
+			byte toSend;
+			synchronized (lock) {
+				if (!changed) {
+					try {
+						lock.wait(heartbeatMillis);
+					} catch (InterruptedException e) {
+						return;
+					}
+				}
+				changed = false;
+				toSend  = mode;
+			}
+
+			buffer.clear();
+			buffer.put(toSend);
+			buffer.flip();
+			try {
+				channel.send(buffer, target);
+				sent++;
+			} catch (IOException e) { //thrown when the packet cannot be sent, e.g. the radio is down
+				ioErrors++;
+			}
+		}
+	}
+
+	/**
+	 * Sets the mode byte. A new value goes out right away; the same value again does nothing.
+	 */
+	public void setMode(byte mode) {
+		synchronized (lock) {
+			if (this.mode != mode) {
+				this.mode = mode;
+				changed   = true;
+				lock.notify();
+			}
+		}
+	}
+
+	public byte getMode() {
+		synchronized (lock) {
+			return mode;
+		}
+	}
+
+	/**
+	 * @param heartbeatMillis time between repeats when the mode isn't changing
+	 */
+	public void setHeartbeat(double heartbeatMillis) {
+		synchronized (lock) {
+			this.heartbeatMillis = Math.max(1, (long) heartbeatMillis);
+		}
+	}
+
+	/**
+	 * @return packets sent, heartbeats included
+	 */
+	public long getSentCount() {
+		return sent;
+	}
+
+	/**
+	 * @return socket errors while sending
+	 */
+	public long getIOErrorCount() {
+		return ioErrors;
+	}
+}
@@ -0,0 +1,136 @@
+package frc.robot.Util;
+
+/**
+ * One decoded vision packet from the Pi.
+ * Built once by the receiver thread and never changed afterwards, so the main loop
+ * can read it as many times as it wants without parsing anything or making garbage
+ */
+public class VisionSnapshot {
+
+	/** What the receiver reports before the Pi has said anything */
+	public static final VisionSnapshot NONE = new VisionSnapshot(-1, -1, -1, 180, 0, -1, 0, 0, 0, 0, false);
+
+	private final double  x;
+	private final double  y;
+	private final double  distance;
+	private final double  angle;
+	private final int     targetCount;
+	private final long    sequence;
+	private final long    captureTimestamp;
+	private final long    timestamp;
+	private final long    receiveNanos;
+	private final long    captureNanos;
+	private final boolean valid;
+
+	/**
+	 * @param x                X-coordinate (in pixels from left)
+	 * @param y                Y-coordinate (in pixels from bottom)
+	 * @param distance         distance from target (in inches), -1 if no target
+	 * @param angle            angle from center (in degrees; positive = CW)
+	 * @param targetCount      number of targets the Pi saw
+	 * @param sequence         packet sequence number, -1 if the packet had none
+	 * @param captureTimestamp capture time in microseconds on the Pi's clock, 0 if unknown
+	 * @param timestamp        System.currentTimeMillis() when the packet arrived
+	 * @param receiveNanos     System.nanoTime() when the packet arrived
+	 * @param captureNanos     best guess at System.nanoTime() when the frame was captured
+	 * @param valid            false if the packet could not be decoded
+	 */
+	public VisionSnapshot(double x, double y, double distance, double angle, int targetCount, long sequence, long captureTimestamp,
+	                      long timestamp, long receiveNanos, long captureNanos, boolean valid) {
+		this.x                = x;
+		this.y                = y;
+		this.distance         = distance;
+		this.angle            = angle;
+		this.targetCount      = targetCount;
+		this.sequence         = sequence;
+		this.captureTimestamp = captureTimestamp;
+		this.timestamp        = timestamp;
+		this.receiveNanos     = receiveNanos;
+		this.captureNanos     = captureNanos;
+		this.valid            = valid;
+	}
+
+	/**
+	 * Snapshot for a datagram that could not be decoded
+	 * @param timestamp    System.currentTimeMillis() when it arrived
+	 * @param receiveNanos System.nanoTime() when it arrived
+	 */
+	public static VisionSnapshot invalid(long timestamp, long receiveNanos) {
+		return new VisionSnapshot(-1, -1, -1, 180, 0, -1, 0, timestamp, receiveNanos, receiveNanos, false);
+	}
+
+	public double getX() {
+		return x;
+	}
+
+	public double getY() {
+		return y;
+	}
+
+	public double getDistance() {
+		return distance;
+	}
+
+	public double getAngle() {
+		return angle;
+	}
+
+	public int getTargetCount() {
+		return targetCount;
+	}
+
+	/**
+	 * @return packet sequence number, -1 for legacy ASCII packets
+	 */
+	public long getSequence() {
+		return sequence;
+	}
+
+	/**
+	 * @return capture time in microseconds on the Pi's clock, 0 for legacy ASCII packets
+	 */
+	public long getCaptureTimestamp() {
+		return captureTimestamp;
+	}
+
+	/**
+	 * @return System.currentTimeMillis() when this packet was received
+	 */
+	public long getTimestamp() {
+		return timestamp;
+	}
+
+	/**
+	 * @return System.nanoTime() when this packet was received
+	 */
+	public long getReceiveNanos() {
+		return receiveNanos;
+	}
+
+	/**
+	 * Estimated time the camera captured this frame, on the same clock as System.nanoTime().
+	 * Use this to look up where the robot was when the target was actually seen.
+	 */
+	public long getCaptureNanos() {
+		return captureNanos;
+	}
+
+	/**
+	 * @return true if the packet decoded cleanly
+	 */
+	public boolean isValid() {
+		return valid;
+	}
+
+	/**
+	 * @return true if the Pi reported a target in this packet
+	 */
+	public boolean hasTarget() {
+		return valid && targetCount > 0 && distance != -1;
+	}
+
+	@Override
+	public String toString() {
+		return (int) x + "," + (int) y + "," + (int) distance + "," + (int) angle;
+	}
+}
@@ -39,11 +39,14 @@ void PostProcessor::Loop() {
     int last_dist = 0;
     
     string last_msg = "";
+    uint32_t sequence = 0; //goes up every frame so the RIO can spot drops and reordering
         
     while(!stop) {
         cv::Mat img; //image we will be processing
         cv::Mat out; //color image we output
         bool readSuccess = cap.read(img); //reads an image to process from our video stream
+        int64_t capture_micros = std::chrono::duration_cast<std::chrono::microseconds>(
+            std::chrono::steady_clock::now().time_since_epoch()).count();
         //img = cv::imread("target_3.jpg");
         img.copyTo(out);
         //bool readSuccess=true;
@@ -226,7 +229,23 @@ void PostProcessor::Loop() {
             //cout.flush(); 
             
             //UDP send to RIO here 
-            this->sender.Send(sendToRIO);
+            if(Settings::SEND_BINARY) {
+                //the target we picked goes first, then every other pair so the RIO can choose for itself
+                vector<float> targets;
+                if(target_dist != -1) {
+                    targets.insert(targets.end(), {(float) target_x, (float) target_y, (float) target_dist, (float) target_angle});
+                    for(int i=0; i<pairedRects.size() && target_x == biggestTarget.center().x && target_y == biggestTarget.center().y; i++) {
+                        cv::Point center = pairedRects[i].center();
+                        if(center.x == target_x && center.y == target_y)
+                            continue;
+                        double dist = pairedRects[i].distance();
+                        targets.insert(targets.end(), {(float) center.x, (float) center.y, (float) dist, (float) pairedRects[i].angle(dist)});
+                    }
+                }
+                this->sender.SendTargets(sequence++, capture_micros, targets.size() / 4, targets.data());
+            } else {
+                this->sender.Send(sendToRIO);
+            }
 
             if(Settings::DEBUG) {
                 //puttext(img, text, point, font, scale, color)
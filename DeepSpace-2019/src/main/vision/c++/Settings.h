@@ -6,7 +6,8 @@ class Settings {
     static const bool 
         DEBUG = true,
         USE_IMAGE = true,
-        DOCK_USING_CLOSEST_TO_CENTER = true;
+        DOCK_USING_CLOSEST_TO_CENTER = true,
+        SEND_BINARY = true;
                       
     //camera resolution (essential to pull the right image off the JeVois)
     static const int 
@@ -56,6 +56,39 @@ void UDP::Send(string msg) {
         cout.flush();
 }
 
+/**
+ * Sends targets in the binary vision packet format (version 1) that the RIO
+ * decodes in VisionPacket.java. All fields are little-endian, which the Pi already is.
+ *   [0]  int32 magic, [4] uint8 version, [5] uint8 target count, [6] uint16 flags,
+ *   [8]  uint32 sequence, [12] int64 capture time (us), [20] count * float x, y, distance, angle
+ * The RIO picks which target to chase, so send every one that was found.
+ * @param sequence       number that goes up by one every frame
+ * @param capture_micros time the frame was captured, in microseconds
+ * @param count          number of targets, zero if nothing was seen (at most 8 are sent)
+ * @param targets        count * {x, y, distance, angle}
+ */
+void UDP::SendTargets(uint32_t sequence, int64_t capture_micros, int count, const float *targets) {
+    const int32_t magic = 0x36955644;
+    const uint8_t version = 1;
+    const uint8_t sent = count > 8 ? 8 : count;
+    const uint16_t flags = 0;
+
+    char buffer[20 + 8 * 16];
+    memcpy(buffer, &magic, 4);
+    memcpy(buffer + 4, &version, 1);
+    memcpy(buffer + 5, &sent, 1);
+    memcpy(buffer + 6, &flags, 2);
+    memcpy(buffer + 8, &sequence, 4);
+    memcpy(buffer + 12, &capture_micros, 8);
+    memcpy(buffer + 20, targets, 16 * sent);
+
+    int send_result = send(this->sock, buffer, 20 + 16 * sent, 0);
+    if(send_result < 0) {
+        cout << "SEND FAILED!";
+        cout.flush();
+    }
+}
+
 /**
  * Reads the buffer and returns whats there
  * @return a string containing the contents of the buffer
@@ -3,6 +3,8 @@
 
 
 #include <iostream>
+#include <chrono>
+#include <cstdint>
 #include "netdb.h"
 #include "string.h"
 #include "unistd.h"
@@ -25,6 +27,7 @@ class UDP {
     UDP(){};
     UDP(string dest_ip, int port);
     void Send(string msg);
+    void SendTargets(uint32_t sequence, int64_t capture_micros, int count, const float *targets);
     string Recieve();
     void Close();
 